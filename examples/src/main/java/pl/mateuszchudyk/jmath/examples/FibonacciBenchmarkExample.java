@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.examples;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.functions.Fibonacci;
+
+public class FibonacciBenchmarkExample {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ITERATIONS = 1000000;
+
+    // Fibonacci computed with a loop, as it was before the lookup table.
+    private static double linearFibonacci(int n) {
+        double a = 0;
+        double b = 1;
+        for (int i = 0; i < n; i++) {
+            double c = a + b;
+            a = b;
+            b = c;
+        }
+        return a;
+    }
+
+    public static void main(String[] args) {
+        Fibonacci fibonacci = new Fibonacci();
+
+        try {
+            long sink = 0;
+
+            // Time is measured after a few warm-up rounds, so the code is
+            // already compiled by JIT. It's only a rough comparison, not a
+            // rigorous benchmark.
+            for (int n : new int[] { 20, 100, 1000, 1476 }) {
+                // Slightly different arguments, so nothing is hoisted out of
+                // the loops.
+                Double[][] arguments = new Double[16][];
+                for (int i = 0; i < arguments.length; i++)
+                    arguments[i] = new Double[] { (double)(n - i) };
+
+                long table = 0;
+                long loop = 0;
+                for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < ITERATIONS; i++)
+                        sink += Double.doubleToRawLongBits(fibonacci.evaluate(arguments[i & 15]));
+                    table = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    for (int i = 0; i < ITERATIONS / 100; i++)
+                        sink += Double.doubleToRawLongBits(linearFibonacci(n - (i & 15)));
+                    loop = (System.nanoTime() - start) * 100;
+                }
+                System.out.printf("fib(%d): %.1f ns (table), %.1f ns (loop)%n",
+                    n, (double)table / ITERATIONS, (double)loop / ITERATIONS);
+            }
+
+            for (long n : new long[] { 1000, 10000, 100000, 1000000 }) {
+                int iterations = (int)Math.max(1, 10000000 / (n * 10));
+                long time = 0;
+                for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < iterations; i++)
+                        sink += Fibonacci.exact(n).bitLength();
+                    time = System.nanoTime() - start;
+                }
+                System.out.printf("exact(%d): %.1f us%n", n, time / 1000.0 / iterations);
+            }
+
+            // Print the sink, so the JIT can't remove the measured code.
+            System.out.println("Checksum: " + sink);
+        }
+        catch (EvaluationException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
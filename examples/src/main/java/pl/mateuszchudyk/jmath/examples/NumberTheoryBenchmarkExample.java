@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.examples;
+
+import java.math.BigInteger;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.functions.BinomialCoefficient;
+import pl.mateuszchudyk.jmath.functions.GreatestCommonDivisor;
+import pl.mateuszchudyk.jmath.functions.ModularExponentiation;
+import pl.mateuszchudyk.jmath.functions.PrimalityTest;
+
+public class NumberTheoryBenchmarkExample {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ITERATIONS = 100000;
+    private static final int ARGUMENTS = 256;
+
+    // Euclid's algorithm on longs converted from doubles, as gcd was
+    // computed before.
+    private static double euclidGcd(double x, double y) {
+        long a = Math.abs((long)x);
+        long b = Math.abs((long)y);
+        while (b != 0) {
+            long c = a % b;
+            a = b;
+            b = c;
+        }
+        return a;
+    }
+
+    private static boolean trialDivision(long n) {
+        if (n < 2)
+            return false;
+        for (long d = 2; d * d <= n; d++)
+            if (n % d == 0)
+                return false;
+        return true;
+    }
+
+    // Binomial coefficient computed as a product in doubles.
+    private static double productBinomial(int n, int k) {
+        double result = 1;
+        for (int i = 1; i <= k; i++)
+            result = result * (n - k + i) / i;
+        return result;
+    }
+
+    private static void print(String name, long time, String baselineName, long baseline) {
+        System.out.printf("%s: %.1f ns (jMath), %.1f ns (%s)%n",
+            name, (double)time / ITERATIONS, (double)baseline / ITERATIONS, baselineName);
+    }
+
+    public static void main(String[] args) {
+        GreatestCommonDivisor gcd = new GreatestCommonDivisor();
+        ModularExponentiation modpow = new ModularExponentiation();
+        PrimalityTest isprime = new PrimalityTest();
+        BinomialCoefficient binomial = new BinomialCoefficient();
+
+        // Different arguments for every call, so nothing is hoisted out of
+        // the loops.
+        Double[][] gcdArguments = new Double[ARGUMENTS][];
+        Double[][] modpowArguments = new Double[ARGUMENTS][];
+        Double[][] isprimeArguments = new Double[ARGUMENTS][];
+        Double[][] binomialArguments = new Double[ARGUMENTS][];
+        for (int i = 0; i < ARGUMENTS; i++) {
+            gcdArguments[i] = new Double[] { 1234567890123.0 * (i + 1), 9876543210.0 + i };
+            modpowArguments[i] = new Double[] { 3.0 + i, 1e15 + i, 999999999989.0 };
+            isprimeArguments[i] = new Double[] { 1000000007.0 + 2 * i };
+            binomialArguments[i] = new Double[] { 60.0, (double)(i % 60) };
+        }
+
+        try {
+            long sink = 0;
+            long time = 0;
+            long baseline = 0;
+
+            // Time is measured after a few warm-up rounds, so the code is
+            // already compiled by JIT. It's only a rough comparison, not a
+            // rigorous benchmark.
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++)
+                    sink += gcd.evaluate(gcdArguments[i % ARGUMENTS]).longValue();
+                time = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Double[] arguments = gcdArguments[i % ARGUMENTS];
+                    sink += (long)euclidGcd(arguments[0], arguments[1]);
+                }
+                baseline = System.nanoTime() - start;
+            }
+            print("gcd", time, "Euclid", baseline);
+
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++)
+                    sink += modpow.evaluate(modpowArguments[i % ARGUMENTS]).longValue();
+                time = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Double[] arguments = modpowArguments[i % ARGUMENTS];
+                    sink += BigInteger.valueOf(arguments[0].longValue())
+                        .modPow(BigInteger.valueOf(arguments[1].longValue()), BigInteger.valueOf(arguments[2].longValue()))
+                        .longValue();
+                }
+                baseline = System.nanoTime() - start;
+            }
+            print("modpow", time, "BigInteger", baseline);
+
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++)
+                    sink += isprime.evaluate(isprimeArguments[i % ARGUMENTS]).longValue();
+                time = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS / 100; i++)
+                    sink += trialDivision(isprimeArguments[i % ARGUMENTS][0].longValue()) ? 1 : 0;
+                baseline = (System.nanoTime() - start) * 100;
+            }
+            print("isprime", time, "trial division", baseline);
+
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++)
+                    sink += Double.doubleToRawLongBits(binomial.evaluate(binomialArguments[i % ARGUMENTS]));
+                time = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Double[] arguments = binomialArguments[i % ARGUMENTS];
+                    sink += Double.doubleToRawLongBits(productBinomial(arguments[0].intValue(), arguments[1].intValue()));
+                }
+                baseline = System.nanoTime() - start;
+            }
+            print("binomial", time, "product", baseline);
+
+            // Print the sink, so the JIT can't remove the measured code.
+            System.out.println("Checksum: " + sink);
+        }
+        catch (EvaluationException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+import java.util.HashMap;
+import pl.mateuszchudyk.jmath.ast.ASTDecisionDiagram;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTLagrangePolynomial;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTPolynomial;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.functions.DomainCheckedFunction;
+
+/**
+ * Cost model.
+ *
+ * <p>It estimates cost of evaluation of an expression in CPU cycles. Every
+ * built-in operation has its own estimated cost, costs of custom operations
+ * can be set by {@link #setCost(Class, double)} (otherwise
+ * {@link #DEFAULT_OPERATION_COST} is used). Each node of <i>Abstract Syntax
+ * Tree</i> adds {@link #NODE_COST} (dispatch, arguments array, boxing).</p>
+ *
+ * <p>Costs are rough estimates, they are used only to compare different
+ * forms of the same expression.</p>
+ */
+public class CostModel {
+    /**
+     * Overhead of evaluation of a single node.
+     */
+    public static final double NODE_COST = 10;
+
+    /**
+     * Cost of a variable lookup.
+     */
+    public static final double VARIABLE_COST = 15;
+
+    /**
+     * Cost of a branch in a decision diagram.
+     */
+    public static final double BRANCH_COST = 2;
+
+    /**
+     * Cost of an operation without estimated cost.
+     */
+    public static final double DEFAULT_OPERATION_COST = 20;
+
+    /**
+     * Cost of a domain check.
+     */
+    public static final double DOMAIN_CHECK_COST = 1;
+
+    private final HashMap<Class<?>, Double> costs;
+
+    /**
+     * Constructor. Costs of built-in operations are set.
+     */
+    public CostModel() {
+        costs = new HashMap<>();
+
+        setCost(pl.mateuszchudyk.jmath.operators.Addition.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.AdditiveInverse.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.And.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Consequence.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Division.class, 15);
+        setCost(pl.mateuszchudyk.jmath.operators.Equal.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Exponentiation.class, 80);
+        setCost(pl.mateuszchudyk.jmath.operators.Factorial.class, 30);
+        setCost(pl.mateuszchudyk.jmath.operators.GreaterThen.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.GreaterThenOrEqual.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.IfAndOnlyIf.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.LessThen.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.LessThenOrEqual.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Modulo.class, 20);
+        setCost(pl.mateuszchudyk.jmath.operators.Multiplication.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Nand.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Nor.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Not.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.NotEqual.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Or.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Percentage.class, 2);
+        setCost(pl.mateuszchudyk.jmath.operators.Subtraction.class, 1);
+        setCost(pl.mateuszchudyk.jmath.operators.Xor.class, 1);
+
+        setCost(pl.mateuszchudyk.jmath.functions.AbsoluteValue.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.Arccosine.class, 60);
+        setCost(pl.mateuszchudyk.jmath.functions.Arcsine.class, 60);
+        setCost(pl.mateuszchudyk.jmath.functions.Arctangent_1.class, 50);
+        setCost(pl.mateuszchudyk.jmath.functions.Arctangent_2.class, 70);
+        setCost(pl.mateuszchudyk.jmath.functions.BinaryLogarithm.class, 45);
+        setCost(pl.mateuszchudyk.jmath.functions.BinomialCoefficient.class, 30);
+        setCost(pl.mateuszchudyk.jmath.functions.Ceiling.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.CeilingDivision.class, 25);
+        setCost(pl.mateuszchudyk.jmath.functions.Clamp.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.CommonLogarithm.class, 45);
+        setCost(pl.mateuszchudyk.jmath.functions.Cosine.class, 50);
+        setCost(pl.mateuszchudyk.jmath.functions.Exponential.class, 40);
+        setCost(pl.mateuszchudyk.jmath.functions.Exponentiation.class, 80);
+        setCost(pl.mateuszchudyk.jmath.functions.Factorial.class, 30);
+        setCost(pl.mateuszchudyk.jmath.functions.Fibonacci.class, 30);
+        setCost(pl.mateuszchudyk.jmath.functions.Floor.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.FloorDivision.class, 25);
+        setCost(pl.mateuszchudyk.jmath.functions.FusedMultiplyAdd.class, 0.25);
+        setCost(pl.mateuszchudyk.jmath.functions.GreatestCommonDivisor.class, 50);
+        setCost(pl.mateuszchudyk.jmath.functions.HyperbolicCosine.class, 60);
+        setCost(pl.mateuszchudyk.jmath.functions.HyperbolicSine.class, 60);
+        setCost(pl.mateuszchudyk.jmath.functions.HyperbolicTangent.class, 60);
+        setCost(pl.mateuszchudyk.jmath.functions.Indicator.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.LagrangePolynomial.class, 20);
+        setCost(pl.mateuszchudyk.jmath.functions.LeastCommonMultiple.class, 55);
+        setCost(pl.mateuszchudyk.jmath.functions.Logarithm.class, 90);
+        setCost(pl.mateuszchudyk.jmath.functions.Maximum.class, 1);
+        setCost(pl.mateuszchudyk.jmath.functions.Mean.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.Median.class, 20);
+        setCost(pl.mateuszchudyk.jmath.functions.Minimum.class, 1);
+        setCost(pl.mateuszchudyk.jmath.functions.ModularExponentiation.class, 200);
+        setCost(pl.mateuszchudyk.jmath.functions.NaturalLogarithm.class, 40);
+        setCost(pl.mateuszchudyk.jmath.functions.NormalDistributionRandom_0.class, 40);
+        setCost(pl.mateuszchudyk.jmath.functions.NormalDistributionRandom_2.class, 40);
+        setCost(pl.mateuszchudyk.jmath.functions.Polynomial.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.PrimalityTest.class, 2000);
+        setCost(pl.mateuszchudyk.jmath.functions.RangeTest.class, 1);
+        setCost(pl.mateuszchudyk.jmath.functions.Root.class, 90);
+        setCost(pl.mateuszchudyk.jmath.functions.Round.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.Sign.class, 2);
+        setCost(pl.mateuszchudyk.jmath.functions.Sine.class, 50);
+        setCost(pl.mateuszchudyk.jmath.functions.SquareRoot.class, 15);
+        setCost(pl.mateuszchudyk.jmath.functions.StandardDeviation.class, 5);
+        setCost(pl.mateuszchudyk.jmath.functions.TableInterpolation.class, 10);
+        setCost(pl.mateuszchudyk.jmath.functions.Tangent.class, 60);
+        setCost(pl.mateuszchudyk.jmath.functions.ToDegrees.class, 1);
+        setCost(pl.mateuszchudyk.jmath.functions.ToLogical.class, 1);
+        setCost(pl.mateuszchudyk.jmath.functions.ToRadians.class, 1);
+        setCost(pl.mateuszchudyk.jmath.functions.UniformDistributionRandom_0.class, 20);
+        setCost(pl.mateuszchudyk.jmath.functions.UniformDistributionRandom_2.class, 20);
+    }
+
+    /**
+     * Set cost of an operation.
+     *
+     * <p>For operations with more than two arguments the cost is multiplied
+     * by the number of arguments minus one.</p>
+     *
+     * @param operation Operation class.
+     * @param cost Estimated cost in CPU cycles.
+     */
+    public final void setCost(Class<? extends Operation> operation, double cost) {
+        costs.put(operation, cost);
+    }
+
+    /**
+     * Get cost of an operation.
+     *
+     * @param operation Operation.
+     * @param numberOfArguments Number of arguments.
+     * @return Estimated cost in CPU cycles (without costs of arguments).
+     */
+    public double getCost(Operation operation, int numberOfArguments) {
+        Double cost = costs.get(operation.getClass());
+        double result = (cost == null ? DEFAULT_OPERATION_COST : cost) * Math.max(1, numberOfArguments - 1);
+
+        if (operation instanceof DomainCheckedFunction && ((DomainCheckedFunction)operation).isCheckingDomain())
+            result += DOMAIN_CHECK_COST;
+
+        return result;
+    }
+
+    /**
+     * Get cost of an expression.
+     *
+     * @param ast Expression.
+     * @return Estimated cost in CPU cycles.
+     */
+    public double getCost(ASTExpression ast) {
+        double result = getNodeCost(ast);
+        for (int i = 0; i < ast.getNumberOfChildren(); i++)
+            result += getCost(ast.getChild(i));
+
+        return result;
+    }
+
+    /**
+     * Get cost of the root node of an expression.
+     *
+     * @param ast Expression.
+     * @return Estimated cost in CPU cycles without costs of sub-expressions.
+     */
+    public double getNodeCost(ASTExpression ast) {
+        double result = NODE_COST;
+
+        if (ast.getClass() == ASTVariable.class)
+            result += VARIABLE_COST;
+        else if (ast.getClass() == ASTOperation.class) {
+            ASTOperation operation = (ASTOperation)ast;
+            result += getCost(operation.getOperation(), operation.getNumberOfArguments());
+        }
+        else if (ast.getClass() == ASTPolynomial.class) {
+            double multiplication = getCost(new pl.mateuszchudyk.jmath.operators.Multiplication(), 2);
+            double addition = getCost(new pl.mateuszchudyk.jmath.operators.Addition(), 2);
+            result += ((ASTPolynomial)ast).getDegree() * (multiplication + addition);
+        }
+        else if (ast.getClass() == ASTLagrangePolynomial.class) {
+            double addition = getCost(new pl.mateuszchudyk.jmath.operators.Addition(), 2);
+            double multiplication = getCost(new pl.mateuszchudyk.jmath.operators.Multiplication(), 2);
+            double division = getCost(new pl.mateuszchudyk.jmath.operators.Division(), 2);
+            result += ((ASTLagrangePolynomial)ast).getNumberOfPoints() * (3 * addition + multiplication + division) + division;
+        }
+        else if (ast.getClass() == ASTDecisionDiagram.class)
+            result += ((ASTDecisionDiagram)ast).getNumberOfNodes() * BRANCH_COST;
+        else if (ast.getClass() != ASTImmidiateValue.class)
+            result += DEFAULT_OPERATION_COST;
+
+        return result;
+    }
+}
@@ -24,10 +24,20 @@
 
 package pl.mateuszchudyk.jmath;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
+import pl.mateuszchudyk.jmath.aggregates.Accumulator;
+import pl.mateuszchudyk.jmath.aggregates.Aggregate;
 import pl.mateuszchudyk.jmath.ast.ASTExpression;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.optimizations.VariableSubstitution;
+import pl.mateuszchudyk.jmath.random.RandomContext;
+import pl.mateuszchudyk.jmath.random.RandomSource;
+import pl.mateuszchudyk.jmath.random.SplittableRandomSource;
 
 /**
  * Expression object.
@@ -36,12 +46,23 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * of parsing expression written as a string.</p>
  */
 public class Expression {
+    private static final int SPECIALIZATIONS_CACHE_SIZE = 16;
+    private static final int BATCH_CHUNK_SIZE = 4096;
+
     private final ASTExpression ast;
     private HashMap<String, Double> substitutions;
+    private final LinkedHashMap<List<Object>, ASTExpression> specializations;
+    private RandomSource randomSource;
 
     protected Expression(ASTExpression ast) {
         this.ast = ast;
         this.substitutions = new HashMap<>();
+        this.specializations = new LinkedHashMap<List<Object>, ASTExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, ASTExpression> eldest) {
+                return size() > SPECIALIZATIONS_CACHE_SIZE;
+            }
+        };
     }
 
     protected ASTExpression getAST() {
@@ -71,6 +92,32 @@ public class Expression {
             setVariable(name, substitutions.get(name));
     }
 
+    /**
+     * Set source of random numbers used by random functions (e.g.
+     * <i>rand</i>, <i>nrand</i>).
+     *
+     * <p>By default each thread uses its own source with a random seed (see
+     * {@link RandomContext}). With a fixed source results are reproducible,
+     * but the expression shouldn't be evaluated from many threads at once.
+     * Parallel aggregation splits the source into one stream per chunk, so
+     * it's reproducible as well.</p>
+     *
+     * @param source Random source or null to use the default one.
+     */
+    public void setRandomSource(RandomSource source) {
+        randomSource = source;
+    }
+
+    /**
+     * Set seed of random numbers used by random functions (see
+     * {@link #setRandomSource(RandomSource)}).
+     *
+     * @param seed Seed.
+     */
+    public void setRandomSeed(long seed) {
+        setRandomSource(new SplittableRandomSource(seed));
+    }
+
     /**
      * Evaluate expression.
      *
@@ -81,7 +128,218 @@ public class Expression {
      * @throws EvaluationException
      */
     public Double evaluate() throws EvaluationException {
-        return ast.evaluate(substitutions);
+        if (randomSource == null)
+            return ast.evaluate(substitutions);
+
+        RandomSource previous = RandomContext.set(randomSource);
+        try {
+            return ast.evaluate(substitutions);
+        }
+        finally {
+            RandomContext.set(previous);
+        }
+    }
+
+    /**
+     * Evaluate expression for many values of variables.
+     *
+     * <p>Each column contains values of one variable, i-th result is the
+     * value of the expression for i-th values from all columns. Variables
+     * without columns have values set by {@link #setVariable(String, Double)}.
+     * Nodes which support it (e.g. polynomials) are evaluated for whole
+     * columns at once.</p>
+     *
+     * @param columns Values of variables, all columns must have the same
+     * length.
+     * @return Results for all rows.
+     * @throws EvaluationException
+     */
+    public double[] evaluateBatch(Map<String, double[]> columns) throws EvaluationException {
+        int rows = getNumberOfRows(columns);
+        if (randomSource == null)
+            return ast.evaluateBatch(columns, substitutions, rows);
+
+        RandomSource previous = RandomContext.set(randomSource);
+        try {
+            return ast.evaluateBatch(columns, substitutions, rows);
+        }
+        finally {
+            RandomContext.set(previous);
+        }
+    }
+
+    /**
+     * Evaluate expression for many values of variables and aggregate results.
+     *
+     * <p>Rows are evaluated in parallel (see
+     * {@link #aggregate(Map, Aggregate, boolean)}).</p>
+     *
+     * @param columns Values of variables, all columns must have the same
+     * length.
+     * @param aggregate Aggregate of results, e.g. mean.
+     * @return Aggregated result.
+     * @throws EvaluationException
+     */
+    public double aggregate(Map<String, double[]> columns, Aggregate aggregate) throws EvaluationException {
+        return aggregate(columns, aggregate, true);
+    }
+
+    /**
+     * Evaluate expression for many values of variables and aggregate results.
+     *
+     * <p>Rows are split into chunks of fixed size, each chunk is evaluated
+     * at once (see {@link #evaluateBatch(Map)}), results of each chunk are
+     * accumulated separately and accumulators are merged in order of chunks.
+     * So the result is the same, no matter if it's computed in parallel or
+     * not, and doesn't depend on the number of threads. If the expression
+     * has a fixed random source, each chunk gets its own stream split from
+     * it. Aggregates which can't be merged (see
+     * {@link Aggregate#isMergeable()}, e.g. quantiles) are evaluated
+     * sequentially to one accumulator.</p>
+     *
+     * @param columns Values of variables, all columns must have the same
+     * length (see {@link #evaluateBatch(Map)}).
+     * @param aggregate Aggregate of results, e.g. mean.
+     * @param parallel Evaluate chunks in parallel.
+     * @return Aggregated result.
+     * @throws EvaluationException
+     */
+    public double aggregate(Map<String, double[]> columns, Aggregate aggregate, boolean parallel) throws EvaluationException {
+        int rows = getNumberOfRows(columns);
+        int chunks = (rows + BATCH_CHUNK_SIZE - 1) / BATCH_CHUNK_SIZE;
+        HashMap<String, Double> values = new HashMap<>(substitutions);
+
+        RandomSource[] streams = (randomSource != null ? new RandomSource[chunks] : null);
+        for (int i = 0; streams != null && i < chunks; i++)
+            streams[i] = randomSource.split();
+
+        if (!aggregate.isMergeable()) {
+            Accumulator accumulator = aggregate.createAccumulator();
+            for (int chunk = 0; chunk < chunks; chunk++)
+                evaluateChunk(columns, values, rows, chunk, streams, accumulator);
+            return accumulator.getResult();
+        }
+
+        Accumulator[] accumulators = new Accumulator[chunks];
+        IntStream indices = IntStream.range(0, chunks);
+        if (parallel)
+            indices = indices.parallel();
+
+        try {
+            indices.forEach(chunk -> {
+                Accumulator accumulator = aggregate.createAccumulator();
+                try {
+                    evaluateChunk(columns, values, rows, chunk, streams, accumulator);
+                }
+                catch (EvaluationException ex) {
+                    throw new ChunkException(ex);
+                }
+                accumulators[chunk] = accumulator;
+            });
+        }
+        catch (ChunkException ex) {
+            throw (EvaluationException)ex.getCause();
+        }
+
+        Accumulator result = aggregate.createAccumulator();
+        for (Accumulator accumulator : accumulators)
+            result.merge(accumulator);
+
+        return result.getResult();
+    }
+
+    /**
+     * Specialize expression for fixed values of some variables.
+     *
+     * <p>Fixed variables are replaced with constants and the expression is
+     * optimized by the default optimizer, so only the residual expression
+     * is left, e.g. for <i>a = 2</i> and <i>b = 3</i>: <i>a * b * x + b =
+     * 6 * x + 3</i>. Results are cached (the last 16 used sets of fixed
+     * values) so specializing again for the same values is cheap.</p>
+     *
+     * <p>The returned expression doesn't share variables substitutions with
+     * this expression, values of remaining variables have to be set before
+     * evaluation.</p>
+     *
+     * @param fixed Values of fixed variables.
+     * @return Specialized expression.
+     */
+    public Expression specialize(Map<String, Double> fixed) {
+        return specialize(fixed, null);
+    }
+
+    /**
+     * Specialize expression for fixed values of some variables using the
+     * given optimizer.
+     *
+     * <p>The same as {@link #specialize(Map)}, but the residual expression
+     * is optimized by the given optimizer (with its level, fast-math mode
+     * and custom passes). Results are cached separately for each optimizer
+     * instance, so the optimizer shouldn't be modified after the first
+     * specialization.</p>
+     *
+     * @param fixed Values of fixed variables.
+     * @param optimizer Optimizer or null to use the default one.
+     * @return Specialized expression.
+     */
+    public Expression specialize(Map<String, Double> fixed, Optimizer optimizer) {
+        if (fixed == null || fixed.isEmpty())
+            return new Expression(ast);
+
+        HashMap<String, Double> values = new HashMap<>(fixed);
+        List<Object> key = Arrays.asList(values, optimizer);
+        ASTExpression specialized;
+        synchronized (specializations) {
+            specialized = specializations.get(key);
+        }
+
+        if (specialized == null) {
+            Optimizer used = (optimizer != null ? optimizer : new Optimizer(OptimizerType.Default));
+            Expression substituted = used.apply(this, new VariableSubstitution(values));
+            specialized = used.optimize(substituted).getAST();
+            synchronized (specializations) {
+                specializations.put(key, specialized);
+            }
+        }
+
+        return new Expression(specialized);
+    }
+
+    private void evaluateChunk(Map<String, double[]> columns, Map<String, Double> values, int rows, int chunk, RandomSource[] streams, Accumulator accumulator) throws EvaluationException {
+        int start = chunk * BATCH_CHUNK_SIZE;
+        int end = Math.min(rows, start + BATCH_CHUNK_SIZE);
+        HashMap<String, double[]> slices = new HashMap<>();
+        for (Map.Entry<String, double[]> column : columns.entrySet())
+            slices.put(column.getKey(), Arrays.copyOfRange(column.getValue(), start, end));
+
+        RandomSource previous = (streams != null ? RandomContext.set(streams[chunk]) : null);
+        try {
+            for (double result : ast.evaluateBatch(slices, values, end - start))
+                accumulator.add(result);
+        }
+        finally {
+            if (streams != null)
+                RandomContext.set(previous);
+        }
+    }
+
+    private static int getNumberOfRows(Map<String, double[]> columns) {
+        int rows = -1;
+        for (Map.Entry<String, double[]> column : columns.entrySet()) {
+            if (rows >= 0 && column.getValue().length != rows)
+                throw new IllegalArgumentException("Column '" + column.getKey() + "' has " + column.getValue().length + " rows instead of " + rows + "!");
+            rows = column.getValue().length;
+        }
+        return Math.max(rows, 0);
+    }
+
+    /**
+     * Evaluation exception thrown inside parallel evaluation.
+     */
+    private static class ChunkException extends RuntimeException {
+        ChunkException(EvaluationException cause) {
+            super(cause);
+        }
     }
 
     /**
@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+/**
+ * Math mode of elementary functions.
+ *
+ * <p>It determines how built-in exponential, logarithms, sine, cosine,
+ * tangent and hyperbolic tangent are evaluated (see
+ * {@link Parser#Parser(ParserType, MathMode)}).</p>
+ */
+public enum MathMode {
+    /**
+     * Strict mode.
+     *
+     * <p>Functions from {@link java.lang.Math} are used.</p>
+     */
+    Strict,
+
+    /**
+     * Fast mode.
+     *
+     * <p>Table-driven and polynomial approximations are used. Maximum
+     * relative errors are: 1 ulp for <i>exp</i>, 1e-13 for <i>log</i>,
+     * <i>log2</i>, <i>log10</i>, 2e-11 for <i>sin</i>, <i>cos</i>,
+     * <i>tan</i> and 2e-12 for <i>tanh</i>. Special values (infinities,
+     * NaN, subnormal numbers and arguments of trigonometric functions larger
+     * than 2^20) are evaluated as in the strict mode.</p>
+     */
+    Fast,
+}
@@ -52,4 +52,17 @@ public interface Operation {
      * @throws EvaluationException
      */
     public Double evaluate(Double[] args) throws EvaluationException;
+
+    /**
+     * Check if the operation is deterministic.
+     *
+     * <p>Deterministic operation always returns the same result for the same
+     * arguments. Optimizer doesn't fold, merge nor remove duplicates of
+     * non-deterministic operations (e.g. random numbers).</p>
+     *
+     * @return True if the operation is deterministic.
+     */
+    public default boolean isDeterministic() {
+        return true;
+    }
 }
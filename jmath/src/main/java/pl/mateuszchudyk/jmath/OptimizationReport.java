@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optimization report.
+ *
+ * <p>Result of {@link Optimizer#optimizeWithReport(Expression)}. It contains
+ * optimized expression and statistics of the optimization: estimated costs,
+ * sizes of the expression, number of iterations and statistics of every
+ * optimization pass (see {@link PassStatistics}).</p>
+ */
+public class OptimizationReport {
+    private final Expression expression;
+    private final double costBefore;
+    private final double costAfter;
+    private final int nodesBefore;
+    private final int nodesAfter;
+    private final int depthBefore;
+    private final int depthAfter;
+    private final int iterations;
+    private final List<PassStatistics> passes;
+    private final boolean timedOut;
+    private final long time;
+
+    protected OptimizationReport(Expression expression, double costBefore, double costAfter,
+                                 int nodesBefore, int nodesAfter, int depthBefore, int depthAfter,
+                                 int iterations, List<PassStatistics> passes, boolean timedOut, long time) {
+        this.expression = expression;
+        this.costBefore = costBefore;
+        this.costAfter = costAfter;
+        this.nodesBefore = nodesBefore;
+        this.nodesAfter = nodesAfter;
+        this.depthBefore = depthBefore;
+        this.depthAfter = depthAfter;
+        this.iterations = iterations;
+        this.passes = Collections.unmodifiableList(new ArrayList<>(passes));
+        this.timedOut = timedOut;
+        this.time = time;
+    }
+
+    /**
+     * Get optimized expression.
+     *
+     * @return Optimized expression.
+     */
+    public Expression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Get estimated cost of the expression before optimization.
+     *
+     * @return Estimated cost in CPU cycles.
+     */
+    public double getCostBefore() {
+        return costBefore;
+    }
+
+    /**
+     * Get estimated cost of the expression after optimization.
+     *
+     * @return Estimated cost in CPU cycles.
+     */
+    public double getCostAfter() {
+        return costAfter;
+    }
+
+    /**
+     * Get number of nodes of the expression before optimization.
+     *
+     * @return Number of nodes of <i>Abstract Syntax Tree</i>.
+     */
+    public int getNodesBefore() {
+        return nodesBefore;
+    }
+
+    /**
+     * Get number of nodes of the expression after optimization.
+     *
+     * @return Number of nodes of <i>Abstract Syntax Tree</i>.
+     */
+    public int getNodesAfter() {
+        return nodesAfter;
+    }
+
+    /**
+     * Get depth of the expression before optimization.
+     *
+     * @return Depth of <i>Abstract Syntax Tree</i> (1 for a single node).
+     */
+    public int getDepthBefore() {
+        return depthBefore;
+    }
+
+    /**
+     * Get depth of the expression after optimization.
+     *
+     * @return Depth of <i>Abstract Syntax Tree</i> (1 for a single node).
+     */
+    public int getDepthAfter() {
+        return depthAfter;
+    }
+
+    /**
+     * Get number of iterations.
+     *
+     * <p>In each iteration all optimization passes are run once.</p>
+     *
+     * @return Number of iterations.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Get statistics of optimization passes.
+     *
+     * @return Statistics of all passes in order of running.
+     */
+    public List<PassStatistics> getPasses() {
+        return passes;
+    }
+
+    /**
+     * Check if optimization was stopped because of the time budget.
+     *
+     * @return True if the time budget was exceeded.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Get optimization time.
+     *
+     * @return Optimization time in nanoseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        String result = "Cost: " + costBefore + " -> " + costAfter +
+            ", nodes: " + nodesBefore + " -> " + nodesAfter +
+            ", depth: " + depthBefore + " -> " + depthAfter +
+            ", iterations: " + iterations + ", time: " + time / 1000 + " us" +
+            (timedOut ? " (time budget exceeded)" : "");
+
+        for (PassStatistics pass : passes)
+            result += "\n   " + pass;
+
+        return result;
+    }
+}
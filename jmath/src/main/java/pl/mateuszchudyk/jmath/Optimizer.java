@@ -25,10 +25,9 @@
 package pl.mateuszchudyk.jmath;
 
 import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
 import pl.mateuszchudyk.jmath.ast.ASTExpression;
-import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
-import pl.mateuszchudyk.jmath.ast.ASTOperation;
-import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.optimizations.GlobalOptimizationPass;
 import pl.mateuszchudyk.jmath.optimizations.OptimizationPass;
 
 /**
@@ -39,27 +38,98 @@ import pl.mateuszchudyk.jmath.optimizations.OptimizationPass;
  * the expression or all added optimization passes until no one of them modify
  * the expression.</p>
  *
+ * <p>During optimization a rewrite is accepted only if it lowers the cost of
+ * the expression estimated by the {@link CostModel}, so rewrites which only
+ * canonicalize the expression (e.g. sorting of operands) are not accepted,
+ * they are applied only by {@link #apply(Expression, OptimizationPass)}. Optimization stops when
+ * the time budget is exceeded, then the best expression found so far is
+ * returned.</p>
+ *
+ * <p>Rewrites that can change the result in the last bits are used only in
+ * fast-math mode, which has to be enabled explicitly with
+ * {@link #Optimizer(OptimizerType, boolean)}.</p>
+ *
+ * <p>Passes are run on every node of the expression, bottom-up, except
+ * {@link GlobalOptimizationPass}es which are run once on the whole
+ * expression.</p>
+ *
+ * <p>Each optimization is described by {@link OptimizationReport}, which is
+ * returned by {@link #optimizeWithReport(Expression)} and passed to all
+ * added {@link OptimizationListener}s.</p>
+ *
  * <p>Built-in optimization passes:
  * <ul>
+ * <li>AssociativeFlattening,</li>
  * <li>BinaryOperatorSimplifying,</li>
- * <li>ConstantFolding.</li>
+ * <li>ConstantFolding,</li>
+ * <li>DecisionDiagramRewriting,</li>
+ * <li>EqualitySaturation (only {@link OptimizerType#O3}, identities exact
+ * only for real numbers only in fast-math mode),</li>
+ * <li>Factorization (only in fast-math mode),</li>
+ * <li>MultiplyAddFusion (only in fast-math mode),</li>
+ * <li>PolynomialRewriting,</li>
+ * <li>RangeFusion,</li>
+ * <li>RangeSimplifying,</li>
+ * <li>StrengthReduction,</li>
+ * <li>VariadicCanonicalization.</li>
  * </ul></p>
  */
 public class Optimizer {
+    /**
+     * Default time budget for optimization of one expression in milliseconds.
+     */
+    public static final long DEFAULT_TIME_BUDGET = 1000;
+
     private final ArrayList<OptimizationPass> passes;
+    private final CopyOnWriteArrayList<OptimizationListener> listeners;
+    private CostModel costModel;
+    private long timeBudget;
 
     /**
-     * Constructor.
+     * Constructor. Fast-math mode is disabled.
      *
      * @param type Optimizer type, determine which built-in optimization passes
      * are added by default.
      */
     public Optimizer(OptimizerType type) {
+        this(type, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param type Optimizer type, determine which built-in optimization passes
+     * are added by default.
+     * @param fastMath Enable built-in rewrites that can change the result in
+     * the last bits (e.g. reassociation of floating point operations or fused
+     * multiply-add).
+     */
+    public Optimizer(OptimizerType type, boolean fastMath) {
         passes = new ArrayList<>();
+        listeners = new CopyOnWriteArrayList<>();
+        costModel = new CostModel();
+        timeBudget = DEFAULT_TIME_BUDGET;
 
-        if (type == OptimizerType.Default) {
+        if (type == OptimizerType.O1) {
+            addPass(new pl.mateuszchudyk.jmath.optimizations.BinaryOperatorSimplifying());
+            addPass(new pl.mateuszchudyk.jmath.optimizations.ConstantFolding());
+        }
+        else if (type == OptimizerType.Default || type == OptimizerType.O2 || type == OptimizerType.O3) {
             addPass(new pl.mateuszchudyk.jmath.optimizations.BinaryOperatorSimplifying());
             addPass(new pl.mateuszchudyk.jmath.optimizations.ConstantFolding());
+            addPass(new pl.mateuszchudyk.jmath.optimizations.VariadicCanonicalization());
+            addPass(new pl.mateuszchudyk.jmath.optimizations.StrengthReduction(fastMath));
+            addPass(new pl.mateuszchudyk.jmath.optimizations.PolynomialRewriting());
+            addPass(new pl.mateuszchudyk.jmath.optimizations.AssociativeFlattening(fastMath));
+            if (fastMath)
+                addPass(new pl.mateuszchudyk.jmath.optimizations.Factorization());
+            addPass(new pl.mateuszchudyk.jmath.optimizations.RangeSimplifying());
+            addPass(new pl.mateuszchudyk.jmath.optimizations.RangeFusion());
+            addPass(new pl.mateuszchudyk.jmath.optimizations.DecisionDiagramRewriting());
+            if (type == OptimizerType.O3)
+                addPass(new pl.mateuszchudyk.jmath.optimizations.EqualitySaturation(costModel, fastMath));
+            if (fastMath)
+                addPass(new pl.mateuszchudyk.jmath.optimizations.MultiplyAddFusion());
         }
     }
 
@@ -72,6 +142,60 @@ public class Optimizer {
         passes.add(pass);
     }
 
+    /**
+     * Add optimization listener.
+     *
+     * @param listener Listener notified after each optimization.
+     */
+    public void addListener(OptimizationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove optimization listener.
+     *
+     * @param listener Listener to be removed.
+     */
+    public void removeListener(OptimizationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Set cost model.
+     *
+     * @param costModel Cost model used to decide if a rewrite is profitable.
+     */
+    public void setCostModel(CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    /**
+     * Get cost model.
+     *
+     * @return Cost model used to decide if a rewrite is profitable.
+     */
+    public CostModel getCostModel() {
+        return costModel;
+    }
+
+    /**
+     * Set time budget for optimization of one expression.
+     *
+     * @param milliseconds Time budget in milliseconds, 0 means no limit.
+     */
+    public void setTimeBudget(long milliseconds) {
+        this.timeBudget = milliseconds;
+    }
+
+    /**
+     * Get time budget for optimization of one expression.
+     *
+     * @return Time budget in milliseconds, 0 means no limit.
+     */
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
     /**
      * Optimize an expression.
      *
@@ -82,26 +206,62 @@ public class Optimizer {
      * @return Optimized expression.
      */
     public Expression optimize(Expression expression) {
+        return optimizeWithReport(expression).getExpression();
+    }
+
+    /**
+     * Optimize an expression and report the result.
+     *
+     * <p>The same as {@link #optimize(Expression)} but it returns also
+     * statistics of the optimization.</p>
+     *
+     * @param expression Expression to be optimized.
+     * @return Optimization report.
+     */
+    public OptimizationReport optimizeWithReport(Expression expression) {
+        long start = System.nanoTime();
+        long deadline = (timeBudget > 0 ? start + timeBudget * 1000000 : 0);
         ASTExpression result = expression.getAST();
+        double costBefore = costModel.getCost(result);
+        int iterations = 0;
         boolean end;
 
+        ArrayList<PassStatistics> statistics = new ArrayList<>();
+        for (OptimizationPass pass : passes)
+            statistics.add(new PassStatistics(pass));
+
         do {
             end = true;
-            for (int i = 0; i < passes.size(); i++) {
-                ASTExpression temp = applyRec(result, passes.get(i));
+            iterations++;
+            for (int i = 0; i < passes.size() && !isTimedOut(deadline); i++) {
+                long passStart = System.nanoTime();
+                ASTExpression temp = applyRec(result, passes.get(i), deadline, true, statistics.get(i));
+                statistics.get(i).addTime(System.nanoTime() - passStart);
                 if (temp != null) {
                     end = false;
                     result = temp;
                 }
             }
-        } while (!end);
+        } while (!end && !isTimedOut(deadline));
+
+        OptimizationReport report = new OptimizationReport(new Expression(result),
+            costBefore, costModel.getCost(result),
+            countNodes(expression.getAST()), countNodes(result),
+            getDepth(expression.getAST()), getDepth(result),
+            iterations, statistics, isTimedOut(deadline), System.nanoTime() - start);
 
-        return new Expression(result);
+        for (OptimizationListener listener : listeners)
+            listener.optimized(report);
+
+        return report;
     }
 
     /**
      * Apply single optimization pass to expression.
      *
+     * <p>All rewrites done by the pass are accepted, no matter of the cost
+     * and time budget.</p>
+     *
      * @param expression Expression to be optimized.
      * @param pass Pass to be run on the expression.
      * @return Optimized expression.
@@ -110,39 +270,70 @@ public class Optimizer {
         if (pass == null)
             return expression;
 
-        ASTExpression ast = applyRec(expression.getAST(), pass);
+        ASTExpression ast = applyRec(expression.getAST(), pass, 0, false, null);
         return (ast == null ? expression : new Expression(ast));
     }
 
-    private ASTExpression applyRec(ASTExpression ast, OptimizationPass pass) {
-        if (ast.getClass() == ASTImmidiateValue.class)
-            return pass.run(ast);
-        else if (ast.getClass() == ASTVariable.class)
-            return pass.run(ast);
-        else if (ast.getClass() == ASTOperation.class) {
-            ASTOperation operation = (ASTOperation)ast;
-
-            boolean anyChanges = false;
-            ASTExpression[] arguments = new ASTExpression[operation.getNumberOfArguments()];
-            for (int i = 0; i < operation.getNumberOfArguments(); i++) {
-                arguments[i] = applyRec(operation.getArgument(i), pass);
-                if (arguments[i] != null)
-                    anyChanges = true;
-                else
-                    arguments[i] = operation.getArgument(i);
-            }
+    private ASTExpression applyRec(ASTExpression ast, OptimizationPass pass, long deadline, boolean checkCost, PassStatistics statistics) {
+        if (pass instanceof GlobalOptimizationPass)
+            return applyGlobal(ast, pass, deadline, checkCost, statistics);
+        else
+            return applyLocal(ast, pass, deadline, checkCost, statistics);
+    }
+
+    private ASTExpression applyGlobal(ASTExpression ast, OptimizationPass pass, long deadline, boolean checkCost, PassStatistics statistics) {
+        if (isTimedOut(deadline))
+            return null;
+
+        ASTExpression result = pass.run(ast);
+        boolean accepted = (result != null && (!checkCost || costModel.getCost(result) < costModel.getCost(ast)));
+        if (result != null && statistics != null)
+            statistics.addRewrite(accepted, ast, result);
 
-            if (!anyChanges)
-                return pass.run(ast);
+        return (accepted ? result : null);
+    }
+
+    private ASTExpression applyLocal(ASTExpression ast, OptimizationPass pass, long deadline, boolean checkCost, PassStatistics statistics) {
+        if (isTimedOut(deadline))
+            return null;
 
-            ASTExpression temp = new ASTOperation(operation.getOperation(), arguments);
-            ASTExpression result = pass.run(temp);
-            if (result == null)
-                return temp;
+        boolean anyChanges = false;
+        ASTExpression[] children = new ASTExpression[ast.getNumberOfChildren()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = applyLocal(ast.getChild(i), pass, deadline, checkCost, statistics);
+            if (children[i] != null)
+                anyChanges = true;
             else
-                return result;
+                children[i] = ast.getChild(i);
         }
 
-        return null;
+        ASTExpression temp = (anyChanges ? ast.copy(children) : ast);
+        ASTExpression result = pass.run(temp);
+        boolean accepted = (result != null && (!checkCost || costModel.getCost(result) < costModel.getCost(temp)));
+        if (result != null && statistics != null)
+            statistics.addRewrite(accepted, temp, result);
+
+        if (accepted)
+            return result;
+        else
+            return (anyChanges ? temp : null);
+    }
+
+    private static int countNodes(ASTExpression ast) {
+        int result = 1;
+        for (int i = 0; i < ast.getNumberOfChildren(); i++)
+            result += countNodes(ast.getChild(i));
+        return result;
+    }
+
+    private static int getDepth(ASTExpression ast) {
+        int result = 0;
+        for (int i = 0; i < ast.getNumberOfChildren(); i++)
+            result = Math.max(result, getDepth(ast.getChild(i)));
+        return result + 1;
+    }
+
+    private boolean isTimedOut(long deadline) {
+        return deadline != 0 && System.nanoTime() - deadline > 0;
     }
 }
@@ -35,7 +35,7 @@ public enum OptimizerType {
      * Empty optimizer.
      *
      * <p>No built-in optimization passes are added to the optimizer by
-     * default.</p>
+     * default. The same as {@link #O0}.</p>
      */
     Empty,
 
@@ -43,7 +43,42 @@ public enum OptimizerType {
      * Default optimizer.
      *
      * <p>All built-in optimization passes are added to the optimizer by
-     * default.</p>
+     * default. The same as {@link #O2}.</p>
      */
     Default,
+
+    /**
+     * Optimization level 0.
+     *
+     * <p>No built-in optimization passes are added to the optimizer by
+     * default.</p>
+     */
+    O0,
+
+    /**
+     * Optimization level 1.
+     *
+     * <p>Only cheap optimization passes are added to the optimizer by default
+     * (BinaryOperatorSimplifying and ConstantFolding).</p>
+     */
+    O1,
+
+    /**
+     * Optimization level 2.
+     *
+     * <p>All built-in optimization passes are added to the optimizer by
+     * default.</p>
+     */
+    O2,
+
+    /**
+     * Optimization level 3.
+     *
+     * <p>All built-in optimization passes are added to the optimizer by
+     * default. Additionally the whole expression is optimized by
+     * EqualitySaturation, which is expensive but finds the cheapest form of
+     * the expression, so it's meant for expressions evaluated many
+     * times.</p>
+     */
+    O3,
 }
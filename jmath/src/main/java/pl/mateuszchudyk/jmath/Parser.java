@@ -39,6 +39,7 @@ import pl.mateuszchudyk.jmath.ast.ASTOperation;
 import pl.mateuszchudyk.jmath.ast.ASTVariable;
 import pl.mateuszchudyk.jmath.exceptions.ParseException;
 import pl.mateuszchudyk.jmath.functions.Function;
+import pl.mateuszchudyk.jmath.functions.TableInterpolation;
 import pl.mateuszchudyk.jmath.operators.AssociativeType;
 import pl.mateuszchudyk.jmath.operators.Operator;
 import pl.mateuszchudyk.jmath.operators.OperatorType;
@@ -72,12 +73,13 @@ import pl.mateuszchudyk.jmath.operators.OperatorType;
  *
  * <p>Built-in functions:
  * <ul>
- * <li>basic: <i>pow</i>, <i>sqrt</i>, <i>root</i>, <i>exp</i>, <i>log</i>, <i>log2</i>, <i>log10</i>, <i>abs</i>, <i>floor</i>, <i>ceil</i>, <i>round</i>, <i>clamp</i>, <i>sgn</i>, <i>indicator</i>,</li>
+ * <li>basic: <i>pow</i>, <i>sqrt</i>, <i>root</i>, <i>exp</i>, <i>log</i>, <i>log2</i>, <i>log10</i>, <i>abs</i>, <i>floor</i>, <i>ceil</i>, <i>round</i>, <i>clamp</i>, <i>fma</i>, <i>sgn</i>, <i>indicator</i>, <i>in_range</i>, <i>out_of_range</i>,</li>
  * <li>trigonometric: <i>sin</i>, <i>cos</i>, <i>tan</i>, <i>asin</i>, <i>acos</i>, <i>atan</i>, <i>atan2</i>, <i>sinh</i>, <i>cosh</i>, <i>tanh</i>,</li>
  * <li>statistical: <i>min</i>, <i>max</i>, <i>mean</i>, <i>stddev</i>, <i>median</i>,</li>
  * <li>random: <i>rand</i> (uniform), <i>nrand</i> (normal),</li>
  * <li>conversion: <i>to_degrees</i>, <i>to_radians</i>, <i>to_logical</i>,</li>
- * <li>compound: <i>gcd</i>, <i>lcm</i>, <i>factorial</i>, <i>fib</i>, <i>lagrange</i>, <i>poly</i>.</li>
+ * <li>number theory: <i>gcd</i>, <i>lcm</i>, <i>modpow</i>, <i>binomial</i>, <i>isprime</i>, <i>fdiv</i>, <i>cdiv</i>,</li>
+ * <li>compound: <i>factorial</i>, <i>gamma</i>, <i>lgamma</i>, <i>fib</i>, <i>lagrange</i>, <i>poly</i>.</li>
  * </ul></p>
  *
  */
@@ -123,12 +125,25 @@ public final class Parser {
     }
 
     /**
-     * Constructor.
+     * Constructor. Built-in functions use {@link MathMode#Strict} mode.
      *
      * @param type Parser type, determine which built-in constants, operators
      * and function are added by default.
      */
     public Parser(ParserType type) {
+        this(type, MathMode.Strict);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param type Parser type, determine which built-in constants, operators
+     * and function are added by default.
+     * @param mode Math mode of built-in elementary functions (<i>exp</i>,
+     * <i>log</i>, <i>log2</i>, <i>log10</i>, <i>sin</i>, <i>cos</i>,
+     * <i>tan</i>, <i>tanh</i>).
+     */
+    public Parser(ParserType type, MathMode mode) {
         this.rules = new HashMap<>();
         this.constants = new HashMap<>();
         this.operators = new HashMap<>();
@@ -264,39 +279,55 @@ public final class Parser {
         addFunction(new pl.mateuszchudyk.jmath.functions.Arcsine());
         addFunction(new pl.mateuszchudyk.jmath.functions.Arctangent_1());
         addFunction(new pl.mateuszchudyk.jmath.functions.Arctangent_2());
-        addFunction(new pl.mateuszchudyk.jmath.functions.BinaryLogarithm());
+        addFunction(new pl.mateuszchudyk.jmath.functions.BinaryLogarithm(true, mode));
+        addFunction(new pl.mateuszchudyk.jmath.functions.BinomialCoefficient());
         addFunction(new pl.mateuszchudyk.jmath.functions.Ceiling());
+        addFunction(new pl.mateuszchudyk.jmath.functions.CeilingDivision());
         addFunction(new pl.mateuszchudyk.jmath.functions.Clamp());
-        addFunction(new pl.mateuszchudyk.jmath.functions.CommonLogarithm());
-        addFunction(new pl.mateuszchudyk.jmath.functions.Cosine());
-        addFunction(new pl.mateuszchudyk.jmath.functions.Exponential());
+        addFunction(new pl.mateuszchudyk.jmath.functions.CommonLogarithm(true, mode));
+        addFunction(new pl.mateuszchudyk.jmath.functions.Cosine(mode));
+        addFunction(new pl.mateuszchudyk.jmath.functions.Exponential(mode));
         addFunction(new pl.mateuszchudyk.jmath.functions.Exponentiation());
         addFunction(new pl.mateuszchudyk.jmath.functions.Factorial());
         addFunction(new pl.mateuszchudyk.jmath.functions.Fibonacci());
         addFunction(new pl.mateuszchudyk.jmath.functions.Floor());
+        addFunction(new pl.mateuszchudyk.jmath.functions.FloorDivision());
+        addFunction(new pl.mateuszchudyk.jmath.functions.FusedMultiplyAdd());
+        addFunction(new pl.mateuszchudyk.jmath.functions.Gamma());
         addFunction(new pl.mateuszchudyk.jmath.functions.GreatestCommonDivisor());
         addFunction(new pl.mateuszchudyk.jmath.functions.HyperbolicCosine());
         addFunction(new pl.mateuszchudyk.jmath.functions.HyperbolicSine());
-        addFunction(new pl.mateuszchudyk.jmath.functions.HyperbolicTangent());
+        addFunction(new pl.mateuszchudyk.jmath.functions.HyperbolicTangent(mode));
         addFunction(new pl.mateuszchudyk.jmath.functions.Indicator());
         addFunction(new pl.mateuszchudyk.jmath.functions.LagrangePolynomial());
         addFunction(new pl.mateuszchudyk.jmath.functions.LeastCommonMultiple());
         addFunction(new pl.mateuszchudyk.jmath.functions.Logarithm());
+        addFunction(new pl.mateuszchudyk.jmath.functions.LogGamma());
         addFunction(new pl.mateuszchudyk.jmath.functions.Maximum());
         addFunction(new pl.mateuszchudyk.jmath.functions.Mean());
         addFunction(new pl.mateuszchudyk.jmath.functions.Median());
         addFunction(new pl.mateuszchudyk.jmath.functions.Minimum());
-        addFunction(new pl.mateuszchudyk.jmath.functions.NaturalLogarithm());
+        addFunction(new pl.mateuszchudyk.jmath.functions.ModularExponentiation());
+        addFunction(new pl.mateuszchudyk.jmath.functions.NaturalLogarithm(true, mode));
         addFunction(new pl.mateuszchudyk.jmath.functions.NormalDistributionRandom_0());
         addFunction(new pl.mateuszchudyk.jmath.functions.NormalDistributionRandom_2());
         addFunction(new pl.mateuszchudyk.jmath.functions.Polynomial());
+        addFunction(new pl.mateuszchudyk.jmath.functions.PrimalityTest());
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(true, true, true));
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(true, false, true));
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(false, true, true));
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(false, false, true));
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(true, true, false));
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(true, false, false));
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(false, true, false));
+        addFunction(new pl.mateuszchudyk.jmath.functions.RangeTest(false, false, false));
         addFunction(new pl.mateuszchudyk.jmath.functions.Root());
         addFunction(new pl.mateuszchudyk.jmath.functions.Round());
         addFunction(new pl.mateuszchudyk.jmath.functions.Sign());
-        addFunction(new pl.mateuszchudyk.jmath.functions.Sine());
+        addFunction(new pl.mateuszchudyk.jmath.functions.Sine(mode));
         addFunction(new pl.mateuszchudyk.jmath.functions.SquareRoot());
         addFunction(new pl.mateuszchudyk.jmath.functions.StandardDeviation());
-        addFunction(new pl.mateuszchudyk.jmath.functions.Tangent());
+        addFunction(new pl.mateuszchudyk.jmath.functions.Tangent(mode));
         addFunction(new pl.mateuszchudyk.jmath.functions.ToDegrees());
         addFunction(new pl.mateuszchudyk.jmath.functions.ToLogical());
         addFunction(new pl.mateuszchudyk.jmath.functions.ToRadians());
@@ -521,6 +552,42 @@ public final class Parser {
         return true;
     }
 
+    /**
+     * Add new table of points to the parser.
+     *
+     * <p>The table is added as a function of one argument named after the
+     * table, e.g. <i>name(x)</i>, which interpolates the points (see
+     * {@link TableInterpolation}). Linear interpolation is used.</p>
+     *
+     * @param name Name of the table.
+     * @param nodes Nodes, strictly increasing (at least 2).
+     * @param values Values at nodes.
+     * @return True if the table has beed added, false otherwise.
+     * @throws IllegalArgumentException if the table is incorrect.
+     */
+    public boolean addTable(String name, double[] nodes, double[] values) {
+        return addTable(name, nodes, values, TableInterpolation.Method.Linear);
+    }
+
+    /**
+     * Add new table of points to the parser.
+     *
+     * <p>The table is added as a function of one argument named after the
+     * table, e.g. <i>name(x)</i>, which interpolates the points (see
+     * {@link TableInterpolation}). The name must be unique in the same way
+     * as a function name.</p>
+     *
+     * @param name Name of the table.
+     * @param nodes Nodes, strictly increasing (at least 2).
+     * @param values Values at nodes.
+     * @param method Interpolation method.
+     * @return True if the table has beed added, false otherwise.
+     * @throws IllegalArgumentException if the table is incorrect.
+     */
+    public boolean addTable(String name, double[] nodes, double[] values, TableInterpolation.Method method) {
+        return addFunction(new TableInterpolation(name, nodes, values, method));
+    }
+
     /**
      * Get added function by its name.
      *
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+import java.util.HashMap;
+import java.util.Map;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.optimizations.OptimizationPass;
+
+/**
+ * Statistics of one optimization pass.
+ *
+ * <p>Part of {@link OptimizationReport}. Rewrites are counted per node of
+ * <i>Abstract Syntax Tree</i>, only accepted rewrites (which lower the cost)
+ * are counted as rewrites. Operations removed (or added) by accepted
+ * rewrites are counted per operation class.</p>
+ */
+public class PassStatistics {
+    private final OptimizationPass pass;
+    private long time;
+    private int runs;
+    private int rewrites;
+    private int rejectedRewrites;
+    private final Map<Class<?>, Long> removedOperations = new HashMap<>();
+
+    protected PassStatistics(OptimizationPass pass) {
+        this.pass = pass;
+    }
+
+    void addTime(long time) {
+        this.time += time;
+        this.runs++;
+    }
+
+    void addRewrite(boolean accepted, ASTExpression before, ASTExpression after) {
+        if (!accepted) {
+            rejectedRewrites++;
+            return;
+        }
+
+        rewrites++;
+        countOperations(before, 1);
+        countOperations(after, -1);
+    }
+
+    private void countOperations(ASTExpression ast, long sign) {
+        if (ast.getClass() == ASTOperation.class) {
+            // N-ary node counts as n - 1 binary operations.
+            long count = Math.max(1, ast.getNumberOfChildren() - 1);
+            removedOperations.merge(((ASTOperation)ast).getOperation().getClass(), sign * count, Long::sum);
+        }
+        for (int i = 0; i < ast.getNumberOfChildren(); i++)
+            countOperations(ast.getChild(i), sign);
+    }
+
+    /**
+     * Get optimization pass.
+     *
+     * @return Optimization pass.
+     */
+    public OptimizationPass getPass() {
+        return pass;
+    }
+
+    /**
+     * Get name of the optimization pass.
+     *
+     * @return Simple name of the pass class.
+     */
+    public String getName() {
+        return pass.getClass().getSimpleName();
+    }
+
+    /**
+     * Get time spent in the pass.
+     *
+     * @return Time in nanoseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Get number of runs of the pass over the whole expression.
+     *
+     * @return Number of runs.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Get number of accepted rewrites.
+     *
+     * @return Number of accepted rewrites.
+     */
+    public int getRewrites() {
+        return rewrites;
+    }
+
+    /**
+     * Get number of rewrites rejected by the cost model.
+     *
+     * @return Number of rejected rewrites.
+     */
+    public int getRejectedRewrites() {
+        return rejectedRewrites;
+    }
+
+    /**
+     * Get number of operations of the given class removed by accepted
+     * rewrites, e.g. multiplications removed by factorization. N-ary nodes
+     * count as n - 1 binary operations.
+     *
+     * @param operation Operation class.
+     * @return Number of removed operations, negative if operations were
+     * added.
+     */
+    public long getRemovedOperations(Class<? extends Operation> operation) {
+        return removedOperations.getOrDefault(operation, 0L);
+    }
+
+    @Override
+    public String toString() {
+        return getName() + ": " + rewrites + " rewrites (" + rejectedRewrites + " rejected), " +
+            runs + " runs, " + time / 1000 + " us";
+    }
+}
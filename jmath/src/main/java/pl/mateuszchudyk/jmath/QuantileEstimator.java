@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile estimator.
+ *
+ * <p>It estimates a quantile (e.g. median for <i>p = 0.5</i>) of a stream of
+ * values in constant memory using the P&sup2; algorithm (R. Jain, I.
+ * Chlamtac, 1985). Only five markers are stored: minimum, maximum, the
+ * estimated quantile and two markers around it, which are moved with
+ * piecewise-parabolic prediction as values are added.</p>
+ *
+ * <p>Until five values are added, the quantile is exact (linear
+ * interpolation between the nearest sorted values). NaN values are
+ * ignored. The estimator is not thread-safe.</p>
+ *
+ * <p>It's used by the {@link pl.mateuszchudyk.jmath.aggregates.Quantile}
+ * aggregate.</p>
+ */
+public class QuantileEstimator {
+    private static final int MARKERS = 5;
+
+    private final double p;
+    private final double[] heights;
+    private final double[] positions;
+    private final double[] desired;
+    private final double[] increments;
+    private long count;
+
+    /**
+     * Constructor.
+     *
+     * @param p Quantile to estimate, from [0, 1], e.g. 0.5 for median.
+     */
+    public QuantileEstimator(double p) {
+        if (!(p >= 0 && p <= 1))
+            throw new IllegalArgumentException("Quantile " + p + " is not in [0, 1]!");
+
+        this.p = p;
+        this.heights = new double[MARKERS];
+        this.positions = new double[] { 1, 2, 3, 4, 5 };
+        this.desired = new double[] { 1, 1 + 2 * p, 1 + 4 * p, 3 + 2 * p, 5 };
+        this.increments = new double[] { 0, p / 2, p, (1 + p) / 2, 1 };
+        this.count = 0;
+    }
+
+    /**
+     * Get estimated quantile.
+     *
+     * @return Quantile (from [0, 1]).
+     */
+    public double getP() {
+        return p;
+    }
+
+    /**
+     * Get number of added values.
+     *
+     * @return Number of values (without NaNs).
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Add value.
+     *
+     * @param value Value from the stream.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value))
+            return;
+
+        if (count < MARKERS) {
+            heights[(int)count++] = value;
+            if (count == MARKERS)
+                Arrays.sort(heights);
+            return;
+        }
+        count++;
+
+        // Find cell of the value and update extreme markers.
+        int cell;
+        if (value < heights[0]) {
+            heights[0] = value;
+            cell = 0;
+        }
+        else if (value >= heights[MARKERS - 1]) {
+            heights[MARKERS - 1] = value;
+            cell = MARKERS - 2;
+        }
+        else {
+            cell = 0;
+            while (value >= heights[cell + 1])
+                cell++;
+        }
+
+        for (int i = cell + 1; i < MARKERS; i++)
+            positions[i]++;
+        for (int i = 0; i < MARKERS; i++)
+            desired[i] += increments[i];
+
+        // Adjust middle markers if they are too far from desired positions.
+        for (int i = 1; i < MARKERS - 1; i++) {
+            double d = desired[i] - positions[i];
+            if ((d >= 1 && positions[i + 1] - positions[i] > 1) ||
+                (d <= -1 && positions[i - 1] - positions[i] < -1))
+            {
+                int sign = (d > 0 ? 1 : -1);
+                double height = parabolic(i, sign);
+                if (!(heights[i - 1] < height && height < heights[i + 1]))
+                    height = linear(i, sign);
+                heights[i] = height;
+                positions[i] += sign;
+            }
+        }
+    }
+
+    /**
+     * Get estimated quantile of added values.
+     *
+     * @return Quantile or NaN if no values were added.
+     */
+    public double getQuantile() {
+        if (count == 0)
+            return Double.NaN;
+        if (count >= MARKERS)
+            return (p == 0 ? heights[0] : p == 1 ? heights[MARKERS - 1] : heights[2]);
+
+        double[] sorted = Arrays.copyOf(heights, (int)count);
+        Arrays.sort(sorted);
+        double position = p * (count - 1);
+        int index = (int)Math.floor(position);
+        if (index + 1 >= count)
+            return sorted[index];
+        return sorted[index] + (position - index) * (sorted[index + 1] - sorted[index]);
+    }
+
+    private double parabolic(int i, int sign) {
+        double nPrev = positions[i - 1], n = positions[i], nNext = positions[i + 1];
+        double qPrev = heights[i - 1], q = heights[i], qNext = heights[i + 1];
+        return q + sign / (nNext - nPrev) *
+            ((n - nPrev + sign) * (qNext - q) / (nNext - n) +
+             (nNext - n - sign) * (q - qPrev) / (n - nPrev));
+    }
+
+    private double linear(int i, int sign) {
+        return heights[i] + sign * (heights[i + sign] - heights[i]) / (positions[i + sign] - positions[i]);
+    }
+}
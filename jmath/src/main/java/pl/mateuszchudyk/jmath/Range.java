@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+/**
+ * Range of values.
+ *
+ * <p>It represents closed interval <i>[min, max]</i>. Infinite bounds are
+ * allowed, so <i>(-inf, +inf)</i> means any value. Open bounds can be
+ * expressed by the nearest double, e.g. <i>(0, +inf)</i> is the same as
+ * <i>[Double.MIN_VALUE, +inf]</i>.</p>
+ */
+public class Range {
+    /**
+     * Range containing all values.
+     */
+    public static final Range ALL = new Range(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private final double min;
+    private final double max;
+
+    /**
+     * Constructor.
+     *
+     * @param min Lower bound (inclusive).
+     * @param max Upper bound (inclusive).
+     */
+    public Range(double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max) || min > max)
+            throw new IllegalArgumentException("Invalid range [" + min + ", " + max + "]!");
+
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Get lower bound.
+     *
+     * @return Lower bound (inclusive).
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Get upper bound.
+     *
+     * @return Upper bound (inclusive).
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Check if the range contains the value.
+     *
+     * @param value Value to check.
+     * @return True if the value is inside the range.
+     */
+    public boolean contains(double value) {
+        return min <= value && value <= max;
+    }
+
+    /**
+     * Check if the range contains the other range.
+     *
+     * @param range Range to check.
+     * @return True if the other range is inside the range.
+     */
+    public boolean contains(Range range) {
+        return min <= range.min && range.max <= max;
+    }
+
+    /**
+     * Check if the range contains exactly one value.
+     *
+     * @return True if lower and upper bounds are equal.
+     */
+    public boolean isPoint() {
+        return min == max;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + min + ", " + max + "]";
+    }
+}
@@ -27,19 +27,36 @@ package pl.mateuszchudyk.jmath;
 /**
  * Represents variable.
  *
- * <p>Variable has only a name. Its value is set independent for each
- * {@link Expression}.</p>
+ * <p>Variable has a name and optionally a range of values. Its value is set
+ * independent for each {@link Expression}.</p>
+ *
+ * <p>The range is a promise that the variable takes values only from the
+ * range (and is never NaN). Optimizer uses it to remove redundant operations
+ * and domain checks, so evaluation with a value outside the range gives
+ * unspecified result.</p>
  */
 public class Variable {
     private final String name;
+    private final Range range;
 
     /**
-     * Constructor.
+     * Constructor. Variable can take any value.
      *
      * @param name Variable name.
      */
     public Variable(String name) {
+        this(name, Range.ALL);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name Variable name.
+     * @param range Range of variable values.
+     */
+    public Variable(String name, Range range) {
         this.name = name;
+        this.range = (range == null ? Range.ALL : range);
     }
 
     /**
@@ -50,4 +67,13 @@ public class Variable {
     public String getName() {
         return name;
     }
+
+    /**
+     * Get range of variable values.
+     *
+     * @return Range of variable values.
+     */
+    public Range getRange() {
+        return range;
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+/**
+ * Accumulator interface.
+ *
+ * <p>Accumulator keeps a state of an aggregate (e.g. sum and number of values
+ * for mean) for values added so far. States of accumulators created by the
+ * same aggregate can be merged, so values can be accumulated in parallel in
+ * many accumulators and merged at the end.</p>
+ *
+ * <p>Accumulators are not thread-safe.</p>
+ */
+public interface Accumulator {
+    /**
+     * Add value.
+     *
+     * @param value Value to be added.
+     */
+    public void add(double value);
+
+    /**
+     * Merge state of the other accumulator into this one. The result is the
+     * same as if all values added to the other accumulator were added to this
+     * one.
+     *
+     * @param other Accumulator created by the same aggregate.
+     */
+    public void merge(Accumulator other);
+
+    /**
+     * Get result of the aggregate for all added values.
+     *
+     * @return Result, NaN if it's undefined (e.g. mean of no values).
+     */
+    public double getResult();
+}
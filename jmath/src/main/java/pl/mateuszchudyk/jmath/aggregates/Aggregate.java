@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+/**
+ * Aggregate interface.
+ *
+ * <p>Aggregate reduces many values to one (e.g. sum or mean). It creates
+ * {@link Accumulator}s which keep the state of the reduction.</p>
+ *
+ * <p>Built-in aggregates: Count, Maximum, Mean, Minimum, Quantile,
+ * StandardDeviation, Sum, Variance.</p>
+ */
+public interface Aggregate {
+    /**
+     * Get aggregate name.
+     *
+     * @return Aggregate name.
+     */
+    public String getName();
+
+    /**
+     * Create empty accumulator.
+     *
+     * @return Accumulator without any values.
+     */
+    public Accumulator createAccumulator();
+
+    /**
+     * Check if accumulators can be merged.
+     *
+     * <p>If not, all values are added to one accumulator sequentially (see
+     * {@link pl.mateuszchudyk.jmath.Expression#aggregate(java.util.Map, Aggregate, boolean)}).</p>
+     *
+     * @return True if accumulators can be merged.
+     */
+    public default boolean isMergeable() {
+        return true;
+    }
+}
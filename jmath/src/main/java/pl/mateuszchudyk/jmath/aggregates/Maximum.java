@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+/**
+ * Maximum. The largest value.
+ *
+ * <p>The result is NaN if any value is NaN or no values were added.</p>
+ */
+public class Maximum implements Aggregate {
+    @Override
+    public String getName() {
+        return "max";
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new MaximumAccumulator();
+    }
+
+    private static class MaximumAccumulator implements Accumulator {
+        private double max = Double.NEGATIVE_INFINITY;
+        private boolean empty = true;
+
+        @Override
+        public void add(double value) {
+            max = Math.max(max, value);
+            empty = false;
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            MaximumAccumulator maximumAccumulator = (MaximumAccumulator)other;
+            if (!maximumAccumulator.empty)
+                add(maximumAccumulator.max);
+        }
+
+        @Override
+        public double getResult() {
+            return empty ? Double.NaN : max;
+        }
+    }
+}
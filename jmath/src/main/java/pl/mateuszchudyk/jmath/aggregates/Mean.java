@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+/**
+ * Mean. Arithmetic mean of values.
+ *
+ * <p>Values are summed with compensated summation (see {@link Sum}).</p>
+ */
+public class Mean implements Aggregate {
+    private static final Sum SUM = new Sum();
+
+    @Override
+    public String getName() {
+        return "mean";
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new MeanAccumulator();
+    }
+
+    private static class MeanAccumulator implements Accumulator {
+        private final Accumulator sum = SUM.createAccumulator();
+        private long count;
+
+        @Override
+        public void add(double value) {
+            sum.add(value);
+            count++;
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            MeanAccumulator meanAccumulator = (MeanAccumulator)other;
+            sum.merge(meanAccumulator.sum);
+            count += meanAccumulator.count;
+        }
+
+        @Override
+        public double getResult() {
+            return count == 0 ? Double.NaN : sum.getResult() / count;
+        }
+    }
+}
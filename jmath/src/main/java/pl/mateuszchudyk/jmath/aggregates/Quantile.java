@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+import pl.mateuszchudyk.jmath.QuantileEstimator;
+
+/**
+ * Quantile. Estimated p-quantile of values, e.g. median for <i>p = 0.5</i>.
+ *
+ * <p>Values are added to a {@link QuantileEstimator}, so memory is constant
+ * and the result is exact only for less than five values. NaN values are
+ * ignored, the result is NaN if no values were added.</p>
+ *
+ * <p>The estimator state can't be merged, so the aggregate isn't mergeable
+ * (see {@link Aggregate#isMergeable()}) and its accumulators accept only
+ * merging of empty accumulators.</p>
+ */
+public class Quantile implements Aggregate {
+    private final double p;
+
+    /**
+     * Constructor.
+     *
+     * @param p Quantile, from [0, 1], e.g. 0.5 for median.
+     */
+    public Quantile(double p) {
+        if (!(p >= 0 && p <= 1))
+            throw new IllegalArgumentException("Quantile " + p + " is not in [0, 1]!");
+
+        this.p = p;
+    }
+
+    /**
+     * Get quantile.
+     *
+     * @return Quantile (from [0, 1]).
+     */
+    public double getP() {
+        return p;
+    }
+
+    @Override
+    public String getName() {
+        return "quantile";
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new QuantileAccumulator(p);
+    }
+
+    @Override
+    public boolean isMergeable() {
+        return false;
+    }
+
+    private static class QuantileAccumulator implements Accumulator {
+        private final QuantileEstimator estimator;
+
+        QuantileAccumulator(double p) {
+            estimator = new QuantileEstimator(p);
+        }
+
+        @Override
+        public void add(double value) {
+            estimator.add(value);
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            if (((QuantileAccumulator)other).estimator.getCount() > 0)
+                throw new UnsupportedOperationException("Quantile accumulators cannot be merged!");
+        }
+
+        @Override
+        public double getResult() {
+            return estimator.getQuantile();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+/**
+ * Sum. Sum of values.
+ *
+ * <p>Values are added with Neumaier's compensated summation, so the rounding
+ * error doesn't grow with the number of values. Once the sum is infinite
+ * or NaN, the compensation is no longer updated and the plain sum is the
+ * result.</p>
+ */
+public class Sum implements Aggregate {
+    @Override
+    public String getName() {
+        return "sum";
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new SumAccumulator();
+    }
+
+    private static class SumAccumulator implements Accumulator {
+        private double sum;
+        private double compensation;
+
+        @Override
+        public void add(double value) {
+            double temp = sum + value;
+            // Compensation of infinite or NaN sum would be NaN.
+            if (Double.isFinite(temp)) {
+                if (Math.abs(sum) >= Math.abs(value))
+                    compensation += (sum - temp) + value;
+                else
+                    compensation += (value - temp) + sum;
+            }
+            sum = temp;
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            SumAccumulator sumAccumulator = (SumAccumulator)other;
+            add(sumAccumulator.sum);
+            if (Double.isFinite(sum))
+                compensation += sumAccumulator.compensation;
+        }
+
+        @Override
+        public double getResult() {
+            return Double.isFinite(sum) ? sum + compensation : sum;
+        }
+    }
+}
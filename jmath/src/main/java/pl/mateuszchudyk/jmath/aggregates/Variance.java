@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+/**
+ * Variance. Population variance of values.
+ *
+ * <p>It is computed in one pass with Welford's algorithm, states are merged
+ * with Chan's formula, so it is numerically stable without keeping the
+ * values.</p>
+ */
+public class Variance implements Aggregate {
+    @Override
+    public String getName() {
+        return "variance";
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new VarianceAccumulator(false);
+    }
+
+    /**
+     * Welford's accumulator, used also by {@link StandardDeviation}.
+     */
+    static class VarianceAccumulator implements Accumulator {
+        private final boolean squareRoot;
+        private long count;
+        private double mean;
+        private double squares;
+
+        VarianceAccumulator(boolean squareRoot) {
+            this.squareRoot = squareRoot;
+        }
+
+        @Override
+        public void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            squares += delta * (value - mean);
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            VarianceAccumulator varianceAccumulator = (VarianceAccumulator)other;
+            if (varianceAccumulator.count == 0)
+                return;
+            if (count == 0) {
+                count = varianceAccumulator.count;
+                mean = varianceAccumulator.mean;
+                squares = varianceAccumulator.squares;
+                return;
+            }
+
+            long total = count + varianceAccumulator.count;
+            double delta = varianceAccumulator.mean - mean;
+            mean += delta * varianceAccumulator.count / total;
+            squares += varianceAccumulator.squares + delta * delta * ((double)count * varianceAccumulator.count / total);
+            count = total;
+        }
+
+        @Override
+        public double getResult() {
+            if (count == 0)
+                return Double.NaN;
+
+            double variance = squares / count;
+            return squareRoot ? Math.sqrt(variance) : variance;
+        }
+    }
+}
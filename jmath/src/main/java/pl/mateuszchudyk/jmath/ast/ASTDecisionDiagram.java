@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.ast;
+
+import java.util.Map;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Decision diagram in <i>Abstract Syntax Tree</i>.
+ *
+ * <p>It represents a logical expression as a reduced ordered binary decision
+ * diagram over atoms (sub-expressions which are not logical operators, e.g.
+ * comparisons). Each node tests one atom (TRUE if its value is at least 1)
+ * and goes to the next node or to a terminal, so atoms are evaluated lazily
+ * and each atom is evaluated at most once per evaluation.</p>
+ *
+ * <p>Nodes are numbered from 0, terminals are {@link #FALSE} and
+ * {@link #TRUE}. The result is 1 for TRUE and 0 for FALSE.</p>
+ */
+public class ASTDecisionDiagram implements ASTExpression {
+    /**
+     * FALSE terminal.
+     */
+    public static final int FALSE = -1;
+
+    /**
+     * TRUE terminal.
+     */
+    public static final int TRUE = -2;
+
+    private final ASTExpression[] atoms;
+    private final int[] tests;
+    private final int[] low;
+    private final int[] high;
+    private final int root;
+
+    /**
+     * Constructor.
+     *
+     * @param atoms Atoms tested in nodes.
+     * @param tests Index of the atom tested in each node.
+     * @param low Next node (or terminal) for each node if the atom is FALSE.
+     * @param high Next node (or terminal) for each node if the atom is TRUE.
+     * @param root First node (or terminal).
+     */
+    public ASTDecisionDiagram(ASTExpression[] atoms, int[] tests, int[] low, int[] high, int root) {
+        this.atoms = atoms.clone();
+        this.tests = tests.clone();
+        this.low = low.clone();
+        this.high = high.clone();
+        this.root = root;
+    }
+
+    @Override
+    public Double evaluate(Map<String, Double> substitutions) throws EvaluationException {
+        int node = root;
+        while (node >= 0)
+            node = (atoms[tests[node]].evaluate(substitutions) >= 1 ? high[node] : low[node]);
+
+        return node == TRUE ? 1.0 : 0.0;
+    }
+
+    @Override
+    public int getNumberOfChildren() {
+        return atoms.length;
+    }
+
+    @Override
+    public ASTExpression getChild(int i) {
+        return i >= 0 && i < atoms.length ? atoms[i] : null;
+    }
+
+    @Override
+    public ASTExpression copy(ASTExpression[] children) {
+        return new ASTDecisionDiagram(children, tests, low, high, root);
+    }
+
+    @Override
+    public String toString() {
+        String result = "[DecisionDiagram] root: " + toString(root);
+        for (int i = 0; i < tests.length; i++)
+            result += ", " + toString(i) + ": atom" + tests[i] + " ? " + toString(high[i]) + " : " + toString(low[i]);
+
+        for (int i = 0; i < atoms.length; i++)
+            result += ("\n" + atoms[i].toString()).replaceAll("\n", "\n   ");
+
+        return result;
+    }
+
+    private String toString(int node) {
+        if (node == TRUE)
+            return "true";
+        else if (node == FALSE)
+            return "false";
+        else
+            return "n" + node;
+    }
+
+    /**
+     * Get number of nodes (without terminals).
+     *
+     * @return Number of nodes.
+     */
+    public int getNumberOfNodes() {
+        return tests.length;
+    }
+
+    /**
+     * Get first node.
+     *
+     * @return First node or terminal.
+     */
+    public int getRoot() {
+        return root;
+    }
+
+    /**
+     * Get index of the atom tested in the node.
+     *
+     * @param node Node.
+     * @return Atom index.
+     */
+    public int getTest(int node) {
+        return tests[node];
+    }
+
+    /**
+     * Get next node if the atom is FALSE.
+     *
+     * @param node Node.
+     * @return Next node or terminal.
+     */
+    public int getLow(int node) {
+        return low[node];
+    }
+
+    /**
+     * Get next node if the atom is TRUE.
+     *
+     * @param node Node.
+     * @return Next node or terminal.
+     */
+    public int getHigh(int node) {
+        return high[node];
+    }
+}
@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.ast;
 
+import java.util.HashMap;
 import java.util.Map;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 
@@ -40,6 +41,61 @@ public interface ASTExpression {
      */
     Double evaluate(Map<String, Double> substitutions) throws EvaluationException;
 
+    /**
+     * Evaluate <i>Abstract Syntax Tree</i> for many values of variables.
+     *
+     * <p>By default rows are evaluated one by one. Nodes which can work on
+     * whole columns at once (e.g. {@link ASTPolynomial}) override it.</p>
+     *
+     * @param columns Values of variables, i-th row consists of i-th values
+     * of all columns.
+     * @param substitutions Values of variables without columns.
+     * @param rows Number of rows.
+     * @return Evaluation results, one per row.
+     * @throws EvaluationException
+     */
+    default double[] evaluateBatch(Map<String, double[]> columns, Map<String, Double> substitutions, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        HashMap<String, Double> row = new HashMap<>(substitutions);
+        for (int i = 0; i < rows; i++) {
+            for (Map.Entry<String, double[]> column : columns.entrySet())
+                row.put(column.getKey(), column.getValue()[i]);
+            result[i] = evaluate(row);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get number of sub-expressions.
+     *
+     * @return Number of sub-expressions.
+     */
+    default int getNumberOfChildren() {
+        return 0;
+    }
+
+    /**
+     * Get i-th sub-expression.
+     *
+     * @param i Sub-expression index.
+     * @return i-th sub-expression or null if there is no such sub-expression.
+     */
+    default ASTExpression getChild(int i) {
+        return null;
+    }
+
+    /**
+     * Create a copy of the node with the given sub-expressions.
+     *
+     * @param children New sub-expressions, their number has to be equal to
+     * {@link #getNumberOfChildren()}.
+     * @return Copy of the node.
+     */
+    default ASTExpression copy(ASTExpression[] children) {
+        return this;
+    }
+
     /**
      * Convert <i>Abstract Syntax Tree</i> to string.
      *
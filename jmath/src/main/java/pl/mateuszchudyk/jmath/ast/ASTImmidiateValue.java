@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.ast;
 
+import java.util.Arrays;
 import java.util.Map;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 
@@ -45,6 +46,13 @@ public class ASTImmidiateValue implements ASTExpression {
         return value;
     }
 
+    @Override
+    public double[] evaluateBatch(Map<String, double[]> columns, Map<String, Double> substitutions, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        Arrays.fill(result, evaluate(substitutions));
+        return result;
+    }
+
     @Override
     public String toString() {
         return "[ImmidiateValue] " + value;
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.ast;
+
+import java.util.Map;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.functions.LagrangePolynomial;
+
+/**
+ * Lagrange interpolation polynomial with constant points in <i>Abstract
+ * Syntax Tree</i>.
+ *
+ * <p>It evaluates the polynomial going through points (x_0, y_0), ...,
+ * (x_n, y_n), where only the point x in which it is evaluated is an
+ * <i>Abstract Syntax Tree</i>. Barycentric weights are computed once in
+ * the constructor, so each evaluation costs O(n) instead of O(n^2) (see
+ * {@link LagrangePolynomial#interpolate(double, double[], double[], double[])}).</p>
+ */
+public class ASTLagrangePolynomial implements ASTExpression {
+    private final ASTExpression argument;
+    private final double[] nodes;
+    private final double[] values;
+    private final double[] weights;
+
+    /**
+     * Constructor.
+     *
+     * @param argument Point x in which polynomial is evaluated.
+     * @param nodes Interpolation nodes x_0, ..., x_n (at least one).
+     * @param values Values y_0, ..., y_n in the nodes.
+     */
+    public ASTLagrangePolynomial(ASTExpression argument, double[] nodes, double[] values) {
+        this.argument = argument;
+        this.nodes = nodes.clone();
+        this.values = values.clone();
+        this.weights = LagrangePolynomial.getWeights(this.nodes);
+    }
+
+    @Override
+    public Double evaluate(Map<String, Double> substitutions) throws EvaluationException {
+        return LagrangePolynomial.interpolate(argument.evaluate(substitutions), nodes, values, weights);
+    }
+
+    @Override
+    public int getNumberOfChildren() {
+        return 1;
+    }
+
+    @Override
+    public ASTExpression getChild(int i) {
+        return i == 0 ? argument : null;
+    }
+
+    @Override
+    public ASTExpression copy(ASTExpression[] children) {
+        return new ASTLagrangePolynomial(children[0], nodes, values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder points = new StringBuilder();
+        for (int i = 0; i < nodes.length; i++)
+            points.append(i == 0 ? "" : ", ").append("(").append(nodes[i]).append(", ").append(values[i]).append(")");
+
+        return "[Lagrange] [" + points + "]" +
+            ("\n" + argument.toString()).replaceAll("\n", "\n   ");
+    }
+
+    /**
+     * Get point in which polynomial is evaluated.
+     *
+     * @return Argument as <i>Abstract Syntax Tree</i>.
+     */
+    public ASTExpression getArgument() {
+        return argument;
+    }
+
+    /**
+     * Get interpolation nodes x_0, ..., x_n.
+     *
+     * @return Copy of the nodes.
+     */
+    public double[] getNodes() {
+        return nodes.clone();
+    }
+
+    /**
+     * Get values y_0, ..., y_n in the nodes.
+     *
+     * @return Copy of the values.
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * Get number of interpolation points.
+     *
+     * @return Number of points.
+     */
+    public int getNumberOfPoints() {
+        return nodes.length;
+    }
+}
@@ -27,6 +27,7 @@ package pl.mateuszchudyk.jmath.ast;
 import java.util.Map;
 import pl.mateuszchudyk.jmath.Operation;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.functions.BatchFunction;
 import pl.mateuszchudyk.jmath.functions.Function;
 import pl.mateuszchudyk.jmath.operators.Operator;
 import pl.mateuszchudyk.jmath.operators.OperatorType;
@@ -56,6 +57,33 @@ public class ASTOperation implements ASTExpression {
         return value;
     }
 
+    @Override
+    public double[] evaluateBatch(Map<String, double[]> columns, Map<String, Double> substitutions, int rows) throws EvaluationException {
+        if (!(operation instanceof BatchFunction))
+            return ASTExpression.super.evaluateBatch(columns, substitutions, rows);
+
+        double[][] evaluatedArguments = new double[arguments.length][];
+        for (int i = 0; i < arguments.length; i++)
+            evaluatedArguments[i] = arguments[i].evaluateBatch(columns, substitutions, rows);
+
+        return ((BatchFunction)operation).evaluateBatch(evaluatedArguments, rows);
+    }
+
+    @Override
+    public int getNumberOfChildren() {
+        return getNumberOfArguments();
+    }
+
+    @Override
+    public ASTExpression getChild(int i) {
+        return getArgument(i);
+    }
+
+    @Override
+    public ASTExpression copy(ASTExpression[] children) {
+        return new ASTOperation(operation, children);
+    }
+
     @Override
     public String toString() {
         String result = "";
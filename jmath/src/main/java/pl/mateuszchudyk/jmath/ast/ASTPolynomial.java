@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.ast;
+
+import java.util.Arrays;
+import java.util.Map;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Polynomial with constant coefficients in <i>Abstract Syntax Tree</i>.
+ *
+ * <p>It evaluates a0 + a1 * x + a2 * x^2 + ... + an * x^n, where only x is an
+ * <i>Abstract Syntax Tree</i>. Coefficients are stored as a primitive array.
+ * Low degree polynomials are evaluated with Horner's scheme, high degree ones
+ * with Estrin's scheme which has shorter dependency chains.</p>
+ *
+ * <p>In batch evaluation Horner's scheme is applied to the whole column of
+ * arguments at once, one coefficient at a time, so the inner loop is a
+ * simple loop over primitive arrays which can be vectorized.</p>
+ */
+public class ASTPolynomial implements ASTExpression {
+    /**
+     * The lowest degree evaluated with Estrin's scheme.
+     */
+    public static final int ESTRIN_THRESHOLD = 8;
+
+    private final ASTExpression argument;
+    private final double[] coefficients;
+
+    /**
+     * Constructor.
+     *
+     * @param argument Point x in which polynomial is evaluated.
+     * @param coefficients Coefficients a0, a1, ..., an (at least one).
+     */
+    public ASTPolynomial(ASTExpression argument, double[] coefficients) {
+        this.argument = argument;
+        this.coefficients = coefficients.clone();
+    }
+
+    @Override
+    public Double evaluate(Map<String, Double> substitutions) throws EvaluationException {
+        double x = argument.evaluate(substitutions);
+
+        if (getDegree() < ESTRIN_THRESHOLD)
+            return horner(x);
+        else
+            return estrin(x);
+    }
+
+    @Override
+    public double[] evaluateBatch(Map<String, double[]> columns, Map<String, Double> substitutions, int rows) throws EvaluationException {
+        double[] x = argument.evaluateBatch(columns, substitutions, rows);
+        double[] result = new double[rows];
+
+        if (getDegree() < ESTRIN_THRESHOLD) {
+            // Seeded with the leading coefficient, as 0 * x is NaN for
+            // infinite x.
+            Arrays.fill(result, coefficients[coefficients.length-1]);
+            for (int j = coefficients.length-2; j >= 0; j--) {
+                double coefficient = coefficients[j];
+                for (int i = 0; i < rows; i++)
+                    result[i] = result[i] * x[i] + coefficient;
+            }
+        }
+        else {
+            for (int i = 0; i < rows; i++)
+                result[i] = estrin(x[i]);
+        }
+
+        return result;
+    }
+
+    private double horner(double x) {
+        // Seeded with the leading coefficient, as 0 * x is NaN for infinite x.
+        double result = coefficients[coefficients.length-1];
+        for (int i = coefficients.length-2; i >= 0; i--)
+            result = result * x + coefficients[i];
+
+        return result;
+    }
+
+    private double estrin(double x) {
+        double[] temp = coefficients.clone();
+        double power = x;
+
+        // Combine neighbouring terms pairwise: (a0 + a1 x) + (a2 + a3 x) x^2 + ...
+        // Terms with zero coefficients are skipped, as 0 * x is NaN for
+        // infinite x.
+        for (int n = temp.length; n > 1; n = (n + 1) / 2) {
+            for (int i = 0; 2*i < n; i++)
+                temp[i] = (2*i+1 < n && temp[2*i+1] != 0 ? temp[2*i] + temp[2*i+1] * power : temp[2*i]);
+            power *= power;
+        }
+
+        return temp[0];
+    }
+
+    @Override
+    public int getNumberOfChildren() {
+        return 1;
+    }
+
+    @Override
+    public ASTExpression getChild(int i) {
+        return i == 0 ? argument : null;
+    }
+
+    @Override
+    public ASTExpression copy(ASTExpression[] children) {
+        return new ASTPolynomial(children[0], coefficients);
+    }
+
+    @Override
+    public String toString() {
+        return "[Polynomial] " + Arrays.toString(coefficients) +
+            ("\n" + argument.toString()).replaceAll("\n", "\n   ");
+    }
+
+    /**
+     * Get point in which polynomial is evaluated.
+     *
+     * @return Argument as <i>Abstract Syntax Tree</i>.
+     */
+    public ASTExpression getArgument() {
+        return argument;
+    }
+
+    /**
+     * Get coefficients a0, a1, ..., an.
+     *
+     * @return Copy of the coefficients.
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Get polynomial degree.
+     *
+     * @return Polynomial degree.
+     */
+    public int getDegree() {
+        return coefficients.length - 1;
+    }
+}
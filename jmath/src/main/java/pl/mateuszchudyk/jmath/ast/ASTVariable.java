@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.ast;
 
+import java.util.Arrays;
 import java.util.Map;
 import pl.mateuszchudyk.jmath.Variable;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
@@ -48,8 +49,28 @@ public class ASTVariable implements ASTExpression {
         return value;
     }
 
+    @Override
+    public double[] evaluateBatch(Map<String, double[]> columns, Map<String, Double> substitutions, int rows) throws EvaluationException {
+        double[] column = columns.get(variable.getName());
+        if (column != null)
+            return column.clone();
+
+        double[] result = new double[rows];
+        Arrays.fill(result, evaluate(substitutions));
+        return result;
+    }
+
     @Override
     public String toString() {
         return "[Variable] " + variable.getName();
     }
+
+    /**
+     * Get variable.
+     *
+     * @return Variable.
+     */
+    public Variable getVariable() {
+        return variable;
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Function which can be evaluated for whole columns of arguments at once.
+ *
+ * <p>It's used by batch evaluation (see
+ * {@link pl.mateuszchudyk.jmath.Expression#evaluateBatch(java.util.Map)}),
+ * e.g. random functions generate the whole column of random numbers in one
+ * call.</p>
+ */
+public interface BatchFunction extends Function {
+    /**
+     * Evaluate function for many rows of arguments.
+     *
+     * @param args Columns of arguments, i-th row consists of i-th values of
+     * all columns.
+     * @param rows Number of rows.
+     * @return Results, one per row.
+     * @throws EvaluationException
+     */
+    double[] evaluateBatch(double[][] args, int rows) throws EvaluationException;
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+
+/**
+ * Binomial coefficient. It returns the number of k-element subsets of
+ * n-element set.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>binomial(n, k)</td></tr>
+ * <tr><th>Domain</th><td>non-negative integer numbers</td></tr>
+ * </table></p>
+ *
+ * <p>Coefficients for n up to 66 (all which fit in long) are precomputed
+ * from Pascal's triangle, so they are exact up to the final rounding to
+ * double. Larger ones are computed with multiplicative formula.</p>
+ */
+public class BinomialCoefficient implements Function {
+    @Override
+    public String getName() {
+        return "binomial";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Binomial(n, k) = the number of k-element subsets of n-element set, 0 if k > n. Domain n, k: {0, 1, 2, ...}.";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        for (int i = 0; i < 2; i++) {
+            if (!NumberTheory.isInteger(args[i]) || args[i] < 0)
+                throw new OutsideDomainException(this, i+1, args[i], "{0, 1, 2, ...}");
+        }
+
+        long n = args[0].longValue();
+        long k = args[1].longValue();
+        if (k > n)
+            return 0.0;
+
+        k = Math.min(k, n - k);
+        if (n <= NumberTheory.MAX_BINOMIAL_TABLE)
+            return (double)NumberTheory.binomial((int)n, (int)k);
+
+        // Partial results C(n - k + i, i) grow at least twice per step, so
+        // the loop ends after about 1000 steps at most.
+        double result = 1;
+        for (long i = 1; i <= k && result != Double.POSITIVE_INFINITY; i++)
+            result = result * (n - k + i) / i;
+
+        return result;
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 2;
+    }
+}
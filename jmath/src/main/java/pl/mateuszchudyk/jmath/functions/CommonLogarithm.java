@@ -24,6 +24,8 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
+import pl.mateuszchudyk.jmath.MathMode;
+import pl.mateuszchudyk.jmath.Range;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
 
@@ -35,7 +37,37 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Domain</th><td>any positive number</td></tr>
  * </table></p>
  */
-public class CommonLogarithm implements Function {
+public class CommonLogarithm implements DomainCheckedFunction, ElementaryFunction {
+    private final boolean checkDomain;
+    private final MathMode mode;
+
+    /**
+     * Constructor. The domain is checked.
+     */
+    public CommonLogarithm() {
+        this(true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param checkDomain Check if the argument is inside the domain.
+     */
+    public CommonLogarithm(boolean checkDomain) {
+        this(checkDomain, MathMode.Strict);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param checkDomain Check if the argument is inside the domain.
+     * @param mode Math mode.
+     */
+    public CommonLogarithm(boolean checkDomain, MathMode mode) {
+        this.checkDomain = checkDomain;
+        this.mode = mode;
+    }
+
     @Override
     public String getName() {
         return "log10";
@@ -48,14 +80,49 @@ public class CommonLogarithm implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        if (args[0] <= 0)
+        if (checkDomain && args[0] <= 0)
             throw new OutsideDomainException(this, 1, args[0], "(0, +inf)");
 
-        return Math.log10(args[0]);
+        return compute(args[0]);
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            if (checkDomain && args[0][i] <= 0)
+                throw new OutsideDomainException(this, 1, args[0][i], "(0, +inf)");
+            result[i] = compute(args[0][i]);
+        }
+        return result;
     }
 
     @Override
     public boolean checkNumberOfArguments(int numberOfArguments) {
         return numberOfArguments == 1;
     }
+
+    @Override
+    public boolean isInsideDomain(int argument, Range range) {
+        return range.getMin() > 0;
+    }
+
+    @Override
+    public boolean isCheckingDomain() {
+        return checkDomain;
+    }
+
+    @Override
+    public MathMode getMathMode() {
+        return mode;
+    }
+
+    @Override
+    public DomainCheckedFunction withoutDomainCheck() {
+        return new CommonLogarithm(false, mode);
+    }
+
+    private double compute(double x) {
+        return mode == MathMode.Fast ? FastMath.log10(x) : Math.log10(x);
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.Range;
+
+/**
+ * Domain checked function interface.
+ *
+ * <p>Function which checks if its arguments are inside the domain and throws
+ * an exception otherwise. If the optimizer proves that the arguments are
+ * always inside the domain, it replaces the function with the unchecked
+ * version.</p>
+ */
+public interface DomainCheckedFunction extends Function {
+    /**
+     * Check if all values from the range are inside the domain.
+     *
+     * @param argument Argument index (counting from 0).
+     * @param range Range of argument values.
+     * @return True if the whole range is inside the domain.
+     */
+    boolean isInsideDomain(int argument, Range range);
+
+    /**
+     * Check if the function checks the domain.
+     *
+     * @return True if arguments are checked.
+     */
+    boolean isCheckingDomain();
+
+    /**
+     * Get the same function without the domain check.
+     *
+     * @return Function which doesn't check the domain.
+     */
+    DomainCheckedFunction withoutDomainCheck();
+}
@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
+import pl.mateuszchudyk.jmath.MathMode;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 
 /**
@@ -34,7 +35,25 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * <tr><th>Domain</th><td>any number</td></tr>
  * </table></p>
  */
-public class Exponential implements Function {
+public class Exponential implements ElementaryFunction {
+    private final MathMode mode;
+
+    /**
+     * Constructor. Strict math mode is used.
+     */
+    public Exponential() {
+        this(MathMode.Strict);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param mode Math mode.
+     */
+    public Exponential(MathMode mode) {
+        this.mode = mode;
+    }
+
     @Override
     public String getName() {
         return "exp";
@@ -47,11 +66,34 @@ public class Exponential implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        return Math.exp(args[0]);
+        return compute(args[0]);
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        if (mode == MathMode.Fast) {
+            for (int i = 0; i < rows; i++)
+                result[i] = FastMath.exp(args[0][i]);
+        }
+        else {
+            for (int i = 0; i < rows; i++)
+                result[i] = Math.exp(args[0][i]);
+        }
+        return result;
+    }
+
+    @Override
+    public MathMode getMathMode() {
+        return mode;
     }
 
     @Override
     public boolean checkNumberOfArguments(int numberOfArguments) {
         return numberOfArguments == 1;
     }
+
+    private double compute(double x) {
+        return mode == MathMode.Fast ? FastMath.exp(x) : Math.exp(x);
+    }
 }
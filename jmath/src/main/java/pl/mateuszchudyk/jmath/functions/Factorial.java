@@ -24,7 +24,6 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
-import java.util.HashMap;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
 
@@ -35,13 +34,17 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Signature</th><td>factorial(n)</td></tr>
  * <tr><th>Domain</th><td>non-negative integer number</td></tr>
  * </table></p>
+ *
+ * <p>All factorials which fit in double (up to 170!) are precomputed, for
+ * larger numbers the result is infinity.</p>
  */
 public class Factorial implements Function {
-    private HashMap<Integer, Double> lut;
+    /**
+     * The largest n for which n! is finite.
+     */
+    public static final int MAX_FINITE = 170;
 
-    public Factorial() {
-        lut = new HashMap<>();
-    }
+    private static final double[] TABLE = createTable();
 
     @Override
     public String getName() {
@@ -55,24 +58,30 @@ public class Factorial implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        int n = (int)Math.floor(args[0]);
-        if (n != args[0] || n < 0)
+        double n = args[0];
+        if (Math.floor(n) != n || n < 0)
             throw new OutsideDomainException(this, 1, args[0], "{0, 1, 2, ...}");
 
-        if (lut.containsKey(n))
-            return lut.get(n);
-        else {
-            double result = 1;
-            for (int i = 2; i <= n; i++) {
-                result *= i;
-            }
-            lut.put(n, result);
-            return result;
-        }
+        return factorial(n);
     }
 
     @Override
     public boolean checkNumberOfArguments(int numberOfArguments) {
         return numberOfArguments == 1;
     }
+
+    /**
+     * Get n! for non-negative integer n.
+     */
+    static double factorial(double n) {
+        return n > MAX_FINITE ? Double.POSITIVE_INFINITY : TABLE[(int)n];
+    }
+
+    private static double[] createTable() {
+        double[] result = new double[MAX_FINITE + 1];
+        result[0] = 1;
+        for (int i = 1; i <= MAX_FINITE; i++)
+            result[i] = result[i - 1] * i;
+        return result;
+    }
 }
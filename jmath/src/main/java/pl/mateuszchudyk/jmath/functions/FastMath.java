@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+/**
+ * Fast approximations of elementary functions used in
+ * {@link pl.mateuszchudyk.jmath.MathMode#Fast} mode.
+ *
+ * <p>Exponential and logarithm are table-driven (64 and 128 entries) with
+ * short polynomials for the reduced argument, trigonometric functions use
+ * Cody-Waite reduction to [-pi/4, pi/4] and Taylor polynomials, hyperbolic
+ * tangent uses its Taylor series near zero and exponential elsewhere.
+ * Special values (infinities, NaN, very large or subnormal arguments) are
+ * passed to {@link Math}.</p>
+ *
+ * <p>Maximum relative errors are documented in
+ * {@link pl.mateuszchudyk.jmath.MathMode#Fast}, they are dominated by
+ * truncation of the polynomials (e.g. r^13 / 13! for sine).</p>
+ */
+final class FastMath {
+    private static final double LN2_HI = 6.93147180369123816490e-01;
+    private static final double LN2_LO = 1.90821492927058770002e-10;
+    private static final double LN2 = Math.log(2);
+    private static final double INV_LN2 = 1 / LN2;
+    private static final double LN10 = Math.log(10);
+
+    private static final int EXP_TABLE_BITS = 6;
+    private static final int EXP_TABLE_SIZE = 1 << EXP_TABLE_BITS;
+    private static final double ROUND_SHIFT = 0x1.8p52;
+    private static final double[] EXP_TABLE = createExpTable();
+
+    private static final int LOG_TABLE_BITS = 7;
+    private static final int LOG_TABLE_SIZE = 1 << LOG_TABLE_BITS;
+    private static final double[] LOG_TABLE_INVERSE = new double[LOG_TABLE_SIZE];
+    private static final double[] LOG_TABLE_VALUE = new double[LOG_TABLE_SIZE];
+
+    private static final double PIO2_1 = 1.57079632673412561417e+00;
+    private static final double PIO2_2 = 6.07710050630396597660e-11;
+    private static final double PIO2_3 = 2.02226624871116645580e-21;
+    private static final double TWO_OVER_PI = 2 / Math.PI;
+    private static final double MAX_REDUCED = 0x1.0p20;
+    private static final double MIN_REDUCED = 0x1.0p-26;
+
+    private static final double[] TANH = {
+        1.0, -0.3333333333333333, 0.13333333333333333, -0.05396825396825397,
+        0.021869488536155203, -0.008863235529902197, 0.003592128036572481, -0.0014558343870513183,
+        0.000590027440945586, -0.00023912911424355248, 9.691537956929451e-05, -3.927832388331683e-05
+    };
+
+    static {
+        for (int i = 0; i < LOG_TABLE_SIZE; i++) {
+            double center = 1 + (i + 0.5) / LOG_TABLE_SIZE;
+            LOG_TABLE_INVERSE[i] = 1 / center;
+            LOG_TABLE_VALUE[i] = Math.log(center);
+        }
+    }
+
+    private FastMath() {
+    }
+
+    /**
+     * Exponential function.
+     *
+     * <p>x = (64 * k + j) * ln(2) / 64 + r, where |r| &lt;= ln(2) / 128, so
+     * e^x = 2^k * 2^(j/64) * e^r and e^r is approximated by polynomial of
+     * degree 5.</p>
+     */
+    static double exp(double x) {
+        if (!(Math.abs(x) < 700))
+            return Math.exp(x);
+
+        // Round x * 64 / ln(2) to the nearest integer with the shift trick.
+        double shifted = x * (EXP_TABLE_SIZE * INV_LN2) + ROUND_SHIFT;
+        long n = Double.doubleToRawLongBits(shifted) - Double.doubleToRawLongBits(ROUND_SHIFT);
+        double k = shifted - ROUND_SHIFT;
+        double r = (x - k * (LN2_HI / EXP_TABLE_SIZE)) - k * (LN2_LO / EXP_TABLE_SIZE);
+
+        int j = (int)n & (EXP_TABLE_SIZE - 1);
+        long exponent = (n - j) >> EXP_TABLE_BITS;
+        double scale = Double.longBitsToDouble(Double.doubleToRawLongBits(EXP_TABLE[j]) + (exponent << 52));
+
+        double p = r + r * r * (1.0 / 2 + r * (1.0 / 6 + r * (1.0 / 24 + r * (1.0 / 120))));
+        return scale + scale * p;
+    }
+
+    /**
+     * Natural logarithm.
+     *
+     * <p>x = 2^e * m, m is in [1, 2). ln(x) = e * ln(2) + ln(c) + ln(m / c),
+     * where c is the center of one of 128 intervals of [1, 2) and ln(m / c)
+     * is approximated by polynomial of degree 8. Arguments close to 1 use
+     * the series of ln(1 + t) directly.</p>
+     */
+    static double log(double x) {
+        if (!(x >= Double.MIN_NORMAL) || x == Double.POSITIVE_INFINITY)
+            return Math.log(x);
+
+        double t = x - 1;
+        if (Math.abs(t) < 1.0 / 64)
+            return log1p(t);
+
+        long bits = Double.doubleToRawLongBits(x);
+        int exponent = (int)(bits >>> 52) - 1023;
+        int j = (int)(bits >>> (52 - LOG_TABLE_BITS)) & (LOG_TABLE_SIZE - 1);
+        double m = Double.longBitsToDouble((bits & 0x000FFFFFFFFFFFFFL) | 0x3FF0000000000000L);
+
+        double u = m * LOG_TABLE_INVERSE[j] - 1;
+        return (exponent * LN2_HI + LOG_TABLE_VALUE[j]) + (exponent * LN2_LO + log1p(u));
+    }
+
+    /**
+     * Binary logarithm.
+     */
+    static double log2(double x) {
+        return log(x) / LN2;
+    }
+
+    /**
+     * Common logarithm.
+     */
+    static double log10(double x) {
+        return log(x) / LN10;
+    }
+
+    /**
+     * Sine.
+     */
+    static double sin(double x) {
+        if (!(Math.abs(x) < MAX_REDUCED))
+            return Math.sin(x);
+        if (Math.abs(x) < MIN_REDUCED)
+            return x;
+
+        double shifted = x * TWO_OVER_PI + ROUND_SHIFT;
+        double k = shifted - ROUND_SHIFT;
+        return quadrant(reduce(x, k), (int)Double.doubleToRawLongBits(shifted));
+    }
+
+    /**
+     * Cosine.
+     */
+    static double cos(double x) {
+        if (!(Math.abs(x) < MAX_REDUCED))
+            return Math.cos(x);
+
+        double shifted = x * TWO_OVER_PI + ROUND_SHIFT;
+        double k = shifted - ROUND_SHIFT;
+        return quadrant(reduce(x, k), (int)Double.doubleToRawLongBits(shifted) + 1);
+    }
+
+    /**
+     * Tangent.
+     */
+    static double tan(double x) {
+        if (!(Math.abs(x) < MAX_REDUCED))
+            return Math.tan(x);
+        if (Math.abs(x) < MIN_REDUCED)
+            return x;
+
+        double shifted = x * TWO_OVER_PI + ROUND_SHIFT;
+        double k = shifted - ROUND_SHIFT;
+        double r = reduce(x, k);
+        double s = sinKernel(r);
+        double c = cosKernel(r);
+        double odd = Double.doubleToRawLongBits(shifted) & 1;
+        return (s * (1 - odd) - c * odd) / (c * (1 - odd) + s * odd);
+    }
+
+    /**
+     * Hyperbolic tangent.
+     */
+    static double tanh(double x) {
+        double a = Math.abs(x);
+        if (a < 0.5) {
+            double x2 = x * x;
+            double p = TANH[TANH.length - 1];
+            for (int i = TANH.length - 2; i >= 0; i--)
+                p = p * x2 + TANH[i];
+            return x * p;
+        }
+        if (!(a < 20))
+            return Math.tanh(x);
+
+        double result = 1 - 2 / (exp(2 * a) + 1);
+        return x < 0 ? -result : result;
+    }
+
+    private static double log1p(double t) {
+        // t - t^2/2 + t^3/3 - ..., |t| < 1/64
+        double t2 = t * t;
+        return t - t2 * (1.0 / 2 - t * (1.0 / 3 - t * (1.0 / 4 - t * (1.0 / 5 - t * (1.0 / 6 - t * (1.0 / 7 - t * (1.0 / 8)))))));
+    }
+
+    private static double reduce(double x, double k) {
+        return ((x - k * PIO2_1) - k * PIO2_2) - k * PIO2_3;
+    }
+
+    /**
+     * Get sin(r + q * pi/2). Both kernels are computed and the result is
+     * selected with exact multiplications by 0, 1 and -1, so there is no
+     * unpredictable branch.
+     */
+    private static double quadrant(double r, int q) {
+        double odd = q & 1;
+        double sign = 1 - (q & 2);
+        return sign * (sinKernel(r) * (1 - odd) + cosKernel(r) * odd);
+    }
+
+    private static double sinKernel(double r) {
+        // Taylor polynomial of degree 11, |r| <= pi/4
+        double r2 = r * r;
+        return r + r * r2 * (-1.0 / 6 + r2 * (1.0 / 120 + r2 * (-1.0 / 5040 + r2 * (1.0 / 362880 + r2 * (-1.0 / 39916800)))));
+    }
+
+    private static double cosKernel(double r) {
+        // Taylor polynomial of degree 12, |r| <= pi/4
+        double r2 = r * r;
+        return 1 - r2 * (1.0 / 2 - r2 * (1.0 / 24 - r2 * (1.0 / 720 - r2 * (1.0 / 40320 - r2 * (1.0 / 3628800 - r2 * (1.0 / 479001600))))));
+    }
+
+    private static double[] createExpTable() {
+        double[] result = new double[EXP_TABLE_SIZE];
+        for (int i = 0; i < EXP_TABLE_SIZE; i++)
+            result[i] = Math.pow(2, (double)i / EXP_TABLE_SIZE);
+        return result;
+    }
+}
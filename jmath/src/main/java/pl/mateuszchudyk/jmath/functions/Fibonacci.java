@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
+import java.math.BigInteger;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
 
@@ -35,18 +36,18 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Signature</th><td>fib(n)</td></tr>
  * <tr><th>Domain</th><td>non-negative integer number</td></tr>
  * </table></p>
+ *
+ * <p>All elements which fit in double (up to F_1476) are precomputed exactly
+ * and rounded once, for larger n the result is infinity. Exact values for
+ * any n are returned by {@link #exact(long)}.</p>
  */
 public class Fibonacci implements Function {
-    private double[] lut;
-
-    public Fibonacci() {
-        lut = new double[100];
+    /**
+     * The largest n for which F_n is finite.
+     */
+    public static final int MAX_FINITE = 1476;
 
-        lut[0] = 0;
-        lut[1] = 1;
-        for (int i = 2; i < lut.length; i++)
-            lut[i] = lut[i-1] + lut[i-2];
-    }
+    private static final double[] TABLE = createTable();
 
     @Override
     public String getName() {
@@ -60,27 +61,60 @@ public class Fibonacci implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        int n = (int)Math.floor(args[0]);
-        if (n != args[0] || n < 0)
+        double n = args[0];
+        if (Math.floor(n) != n || n < 0)
             throw new OutsideDomainException(this, 1, args[0], "{0, 1, 2, ...}");
 
-        if (n < 100)
-            return lut[n];
-        else {
-            double A = lut[lut.length-2];
-            double B = lut[lut.length-1];
-            double C = 0;
-            for (int i = lut.length; i <= n; i++) {
-                C = A + B;
-                A = B;
-                B = C;
-            }
-            return C;
-        }
+        return n > MAX_FINITE ? Double.POSITIVE_INFINITY : TABLE[(int)n];
     }
 
     @Override
     public boolean checkNumberOfArguments(int numberOfArguments) {
         return numberOfArguments == 1;
     }
+
+    /**
+     * Get exact n-th element of Fibonacci's sequence.
+     *
+     * <p>It uses fast doubling: <i>F_2k = F_k * (2 * F_k+1 - F_k)</i> and
+     * <i>F_2k+1 = F_k^2 + F_k+1^2</i>, so only O(log n) multiplications are
+     * done.</p>
+     *
+     * @param n Index of the element, non-negative.
+     * @return F_n.
+     */
+    public static BigInteger exact(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Index of Fibonacci's sequence element cannot be negative!");
+
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            // (a, b) = (F_k, F_k+1) -> (F_2k, F_2k+1)
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            }
+            else {
+                a = d;
+                b = c.add(d);
+            }
+        }
+        return a;
+    }
+
+    private static double[] createTable() {
+        double[] result = new double[MAX_FINITE + 1];
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int i = 0; i <= MAX_FINITE; i++) {
+            result[i] = a.doubleValue();
+            BigInteger c = a.add(b);
+            a = b;
+            b = c;
+        }
+        return result;
+    }
 }
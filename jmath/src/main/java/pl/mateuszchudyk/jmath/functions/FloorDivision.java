@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+
+/**
+ * Floor division. It returns the largest integer not greater than a / b.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>fdiv(a, b)</td></tr>
+ * <tr><th>Domain</th><td>a: integer number, b: integer number without 0</td></tr>
+ * </table></p>
+ */
+public class FloorDivision implements Function {
+    @Override
+    public String getName() {
+        return "fdiv";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Fdiv(a, b) = the largest integer lower or equal to a / b. Domain a: integer number, b: integer number except 0.";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        if (!NumberTheory.isInteger(args[0]))
+            throw new OutsideDomainException(this, 1, args[0], "integer numbers");
+        if (!NumberTheory.isInteger(args[1]) || args[1] == 0)
+            throw new OutsideDomainException(this, 2, args[1], "integer numbers without 0");
+
+        return (double)Math.floorDiv(args[0].longValue(), args[1].longValue());
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 2;
+    }
+}
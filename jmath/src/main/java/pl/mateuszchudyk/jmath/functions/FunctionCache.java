@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of function results.
+ *
+ * <p>Keys are bits of arguments stored in primitive arrays. The table is
+ * set-associative: each key has a bucket of {@link #WAYS} slots (fewer if
+ * the capacity is smaller) which are probed linearly, so lookups never scan
+ * more than one bucket. If the bucket is full, the least recently used
+ * entry of the bucket is evicted.</p>
+ *
+ * <p>It isn't thread-safe.</p>
+ */
+class FunctionCache {
+    static final int MAX_ARGUMENTS = 4;
+    static final int WAYS = 4;
+
+    private final int ways;
+    private final int buckets;
+    private final long[] keys;
+    private final int[] sizes;
+    private final double[] values;
+    private final long[] used;
+    private long clock;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity Maximum number of entries (positive), rounded down to
+     * a multiple of the bucket size.
+     */
+    FunctionCache(int capacity) {
+        ways = Math.min(WAYS, capacity);
+        buckets = capacity / ways;
+
+        int slots = buckets * ways;
+        keys = new long[slots * MAX_ARGUMENTS];
+        sizes = new int[slots];
+        values = new double[slots];
+        used = new long[slots];
+    }
+
+    /**
+     * Compute hash of the key.
+     *
+     * @param key Bits of arguments.
+     * @param size Number of arguments.
+     * @return Hash.
+     */
+    static long hash(long[] key, int size) {
+        long hash = 0x9E3779B97F4A7C15L * (size + 1);
+        for (int i = 0; i < size; i++) {
+            hash = (hash ^ key[i]) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+        return hash;
+    }
+
+    /**
+     * Find entry.
+     *
+     * @param key Bits of arguments.
+     * @param size Number of arguments.
+     * @param hash Hash of the key.
+     * @return Slot of the entry or -1 if there is no such entry.
+     */
+    int find(long[] key, int size, long hash) {
+        int first = bucket(hash) * ways;
+        for (int slot = first; slot < first + ways; slot++) {
+            if (sizes[slot] == size + 1 && isEqual(slot, key, size)) {
+                used[slot] = ++clock;
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get value of the entry.
+     *
+     * @param slot Slot returned by {@link #find(long[], int, long)}.
+     * @return Cached value.
+     */
+    double get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Add entry, evicting the least recently used entry of the bucket if
+     * needed.
+     *
+     * @param key Bits of arguments.
+     * @param size Number of arguments.
+     * @param hash Hash of the key.
+     * @param value Value.
+     */
+    void put(long[] key, int size, long hash, double value) {
+        int first = bucket(hash) * ways;
+        int victim = first;
+        for (int slot = first; slot < first + ways; slot++) {
+            if (sizes[slot] == 0 || (sizes[slot] == size + 1 && isEqual(slot, key, size))) {
+                victim = slot;
+                break;
+            }
+            if (used[slot] < used[victim])
+                victim = slot;
+        }
+
+        System.arraycopy(key, 0, keys, victim * MAX_ARGUMENTS, size);
+        sizes[victim] = size + 1;
+        values[victim] = value;
+        used[victim] = ++clock;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    void clear() {
+        Arrays.fill(sizes, 0);
+        clock = 0;
+    }
+
+    private int bucket(long hash) {
+        // Multiply-shift maps the hash to any number of buckets without
+        // a division.
+        return (int)((((hash ^ (hash >>> 32)) & 0xFFFFFFFFL) * buckets) >>> 32);
+    }
+
+    private boolean isEqual(int slot, long[] key, int size) {
+        int offset = slot * MAX_ARGUMENTS;
+        for (int i = 0; i < size; i++)
+            if (keys[offset + i] != key[i])
+                return false;
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Fused multiply-add. It evaluates a * b + c with only one rounding.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>fma(a, b, c)</td></tr>
+ * <tr><th>Domain</th><td>any numbers</td></tr>
+ * </table></p>
+ *
+ * <p>On Java 9 or newer <i>Math.fma</i> is used (a single instruction on
+ * most processors). On Java 8 the exact result is computed with
+ * {@link BigDecimal}, which is correct but slow.</p>
+ */
+public class FusedMultiplyAdd implements BatchFunction {
+    private static final MethodHandle MATH_FMA = findMathFma();
+
+    @Override
+    public String getName() {
+        return "fma";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Fma(a, b, c) = a * b + c, rounded once.";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        return fma(args[0], args[1], args[2]);
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        for (int i = 0; i < rows; i++)
+            result[i] = fma(args[0][i], args[1][i], args[2][i]);
+        return result;
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 3;
+    }
+
+    /**
+     * Compute a * b + c with only one rounding.
+     *
+     * @param a Multiplicand.
+     * @param b Multiplier.
+     * @param c Addend.
+     * @return Rounded a * b + c.
+     */
+    public static double fma(double a, double b, double c) {
+        if (MATH_FMA != null) {
+            try {
+                return (double)MATH_FMA.invokeExact(a, b, c);
+            }
+            catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return fmaFallback(a, b, c);
+    }
+
+    /**
+     * Compute a * b + c with only one rounding without <i>Math.fma</i>.
+     */
+    static double fmaFallback(double a, double b, double c) {
+        if (Double.isNaN(a) || Double.isNaN(b) || Double.isInfinite(a) || Double.isInfinite(b))
+            return a * b + c;
+        // The exact product is finite, even if a * b overflows.
+        if (Double.isNaN(c) || Double.isInfinite(c))
+            return c;
+
+        BigDecimal result = new BigDecimal(a).multiply(new BigDecimal(b)).add(new BigDecimal(c));
+        if (result.signum() == 0) {
+            // Sign of zero is the same as of a * b + c, unless it's an exact
+            // cancellation of non-zero numbers.
+            return (a == 0 || b == 0 ? a * b + c : 0.0);
+        }
+        return result.doubleValue();
+    }
+
+    private static MethodHandle findMathFma() {
+        try {
+            MethodType type = MethodType.methodType(double.class, double.class, double.class, double.class);
+            return MethodHandles.publicLookup().findStatic(Math.class, "fma", type);
+        }
+        catch (NoSuchMethodException | IllegalAccessException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+
+/**
+ * Gamma function. Extension of factorial to real numbers:
+ * <i>gamma(n) = (n - 1)!</i>.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>gamma(x)</td></tr>
+ * <tr><th>Domain</th><td>any real number except 0, -1, -2, ...</td></tr>
+ * </table></p>
+ *
+ * <p>For positive integers the result is taken from the factorial table,
+ * otherwise it is computed with Lanczos approximation (relative error about
+ * 1e-15). The result is infinity for x &gt; 171.6.</p>
+ */
+public class Gamma implements Function {
+    private static final double LANCZOS_G = 7;
+    private static final double[] LANCZOS_COEFFICIENTS = {
+        0.99999999999980993,
+        676.5203681218851,
+        -1259.1392167224028,
+        771.32342877765313,
+        -176.61502916214059,
+        12.507343278686905,
+        -0.13857109526572012,
+        9.9843695780195716e-6,
+        1.5056327351493116e-7,
+    };
+    private static final double LOG_SQRT_2PI = 0.5 * Math.log(2 * Math.PI);
+
+    @Override
+    public String getName() {
+        return "gamma";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Gamma(x) = the gamma function, gamma(n) = (n - 1)!. Domain x: any real number except {0, -1, -2, ...}.";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        double x = args[0];
+        if (x <= 0 && Math.floor(x) == x)
+            throw new OutsideDomainException(this, 1, args[0], "R/{0, -1, -2, ...}");
+
+        return gamma(x);
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 1;
+    }
+
+    private static double gamma(double x) {
+        if (Math.floor(x) == x)
+            return Factorial.factorial(x - 1);
+
+        // Reflection formula: gamma(x) * gamma(1 - x) = pi / sin(pi * x).
+        if (x < 0.5)
+            return Math.PI / (Math.sin(Math.PI * x) * gamma(1 - x));
+
+        return Math.exp(lanczos(x));
+    }
+
+    /**
+     * Logarithm of gamma(x) for x &gt;= 0.5, computed with Lanczos
+     * approximation.
+     */
+    static double lanczos(double x) {
+        x -= 1;
+        double sum = LANCZOS_COEFFICIENTS[0];
+        for (int i = 1; i < LANCZOS_COEFFICIENTS.length; i++)
+            sum += LANCZOS_COEFFICIENTS[i] / (x + i);
+
+        double t = x + LANCZOS_G + 0.5;
+        return LOG_SQRT_2PI + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
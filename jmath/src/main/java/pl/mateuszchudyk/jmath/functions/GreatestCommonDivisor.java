@@ -35,6 +35,9 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Arguments number</th><td>at least one</td></tr>
  * <tr><th>Domain</th><td>positive integer numbers</td></tr>
  * </table></p>
+ *
+ * <p>Numbers are integers up to 2^53, they are processed as longs with
+ * binary GCD algorithm.</p>
  */
 public class GreatestCommonDivisor implements Function {
     @Override
@@ -51,28 +54,16 @@ public class GreatestCommonDivisor implements Function {
     public Double evaluate(Double[] args) throws EvaluationException {
         // Check domain
         for (int i = 0; i < args.length; i++) {
-            double arg = args[0];
-            if ((int)Math.floor(arg) != arg || arg < 1)
+            double arg = args[i];
+            if (!NumberTheory.isInteger(arg) || arg < 1)
                 throw new OutsideDomainException(this, i+1, args[i], "{1, 2, ...}");
         }
 
-        long A = (int)Math.floor(args[0]);
-        for (int i = 1; i < args.length; i++) {
-            long B = (long)Math.floor(args[i]);
-            long C = A;
-
-            A = Math.max(C, B);
-            B = Math.min(C, B);
-            while (B != 0) {
-                C = A % B;
-                A = B;
-                B = C;
-            }
+        long result = args[0].longValue();
+        for (int i = 1; i < args.length && result != 1; i++)
+            result = NumberTheory.gcd(result, args[i].longValue());
 
-            if (A == 1)
-                break;
-        }
-        return (double)A;
+        return (double)result;
     }
 
     @Override
@@ -31,6 +31,12 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * given point. First argument is point in which polynomial is evaluated,
  * the rest of arguments is a list of points.
  *
+ * <p>Polynomial is evaluated with barycentric formula. If the points are
+ * constant, {@link pl.mateuszchudyk.jmath.optimizations.PolynomialRewriting}
+ * replaces the function with
+ * {@link pl.mateuszchudyk.jmath.ast.ASTLagrangePolynomial} which computes
+ * barycentric weights only once.</p>
+ *
  * <p><table>
  * <tr><th>Signature</th><td>lagrange(x, x1, y1, ...)</td></tr>
  * <tr><th>Arguments number</th><td>Odd number, at least 3.</td></tr>
@@ -51,23 +57,67 @@ public class LagrangePolynomial implements Function {
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
         int numberOfPoints = (args.length-1)/2;
-        double result = 0;
-        double x = args[0];
-        double a;
-        double b;
+        double[] nodes = new double[numberOfPoints];
+        double[] values = new double[numberOfPoints];
         for (int i = 0; i < numberOfPoints; i++) {
-            a = 1;
-            b = 1;
-            for (int j = 0; j < numberOfPoints; j++) {
-                if (i != j) {
-                    a *= (x - args[1+2*j]);
-                    b *= (args[1+2*i] - args[1+2*j]);
-                }
+            nodes[i] = args[1+2*i];
+            values[i] = args[1+2*i+1];
+        }
+
+        return interpolate(args[0], nodes, values, getWeights(nodes));
+    }
+
+    /**
+     * Compute barycentric weights of interpolation nodes:
+     * w_i = 1 / ((x_i - x_0) ... (x_i - x_n)), without the i-th factor.
+     *
+     * <p>Weights depend only on the nodes, so for constant nodes they can be
+     * computed once (O(n^2)) and reused for many points.</p>
+     *
+     * @param nodes Interpolation nodes x_0, ..., x_n.
+     * @return Barycentric weights.
+     */
+    public static double[] getWeights(double[] nodes) {
+        double[] weights = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            double product = 1;
+            for (int j = 0; j < nodes.length; j++) {
+                if (i != j)
+                    product *= (nodes[i] - nodes[j]);
             }
-            result += a / b * args[1+2*i+1];
+            weights[i] = 1 / product;
+        }
+
+        return weights;
+    }
+
+    /**
+     * Evaluate interpolation polynomial with the second (true) form of
+     * barycentric formula in O(n).
+     *
+     * <p>p(x) = sum(w_i / (x - x_i) * y_i) / sum(w_i / (x - x_i)). The formula
+     * is numerically stable and exact in the nodes.</p>
+     *
+     * @param x Point in which polynomial is evaluated.
+     * @param nodes Interpolation nodes x_0, ..., x_n.
+     * @param values Values y_0, ..., y_n in the nodes.
+     * @param weights Barycentric weights (see {@link #getWeights(double[])}).
+     * @return Value of interpolation polynomial in point x.
+     */
+    public static double interpolate(double x, double[] nodes, double[] values, double[] weights) {
+        double numerator = 0;
+        double denominator = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            double difference = x - nodes[i];
+            if (difference == 0)
+                return values[i];
+
+            double term = weights[i] / difference;
+            numerator += term * values[i];
+            denominator += term;
         }
 
-        return result;
+        return numerator / denominator;
     }
 
     @Override
@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
+import java.math.BigInteger;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
 
@@ -35,6 +36,9 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Arguments number</th><td>at least one</td></tr>
  * <tr><th>Domain</th><td>positive integer numbers</td></tr>
  * </table></p>
+ *
+ * <p>Numbers are integers up to 2^53, they are processed as longs. Only if
+ * the result doesn't fit in long, it's computed with {@link BigInteger}.</p>
  */
 public class LeastCommonMultiple implements Function {
     @Override
@@ -51,17 +55,31 @@ public class LeastCommonMultiple implements Function {
     public Double evaluate(Double[] args) throws EvaluationException {
         // Check domain
         for (int i = 0; i < args.length; i++) {
-            double arg = args[0];
-            if ((int)Math.floor(arg) != arg || arg < 1)
+            double arg = args[i];
+            if (!NumberTheory.isInteger(arg) || arg < 1)
                 throw new OutsideDomainException(this, i+1, args[i], "{1, 2, ...}");
         }
 
-        double gdc = new GreatestCommonDivisor().evaluate(args);
-        double result = gdc;
-        for (int i = 0; i < args.length; i++)
-            result *= args[i] / gdc;
+        long result = args[0].longValue();
+        for (int i = 1; i < args.length; i++) {
+            long arg = args[i].longValue();
+            long multiplier = arg / NumberTheory.gcd(result, arg);
+            if (result > Long.MAX_VALUE / multiplier)
+                return exact(args, i, result);
+            result *= multiplier;
+        }
+
+        return (double)result;
+    }
+
+    private static Double exact(Double[] args, int first, long partial) {
+        BigInteger result = BigInteger.valueOf(partial);
+        for (int i = first; i < args.length; i++) {
+            BigInteger arg = BigInteger.valueOf(args[i].longValue());
+            result = result.divide(result.gcd(arg)).multiply(arg);
+        }
 
-        return result;
+        return result.doubleValue();
     }
 
     @Override
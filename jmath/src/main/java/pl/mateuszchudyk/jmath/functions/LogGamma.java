@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+
+/**
+ * Logarithm of gamma function: <i>lgamma(x) = log(abs(gamma(x)))</i>.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>lgamma(x)</td></tr>
+ * <tr><th>Domain</th><td>any real number except 0, -1, -2, ...</td></tr>
+ * </table></p>
+ *
+ * <p>It doesn't overflow for large arguments, e.g.: <i>lgamma(1001) =
+ * log(1000!)</i>, so it can be used to compute large binomial coefficients
+ * and ratios of factorials.</p>
+ */
+public class LogGamma implements Function {
+    @Override
+    public String getName() {
+        return "lgamma";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Lgamma(x) = the natural logarithm of absolute value of the gamma function. Domain x: any real number except {0, -1, -2, ...}.";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        double x = args[0];
+        if (x <= 0 && Math.floor(x) == x)
+            throw new OutsideDomainException(this, 1, args[0], "R/{0, -1, -2, ...}");
+
+        return logGamma(x);
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 1;
+    }
+
+    private static double logGamma(double x) {
+        if (Math.floor(x) == x && x <= Factorial.MAX_FINITE + 1)
+            return Math.log(Factorial.factorial(x - 1));
+
+        // Reflection formula: gamma(x) * gamma(1 - x) = pi / sin(pi * x).
+        if (x < 0.5)
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+
+        return Gamma.lanczos(x);
+    }
+}
@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
+import pl.mateuszchudyk.jmath.Range;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
 
@@ -36,7 +37,25 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  *                        number.</td></tr>
  * </table></p>
  */
-public class Logarithm implements Function {
+public class Logarithm implements DomainCheckedFunction {
+    private final boolean checkDomain;
+
+    /**
+     * Constructor. The domain is checked.
+     */
+    public Logarithm() {
+        this(true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param checkDomain Check if arguments are inside the domain.
+     */
+    public Logarithm(boolean checkDomain) {
+        this.checkDomain = checkDomain;
+    }
+
     @Override
     public String getName() {
         return "log";
@@ -49,11 +68,13 @@ public class Logarithm implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        if (args[0] <= 0 || args[0] == 1)
-            throw new OutsideDomainException(this, 1, args[0], "(0, +inf)/{1}");
+        if (checkDomain) {
+            if (args[0] <= 0 || args[0] == 1)
+                throw new OutsideDomainException(this, 1, args[0], "(0, +inf)/{1}");
 
-        if (args[1] <= 0 )
-            throw new OutsideDomainException(this, 2, args[1], "(0, +inf)");
+            if (args[1] <= 0 )
+                throw new OutsideDomainException(this, 2, args[1], "(0, +inf)");
+        }
 
         return Math.log(args[1]) / Math.log(args[0]);
     }
@@ -62,4 +83,22 @@ public class Logarithm implements Function {
     public boolean checkNumberOfArguments(int numberOfArguments) {
         return numberOfArguments == 2;
     }
+
+    @Override
+    public boolean isInsideDomain(int argument, Range range) {
+        if (argument == 0)
+            return range.getMin() > 0 && !range.contains(1);
+        else
+            return range.getMin() > 0;
+    }
+
+    @Override
+    public boolean isCheckingDomain() {
+        return checkDomain;
+    }
+
+    @Override
+    public DomainCheckedFunction withoutDomainCheck() {
+        return new Logarithm(false);
+    }
 }
@@ -34,6 +34,9 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * <tr><th>Arguments number</th><td>at least one</td></tr>
  * <tr><th>Domain</th><td>any numbers</td></tr></p>
  * </table>
+ *
+ * <p>NaN is propagated and -0.0 is less than 0.0 (as in <i>Math.max</i>),
+ * so the result doesn't depend on the order of arguments.</p>
  */
 public class Maximum implements Function {
     @Override
@@ -43,7 +46,7 @@ public class Maximum implements Function {
 
     @Override
     public String getDescription() {
-        return "Max(a, ...) = the largest out of the given numbers.";
+        return "Max(a, ...) = the largest out of the given numbers, NaN if any of them is NaN.";
     }
 
     @Override
@@ -51,7 +54,7 @@ public class Maximum implements Function {
         double result = args[0];
 
         for (Double arg : args)
-            result = (result > arg ? result : arg);
+            result = Math.max(result, arg);
 
         return result;
     }
@@ -35,6 +35,11 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * <tr><th>Arguments number</th><td>at least one</td></tr>
  * <tr><th>Domain</th><td>any numbers</td></tr>
  * </table></p>
+ *
+ * <p>Median is found by introselect (quickselect which falls back to sorting
+ * if partitions are unbalanced) in O(n) on average. Arguments are copied, so
+ * the array of arguments is not modified. NaN is greater than any other
+ * number (as in {@link Double#compare(double, double)}).</p>
  */
 public class Median implements Function {
     @Override
@@ -49,16 +54,85 @@ public class Median implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        Arrays.sort(args);
-        
-        if (args.length % 2 == 0)
-            return (args[args.length / 2 - 1] + args[args.length / 2]) / 2;
-        else
-            return args[args.length / 2];
+        double[] values = new double[args.length];
+        for (int i = 0; i < args.length; i++)
+            values[i] = args[i];
+
+        int k = (values.length - 1) / 2;
+        double median = select(values, k);
+        if (values.length % 2 == 1)
+            return median;
+
+        // After selection all elements on the right are not less than k-th.
+        double next = values[k + 1];
+        for (int i = k + 2; i < values.length; i++) {
+            if (Double.compare(values[i], next) < 0)
+                next = values[i];
+        }
+        return (median + next) / 2;
     }
 
     @Override
     public boolean checkNumberOfArguments(int numberOfArguments) {
         return numberOfArguments >= 1;
     }
+
+    /**
+     * Find k-th smallest value. Values are reordered, so that smaller values
+     * are on the left of k and greater ones on the right.
+     */
+    static double select(double[] values, int k) {
+        int left = 0;
+        int right = values.length - 1;
+        int badPartitions = 2 * (32 - Integer.numberOfLeadingZeros(values.length));
+
+        while (right > left) {
+            if (badPartitions == 0) {
+                Arrays.sort(values, left, right + 1);
+                break;
+            }
+
+            int size = right - left;
+            int pivot = partition(values, left, right, medianOfThree(values, left, left + size / 2, right));
+            if (pivot - left > 3 * size / 4 || right - pivot > 3 * size / 4)
+                badPartitions--;
+
+            if (pivot == k)
+                break;
+            else if (pivot < k)
+                left = pivot + 1;
+            else
+                right = pivot - 1;
+        }
+        return values[k];
+    }
+
+    private static int medianOfThree(double[] values, int a, int b, int c) {
+        if (Double.compare(values[a], values[b]) < 0) {
+            if (Double.compare(values[b], values[c]) < 0)
+                return b;
+            return Double.compare(values[a], values[c]) < 0 ? c : a;
+        }
+        if (Double.compare(values[a], values[c]) < 0)
+            return a;
+        return Double.compare(values[b], values[c]) < 0 ? c : b;
+    }
+
+    private static int partition(double[] values, int left, int right, int pivotIndex) {
+        double pivot = values[pivotIndex];
+        swap(values, pivotIndex, right);
+        int store = left;
+        for (int i = left; i < right; i++) {
+            if (Double.compare(values[i], pivot) < 0)
+                swap(values, i, store++);
+        }
+        swap(values, store, right);
+        return store;
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
 }
@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import java.util.concurrent.atomic.LongAdder;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Memoized function.
+ *
+ * <p>It wraps an expensive deterministic function and caches its results, so
+ * calls with repeated arguments are cheap, e.g.:
+ * <i>parser.addFunction(new MemoizedFunction(new MyFunction(), 1024))</i>.
+ * Name, description and number of arguments are the same as of the wrapped
+ * function.</p>
+ *
+ * <p>Results are kept in a bounded open-addressing cache keyed by bits of
+ * arguments. It never holds more results than the capacity (it can hold
+ * slightly fewer, as the capacity is divided into buckets). When it's full,
+ * the least recently used entry with the same hash bucket is evicted. Calls
+ * with more than 4 arguments and calls which throw an exception aren't
+ * cached.</p>
+ *
+ * <p>The cache is shared in one of two ways (see {@link Sharing}): each
+ * thread has its own cache or the cache is split into stripes with separate
+ * locks. Hits and misses are counted in both cases.</p>
+ */
+public class MemoizedFunction implements Function {
+    private static final int MAX_STRIPES = 16;
+
+    private final Function function;
+    private final int capacity;
+    private final Sharing sharing;
+    private final FunctionCache[] stripes;
+    private final ThreadLocal<LocalCache> local;
+    private volatile int generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Way of sharing the cache between threads.
+     */
+    public enum Sharing {
+        /**
+         * Each thread has its own cache of the given capacity. There is no
+         * contention, but results aren't shared between threads.
+         */
+        PerThread,
+
+        /**
+         * One cache split into up to 16 stripes, each guarded by its own
+         * lock.
+         */
+        Striped,
+    }
+
+    /**
+     * Constructor. Cache is striped.
+     *
+     * @param function Deterministic function.
+     * @param capacity Maximum number of cached results.
+     * @throws IllegalArgumentException if the function isn't deterministic.
+     */
+    public MemoizedFunction(Function function, int capacity) {
+        this(function, capacity, Sharing.Striped);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param function Deterministic function.
+     * @param capacity Maximum number of cached results (per thread if the
+     * cache isn't shared).
+     * @param sharing Way of sharing the cache between threads.
+     * @throws IllegalArgumentException if the function isn't deterministic.
+     */
+    public MemoizedFunction(Function function, int capacity, Sharing sharing) {
+        if (!function.isDeterministic())
+            throw new IllegalArgumentException("Function '" + function.getName() + "' is not deterministic and cannot be memoized!");
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive!");
+
+        this.function = function;
+        this.capacity = capacity;
+        this.sharing = sharing;
+
+        if (sharing == Sharing.Striped) {
+            // The capacity is divided between stripes, so there are fewer
+            // stripes for small caches to keep full buckets in each of them.
+            int count = 1;
+            while (count < MAX_STRIPES && count * 2 * FunctionCache.WAYS <= capacity)
+                count <<= 1;
+
+            stripes = new FunctionCache[count];
+            for (int i = 0; i < count; i++)
+                stripes[i] = new FunctionCache(capacity / count);
+            local = null;
+        }
+        else {
+            stripes = null;
+            local = ThreadLocal.withInitial(() -> new LocalCache(capacity));
+        }
+    }
+
+    /**
+     * Get wrapped function.
+     *
+     * @return Wrapped function.
+     */
+    public Function getFunction() {
+        return function;
+    }
+
+    /**
+     * Get maximum number of cached results.
+     *
+     * @return Capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get way of sharing the cache between threads.
+     *
+     * @return Sharing.
+     */
+    public Sharing getSharing() {
+        return sharing;
+    }
+
+    @Override
+    public String getName() {
+        return function.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return function.getDescription();
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return function.checkNumberOfArguments(numberOfArguments);
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        int size = args.length;
+        if (size > FunctionCache.MAX_ARGUMENTS) {
+            misses.increment();
+            return function.evaluate(args);
+        }
+
+        long[] key = new long[size];
+        for (int i = 0; i < size; i++)
+            key[i] = Double.doubleToLongBits(args[i]);
+        long hash = FunctionCache.hash(key, size);
+
+        if (local != null) {
+            FunctionCache cache = getLocalCache();
+            int slot = cache.find(key, size, hash);
+            if (slot >= 0) {
+                hits.increment();
+                return cache.get(slot);
+            }
+
+            misses.increment();
+            Double result = function.evaluate(args);
+            if (result != null)
+                cache.put(key, size, hash, result);
+            return result;
+        }
+
+        FunctionCache stripe = stripes[(int)(hash >>> 60) & (stripes.length - 1)];
+        synchronized (stripe) {
+            int slot = stripe.find(key, size, hash);
+            if (slot >= 0) {
+                hits.increment();
+                return stripe.get(slot);
+            }
+        }
+
+        // The function is evaluated outside the lock, so concurrent misses
+        // of the same arguments can evaluate it more than once.
+        misses.increment();
+        Double result = function.evaluate(args);
+        if (result != null) {
+            synchronized (stripe) {
+                stripe.put(key, size, hash, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get number of calls answered from the cache.
+     *
+     * @return Number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get number of calls which evaluated the wrapped function.
+     *
+     * @return Number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get ratio of hits to all calls.
+     *
+     * @return Hit rate or 0 if there were no calls.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long calls = hits + getMisses();
+        return calls > 0 ? (double)hits / calls : 0;
+    }
+
+    /**
+     * Reset hits and misses counters.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Remove all cached results (of all threads).
+     */
+    public void clear() {
+        if (stripes != null) {
+            for (FunctionCache stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.clear();
+                }
+            }
+        }
+        else {
+            generation++;
+        }
+    }
+
+    private FunctionCache getLocalCache() {
+        LocalCache cache = local.get();
+        int current = generation;
+        if (cache.generation != current) {
+            cache.cache.clear();
+            cache.generation = current;
+        }
+        return cache.cache;
+    }
+
+    /**
+     * Cache of one thread.
+     */
+    private static class LocalCache {
+        final FunctionCache cache;
+        int generation;
+
+        LocalCache(int capacity) {
+            cache = new FunctionCache(capacity);
+        }
+    }
+}
@@ -34,6 +34,9 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * <tr><th>Arguments number</th><td>at least one</td></tr>
  * <tr><th>Domain</th><td>any numbers</td></tr>
  * </table></p>
+ *
+ * <p>NaN is propagated and -0.0 is less than 0.0 (as in <i>Math.min</i>),
+ * so the result doesn't depend on the order of arguments.</p>
  */
 public class Minimum implements Function {
     @Override
@@ -43,7 +46,7 @@ public class Minimum implements Function {
 
     @Override
     public String getDescription() {
-        return "Min(a, ...) = the smallest out of the given numbers.";
+        return "Min(a, ...) = the smallest out of the given numbers, NaN if any of them is NaN.";
     }
 
     @Override
@@ -51,7 +54,7 @@ public class Minimum implements Function {
         double result = args[0];
 
         for (Double arg : args)
-            result = (result < arg ? result : arg);
+            result = Math.min(result, arg);
 
         return result;
     }
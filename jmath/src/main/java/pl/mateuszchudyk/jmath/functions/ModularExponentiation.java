@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+
+/**
+ * Modular exponentiation. It returns a^b mod m.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>modpow(a, b, m)</td></tr>
+ * <tr><th>Domain</th><td>a: integer number, b: non-negative integer number, m: positive integer number</td></tr>
+ * </table></p>
+ *
+ * <p>The power is computed by squaring on longs, so the result is exact even
+ * if a^b doesn't fit in double. The result is in [0, m).</p>
+ */
+public class ModularExponentiation implements Function {
+    @Override
+    public String getName() {
+        return "modpow";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Modpow(a, b, m) = a to the power b modulo m, the result is in [0, m). Domain a: integer number, b: {0, 1, 2, ...}, m: {1, 2, ...}.";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        if (!NumberTheory.isInteger(args[0]))
+            throw new OutsideDomainException(this, 1, args[0], "integer numbers");
+        if (!NumberTheory.isInteger(args[1]) || args[1] < 0)
+            throw new OutsideDomainException(this, 2, args[1], "{0, 1, 2, ...}");
+        if (!NumberTheory.isInteger(args[2]) || args[2] < 1)
+            throw new OutsideDomainException(this, 3, args[2], "{1, 2, ...}");
+
+        long m = args[2].longValue();
+        long a = Math.floorMod(args[0].longValue(), m);
+        return (double)NumberTheory.modpow(a, args[1].longValue(), m);
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 3;
+    }
+}
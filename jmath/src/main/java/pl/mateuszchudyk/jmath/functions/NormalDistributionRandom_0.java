@@ -24,8 +24,8 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
-import java.util.Random;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.random.RandomContext;
 
 /**
  * Random number from standard normal distribution N(0, 1).
@@ -33,14 +33,12 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * <p><table>
  * <tr><th>Signature</th><td>nrand()</td></tr>
  * </table></p>
+ *
+ * <p>Numbers are taken from the random source of the current thread (see
+ * {@link RandomContext}). In batch evaluation the whole column is
+ * generated at once with Box-Muller transform.</p>
  */
-public class NormalDistributionRandom_0 implements Function {
-    private Random random;
-
-    public NormalDistributionRandom_0() {
-        random = new Random();
-    }
-
+public class NormalDistributionRandom_0 implements BatchFunction {
     @Override
     public String getName() {
         return "nrand";
@@ -53,7 +51,19 @@ public class NormalDistributionRandom_0 implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        return random.nextGaussian();
+        return RandomContext.current().nextGaussian();
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        RandomContext.current().fillGaussian(result);
+        return result;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
     }
 
     @Override
@@ -24,9 +24,9 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
-import java.util.Random;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+import pl.mateuszchudyk.jmath.random.RandomContext;
 
 /**
  * Random number from normal distribution. It takes two parameters: mean, stddev
@@ -36,14 +36,12 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Signature</th><td>nrand(mean, stddev)</td></tr>
  * <tr><th>Domain</th><td>stddev is any positive number</td></tr>
  * </table></p>
+ *
+ * <p>Numbers are taken from the random source of the current thread (see
+ * {@link RandomContext}). In batch evaluation the whole column is
+ * generated at once with Box-Muller transform.</p>
  */
-public class NormalDistributionRandom_2 implements Function {
-    private Random random;
-
-    public NormalDistributionRandom_2() {
-        random = new Random();
-    }
-
+public class NormalDistributionRandom_2 implements BatchFunction {
     @Override
     public String getName() {
         return "nrand";
@@ -56,9 +54,29 @@ public class NormalDistributionRandom_2 implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        if (args[1] <= 0)
-            throw new OutsideDomainException(this, 2, args[1], "(0, +inf)");
-        return args[0] + (2*random.nextDouble()-1)*args[1];
+        checkDomain(args[1]);
+        return args[0] + RandomContext.current().nextGaussian() * args[1];
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        RandomContext.current().fillGaussian(result);
+        for (int i = 0; i < rows; i++) {
+            checkDomain(args[1][i]);
+            result[i] = args[0][i] + result[i] * args[1][i];
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
+    }
+
+    private void checkDomain(double stddev) throws OutsideDomainException {
+        if (stddev <= 0)
+            throw new OutsideDomainException(this, 2, stddev, "(0, +inf)");
     }
 
     @Override
@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+/**
+ * Integer arithmetic used by number-theory functions.
+ *
+ * <p>All operations work on longs. Arguments are integers exactly
+ * representable as double (absolute value at most 2^53), so they are
+ * converted to long only once and intermediate results never go through
+ * double.</p>
+ */
+final class NumberTheory {
+    /**
+     * The largest integer n for which all integers from [-n, n] are exactly
+     * representable as double (2^53).
+     */
+    static final double MAX_EXACT = 9007199254740992.0;
+
+    /**
+     * The largest n for which all binomial coefficients C(n, k) fit in long.
+     */
+    static final int MAX_BINOMIAL_TABLE = 66;
+
+    private static final long[][] BINOMIAL_TABLE = createBinomialTable();
+
+    /**
+     * Bases of Miller-Rabin test which give correct answers for all numbers
+     * lower than 3.3 * 10^24.
+     */
+    private static final long[] MILLER_RABIN_BASES = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37 };
+
+    private NumberTheory() {
+    }
+
+    /**
+     * Check if x is an integer exactly representable as double.
+     */
+    static boolean isInteger(double x) {
+        return Math.floor(x) == x && Math.abs(x) <= MAX_EXACT;
+    }
+
+    /**
+     * Greatest common divisor of non-negative numbers (binary algorithm).
+     */
+    static long gcd(long a, long b) {
+        if (a == 0)
+            return b;
+        if (b == 0)
+            return a;
+
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        while (b != 0) {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        }
+
+        return a << shift;
+    }
+
+    /**
+     * Compute a * b mod m for 0 <= a, b < m.
+     */
+    static long mulmod(long a, long b, long m) {
+        if (m <= Integer.MAX_VALUE)
+            return a * b % m;
+
+        // Quotient estimated in double is off by a few units at most and
+        // the remainder computed modulo 2^64 is exact.
+        long q = (long)((double)a * b / m);
+        long r = a * b - q * m;
+        while (r < 0)
+            r += m;
+        while (r >= m)
+            r -= m;
+        return r;
+    }
+
+    /**
+     * Compute a^e mod m for 0 <= a < m and e >= 0 (square and multiply).
+     */
+    static long modpow(long a, long e, long m) {
+        long result = 1 % m;
+        while (e > 0) {
+            if ((e & 1) != 0)
+                result = mulmod(result, a, m);
+            a = mulmod(a, a, m);
+            e >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Check if n is prime with deterministic Miller-Rabin test.
+     */
+    static boolean isPrime(long n) {
+        if (n < 2)
+            return false;
+        for (long p : MILLER_RABIN_BASES) {
+            if (n % p == 0)
+                return n == p;
+        }
+
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+
+        for (long a : MILLER_RABIN_BASES) {
+            long x = modpow(a, d, n);
+            if (x == 1 || x == n - 1)
+                continue;
+
+            boolean composite = true;
+            for (int i = 1; i < s && composite; i++) {
+                x = mulmod(x, x, n);
+                composite = (x != n - 1);
+            }
+            if (composite)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Get binomial coefficient C(n, k) for 0 <= k <= n <= {@link #MAX_BINOMIAL_TABLE}.
+     */
+    static long binomial(int n, int k) {
+        return BINOMIAL_TABLE[n][k];
+    }
+
+    private static long[][] createBinomialTable() {
+        long[][] result = new long[MAX_BINOMIAL_TABLE + 1][];
+        for (int n = 0; n <= MAX_BINOMIAL_TABLE; n++) {
+            result[n] = new long[n + 1];
+            result[n][0] = 1;
+            result[n][n] = 1;
+            for (int k = 1; k < n; k++)
+                result[n][k] = result[n - 1][k - 1] + result[n - 1][k];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+
+/**
+ * Primality test. It returns true (1.0) if the number is prime, otherwise
+ * false (0.0).
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>isprime(n)</td></tr>
+ * <tr><th>Domain</th><td>integer number</td></tr>
+ * </table></p>
+ *
+ * <p>It uses Miller-Rabin test with the first 12 primes as bases, which is
+ * deterministic for all 64-bit numbers.</p>
+ */
+public class PrimalityTest implements Function {
+    @Override
+    public String getName() {
+        return "isprime";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Isprime(n) = return true (1.0) if n is a prime number else return false (0.0). Domain n: integer number.";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        if (!NumberTheory.isInteger(args[0]))
+            throw new OutsideDomainException(this, 1, args[0], "integer numbers");
+
+        return NumberTheory.isPrime(args[0].longValue()) ? 1.0 : 0.0;
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 1;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Range test. It takes three arguments: x, a, b and returns if x is inside
+ * (or outside) of the interval between a and b.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>in_range(x, a, b), in_range_oc(x, a, b), in_range_co(x, a, b), in_range_oo(x, a, b),
+ * out_of_range(x, a, b), out_of_range_oc(x, a, b), out_of_range_co(x, a, b), out_of_range_oo(x, a, b)</td></tr>
+ * <tr><th>Domain</th><td>any numbers</td></tr>
+ * </table></p>
+ *
+ * <p>Suffix of the name tells if the interval is open (<i>o</i>) or closed
+ * (<i>c</i>) on the left and on the right side, no suffix means a closed
+ * interval, e.g.: <i>in_range_co(x, a, b)</i> is the same as <i>x &gt;= a and
+ * x &lt; b</i> and <i>out_of_range(x, a, b)</i> is the same as <i>x &lt; a or
+ * x &gt; b</i>. As for comparators, the result is false if any argument is
+ * NaN (so <i>out_of_range</i> is not a negation of <i>in_range</i> for
+ * NaN).</p>
+ *
+ * <p>Both bounds are compared without short-circuiting, so evaluation
+ * doesn't branch on the argument.</p>
+ */
+public class RangeTest implements BatchFunction {
+    private final boolean lowerInclusive;
+    private final boolean upperInclusive;
+    private final boolean inside;
+
+    /**
+     * Constructor. Test if the argument is inside of the closed interval.
+     */
+    public RangeTest() {
+        this(true, true, true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param lowerInclusive Lower bound belongs to the interval.
+     * @param upperInclusive Upper bound belongs to the interval.
+     * @param inside Test if the argument is inside (true) or outside (false)
+     * of the interval.
+     */
+    public RangeTest(boolean lowerInclusive, boolean upperInclusive, boolean inside) {
+        this.lowerInclusive = lowerInclusive;
+        this.upperInclusive = upperInclusive;
+        this.inside = inside;
+    }
+
+    @Override
+    public String getName() {
+        String suffix = (lowerInclusive && upperInclusive ? "" :
+            "_" + (lowerInclusive ? "c" : "o") + (upperInclusive ? "c" : "o"));
+        return (inside ? "in_range" : "out_of_range") + suffix;
+    }
+
+    @Override
+    public String getDescription() {
+        String interval = (lowerInclusive ? "[" : "(") + "a, b" + (upperInclusive ? "]" : ")");
+        return getName().substring(0, 1).toUpperCase() + getName().substring(1) +
+            "(x, a, b) = return true (1.0) if and only if x is " + (inside ? "inside " : "outside ") +
+            interval + " else return false (0.0).";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        return test(args[0], args[1], args[2]) ? 1.0 : 0.0;
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] x = args[0];
+        double[] a = args[1];
+        double[] b = args[2];
+        double[] result = new double[rows];
+        for (int i = 0; i < rows; i++)
+            result[i] = test(x[i], a[i], b[i]) ? 1.0 : 0.0;
+        return result;
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 3;
+    }
+
+    /**
+     * Check if the lower bound belongs to the interval.
+     *
+     * @return True if the interval is closed on the left side.
+     */
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Check if the upper bound belongs to the interval.
+     *
+     * @return True if the interval is closed on the right side.
+     */
+    public boolean isUpperInclusive() {
+        return upperInclusive;
+    }
+
+    /**
+     * Check if the function tests that the argument is inside of the interval.
+     *
+     * @return True for inside, false for outside.
+     */
+    public boolean isInside() {
+        return inside;
+    }
+
+    private boolean test(double x, double a, double b) {
+        if (inside)
+            return (lowerInclusive ? x >= a : x > a) & (upperInclusive ? x <= b : x < b);
+        else
+            return (lowerInclusive ? x < a : x <= a) | (upperInclusive ? x > b : x >= b);
+    }
+}
@@ -24,6 +24,7 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
+import pl.mateuszchudyk.jmath.Range;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
 
@@ -35,7 +36,25 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Domain</th><td>[0, +inf)</td></tr>
  * </table></p>
  */
-public class SquareRoot implements Function {
+public class SquareRoot implements DomainCheckedFunction {
+    private final boolean checkDomain;
+
+    /**
+     * Constructor. The domain is checked.
+     */
+    public SquareRoot() {
+        this(true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param checkDomain Check if the argument is inside the domain.
+     */
+    public SquareRoot(boolean checkDomain) {
+        this.checkDomain = checkDomain;
+    }
+
     @Override
     public String getName() {
         return "sqrt";
@@ -48,7 +67,7 @@ public class SquareRoot implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        if (args[0] < 0)
+        if (checkDomain && args[0] < 0)
             throw new OutsideDomainException(this, 1, args[0], "[0, +inf)");
 
         return Math.sqrt(args[0]);
@@ -58,4 +77,19 @@ public class SquareRoot implements Function {
     public boolean checkNumberOfArguments(int numberOfArguments) {
         return numberOfArguments == 1;
     }
+
+    @Override
+    public boolean isInsideDomain(int argument, Range range) {
+        return range.getMin() >= 0;
+    }
+
+    @Override
+    public boolean isCheckingDomain() {
+        return checkDomain;
+    }
+
+    @Override
+    public DomainCheckedFunction withoutDomainCheck() {
+        return new SquareRoot(false);
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import java.util.Arrays;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+
+/**
+ * Interpolation of a table of points.
+ *
+ * <p><table>
+ * <tr><th>Signature</th><td>name(x)</td></tr>
+ * <tr><th>Domain</th><td>[first node, last node]</td></tr>
+ * </table></p>
+ *
+ * <p>The function is named after the table (see
+ * {@link pl.mateuszchudyk.jmath.Parser#addTable(String, double[], double[], Method)}).
+ * Points are copied to primitive arrays, so the table is shared by all
+ * expressions using the function. Nodes of uniform grids are found in
+ * constant time, nodes of other grids with binary search.</p>
+ */
+public class TableInterpolation implements BatchFunction {
+    private static final double UNIFORM_TOLERANCE = 1e-6;
+
+    /**
+     * Interpolation method.
+     */
+    public enum Method {
+        /**
+         * Piecewise linear interpolation.
+         */
+        Linear,
+
+        /**
+         * Natural cubic spline (second derivative is zero at both ends).
+         */
+        Cubic,
+    }
+
+    private final String name;
+    private final Method method;
+    private final double[] nodes;
+    private final double[] values;
+    private final double[] secondDerivatives;
+    private final boolean uniform;
+    private final double inverseStep;
+
+    /**
+     * Constructor.
+     *
+     * @param name Function name.
+     * @param nodes Nodes, strictly increasing (at least 2).
+     * @param values Values at nodes.
+     * @param method Interpolation method.
+     * @throws IllegalArgumentException if the table is incorrect.
+     */
+    public TableInterpolation(String name, double[] nodes, double[] values, Method method) {
+        if (nodes.length != values.length)
+            throw new IllegalArgumentException("Table '" + name + "' has " + nodes.length + " nodes and " + values.length + " values!");
+        if (nodes.length < 2)
+            throw new IllegalArgumentException("Table '" + name + "' must have at least 2 points!");
+        for (int i = 0; i < nodes.length; i++) {
+            if (Double.isNaN(nodes[i]) || Double.isInfinite(nodes[i]) || (i > 0 && nodes[i] <= nodes[i - 1]))
+                throw new IllegalArgumentException("Nodes of table '" + name + "' must be finite and strictly increasing!");
+        }
+
+        this.name = name;
+        this.method = method;
+        this.nodes = nodes.clone();
+        this.values = values.clone();
+        this.secondDerivatives = (method == Method.Cubic ? getSecondDerivatives(this.nodes, this.values) : null);
+
+        int last = nodes.length - 1;
+        double step = (nodes[last] - nodes[0]) / last;
+        boolean isUniform = true;
+        for (int i = 1; i < last && isUniform; i++)
+            isUniform = Math.abs(nodes[i] - (nodes[0] + i * step)) <= UNIFORM_TOLERANCE * step;
+        this.uniform = isUniform;
+        this.inverseStep = 1 / step;
+    }
+
+    /**
+     * Get interpolation method.
+     *
+     * @return Interpolation method.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Get number of points.
+     *
+     * @return Number of points.
+     */
+    public int getNumberOfPoints() {
+        return nodes.length;
+    }
+
+    /**
+     * Check if nodes are uniformly spaced.
+     *
+     * @return True if nodes are uniformly spaced.
+     */
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return name + "(x) = " + (method == Method.Cubic ? "cubic spline" : "linear") + " interpolation of the table with " +
+            nodes.length + " points. Domain x: [" + nodes[0] + ", " + nodes[nodes.length - 1] + "].";
+    }
+
+    @Override
+    public Double evaluate(Double[] args) throws EvaluationException {
+        checkDomain(args[0]);
+        return interpolate(args[0]);
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            checkDomain(args[0][i]);
+            result[i] = interpolate(args[0][i]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean checkNumberOfArguments(int numberOfArguments) {
+        return numberOfArguments == 1;
+    }
+
+    private void checkDomain(double x) throws OutsideDomainException {
+        if (!(x >= nodes[0] && x <= nodes[nodes.length - 1]))
+            throw new OutsideDomainException(this, 1, x, "[" + nodes[0] + ", " + nodes[nodes.length - 1] + "]");
+    }
+
+    private double interpolate(double x) {
+        int i = locate(x);
+        double h = nodes[i + 1] - nodes[i];
+        double b = (x - nodes[i]) / h;
+        double a = 1 - b;
+        double result = a * values[i] + b * values[i + 1];
+        if (secondDerivatives != null)
+            result += ((a * a * a - a) * secondDerivatives[i] + (b * b * b - b) * secondDerivatives[i + 1]) * (h * h / 6);
+        return result;
+    }
+
+    /**
+     * Find interval [nodes[i], nodes[i + 1]] containing x.
+     */
+    private int locate(double x) {
+        int last = nodes.length - 2;
+        if (uniform) {
+            int i = (int)((x - nodes[0]) * inverseStep);
+            i = Math.max(0, Math.min(last, i));
+            // Correct rounding errors of the computed index.
+            if (x < nodes[i])
+                i--;
+            else if (i < last && x >= nodes[i + 1])
+                i++;
+            return i;
+        }
+
+        int i = Arrays.binarySearch(nodes, x);
+        if (i < 0)
+            i = -i - 2;
+        return Math.min(last, i);
+    }
+
+    /**
+     * Compute second derivatives of the natural cubic spline (tridiagonal
+     * system solved with Thomas algorithm).
+     */
+    private static double[] getSecondDerivatives(double[] nodes, double[] values) {
+        int n = nodes.length;
+        double[] result = new double[n];
+        double[] upper = new double[n];
+        for (int i = 1; i < n - 1; i++) {
+            double left = nodes[i] - nodes[i - 1];
+            double right = nodes[i + 1] - nodes[i];
+            double rhs = 6 * ((values[i + 1] - values[i]) / right - (values[i] - values[i - 1]) / left);
+            double diagonal = 2 * (left + right) - left * upper[i - 1];
+            upper[i] = right / diagonal;
+            result[i] = (rhs - left * result[i - 1]) / diagonal;
+        }
+        for (int i = n - 2; i > 0; i--)
+            result[i] -= upper[i] * result[i + 1];
+        return result;
+    }
+}
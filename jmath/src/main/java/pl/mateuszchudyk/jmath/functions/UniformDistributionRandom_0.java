@@ -24,8 +24,8 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
-import java.util.Random;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.random.RandomContext;
 
 /**
  * Random number from uniform distribution [0, 1].
@@ -33,14 +33,11 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * <p><table>
  * <tr><th>Signature</th><td>rand()</td></tr>
  * </table></p>
+ *
+ * <p>Numbers are taken from the random source of the current thread (see
+ * {@link RandomContext}).</p>
  */
-public class UniformDistributionRandom_0 implements Function {
-    private final Random random;
-
-    public UniformDistributionRandom_0() {
-        random = new Random();
-    }
-
+public class UniformDistributionRandom_0 implements BatchFunction {
     @Override
     public String getName() {
         return "rand";
@@ -53,7 +50,19 @@ public class UniformDistributionRandom_0 implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        return random.nextDouble();
+        return RandomContext.current().nextDouble();
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        RandomContext.current().fillUniform(result);
+        return result;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
     }
 
     @Override
@@ -24,9 +24,9 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
-import java.util.Random;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+import pl.mateuszchudyk.jmath.random.RandomContext;
 
 /**
  * Random number from uniform distribution. It takes two parameters: a, b and
@@ -36,14 +36,11 @@ import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
  * <tr><th>Signature</th><td>rand()</td></tr>
  * <tr><th>Domain</th><td>a &lt; b</td></tr>
  * </table></p>
+ *
+ * <p>Numbers are taken from the random source of the current thread (see
+ * {@link RandomContext}).</p>
  */
-public class UniformDistributionRandom_2 implements Function {
-    private final Random random;
-
-    public UniformDistributionRandom_2() {
-        random = new Random();
-    }
-
+public class UniformDistributionRandom_2 implements BatchFunction {
     @Override
     public String getName() {
         return "rand";
@@ -56,9 +53,29 @@ public class UniformDistributionRandom_2 implements Function {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        if (args[0] >= args[1])
-            throw new OutsideDomainException(this, 2, args[1], "b > a ("+args[1]+" <= "+args[0]+")");
-        return args[0] + random.nextDouble() * (args[1] - args[0]);
+        checkDomain(args[0], args[1]);
+        return args[0] + RandomContext.current().nextDouble() * (args[1] - args[0]);
+    }
+
+    @Override
+    public double[] evaluateBatch(double[][] args, int rows) throws EvaluationException {
+        double[] result = new double[rows];
+        RandomContext.current().fillUniform(result);
+        for (int i = 0; i < rows; i++) {
+            checkDomain(args[0][i], args[1][i]);
+            result[i] = args[0][i] + result[i] * (args[1][i] - args[0][i]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
+    }
+
+    private void checkDomain(double a, double b) throws OutsideDomainException {
+        if (a >= b)
+            throw new OutsideDomainException(this, 2, b, "b > a ("+b+" <= "+a+")");
     }
 
     @Override
@@ -35,6 +35,9 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * <tr><th>Priority</th><td>5</td></tr>
  * <tr><th>Associative</th><td>both</td></tr>
  * </table></p>
+ *
+ * <p>Optimizer can flatten chains of additions into one node with more than
+ * two arguments. Then the arguments are combined from left to right.</p>
  */
 public class Addition implements Operator {
     @Override
@@ -49,7 +52,11 @@ public class Addition implements Operator {
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        return args[0] + args[1];
+        double result = args[0];
+        for (int i = 1; i < args.length; i++)
+            result += args[i];
+
+        return result;
     }
 
     @Override
@@ -37,6 +37,8 @@ import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
  * </table></p>
  */
 public class Factorial implements Operator {
+    private static final pl.mateuszchudyk.jmath.functions.Factorial FUNCTION = new pl.mateuszchudyk.jmath.functions.Factorial();
+
     @Override
     public String getName() {
         return "!";
@@ -44,12 +46,12 @@ public class Factorial implements Operator {
 
     @Override
     public String getDescription() {
-        return new pl.mateuszchudyk.jmath.functions.Factorial().getDescription();
+        return FUNCTION.getDescription();
     }
 
     @Override
     public Double evaluate(Double[] args) throws EvaluationException {
-        return new pl.mateuszchudyk.jmath.functions.Factorial().evaluate(args);
+        return FUNCTION.evaluate(args);
     }
 
     @Override
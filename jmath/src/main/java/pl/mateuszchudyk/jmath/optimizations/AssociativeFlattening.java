@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Associative flattening.
+ *
+ * <p>Flatten chains of additions and multiplications into n-ary nodes, e.g.:
+ * <i>((a + b) + c) + d = +(a, b, c, d)</i>, and remove neutral elements.</p>
+ *
+ * <p>By default only left-nested chains are flattened because n-ary nodes are
+ * evaluated from left to right, so the result is exactly the same. In
+ * fast-math mode all nested chains are flattened, all constants are gathered
+ * and folded into one, e.g.: <i>1 + x + 2 + y + 3 = +(6, x, y)</i>, and
+ * optionally operands are sorted into a canonical order (constants, variables
+ * by name, then other expressions). It reassociates floating point operations
+ * so the result can differ in the last bits.</p>
+ *
+ * <p>Sorting doesn't lower the cost of the expression, so the optimizer
+ * doesn't accept it during optimization, it's applied only when the pass is
+ * run alone by Optimizer.apply.</p>
+ */
+public class AssociativeFlattening implements OptimizationPass {
+    private final boolean fastMath;
+    private final boolean sortOperands;
+
+    /**
+     * Constructor. Fast-math mode is disabled.
+     */
+    public AssociativeFlattening() {
+        this(false, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param fastMath Enable reassociation of floating point operations.
+     */
+    public AssociativeFlattening(boolean fastMath) {
+        this(fastMath, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param fastMath Enable reassociation of floating point operations.
+     * @param sortOperands Sort operands into a canonical order (used only in
+     * fast-math mode).
+     */
+    public AssociativeFlattening(boolean fastMath, boolean sortOperands) {
+        this.fastMath = fastMath;
+        this.sortOperands = sortOperands;
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (ast.getClass() != ASTOperation.class)
+            return null;
+
+        ASTOperation operation = (ASTOperation)ast;
+        Class<?> type = operation.getOperation().getClass();
+        double neutral;
+        if (type == pl.mateuszchudyk.jmath.operators.Addition.class)
+            neutral = 0;
+        else if (type == pl.mateuszchudyk.jmath.operators.Multiplication.class)
+            neutral = 1;
+        else
+            return null;
+
+        List<ASTExpression> operands = new ArrayList<>();
+        flatten(operation, type, operands, true);
+
+        if (fastMath)
+            foldConstants(operands, type);
+
+        boolean changed = operands.size() != operation.getNumberOfArguments();
+        for (int i = operands.size()-1; i >= 0; i--) {
+            Double value = getValue(operands.get(i));
+            if (value == null)
+                continue;
+
+            if (value == neutral && operands.size() > 1) {
+                operands.remove(i);
+                changed = true;
+            }
+            else if (value == 0 && type == pl.mateuszchudyk.jmath.operators.Multiplication.class)
+                return operands.get(i);
+        }
+
+        if (fastMath && sortOperands)
+            Collections.sort(operands, (ASTExpression a, ASTExpression b) -> compare(a, b));
+
+        for (int i = 0; !changed && i < operands.size(); i++)
+            changed = operands.get(i) != operation.getArgument(i);
+        if (!changed)
+            return null;
+
+        if (operands.size() == 1)
+            return operands.get(0);
+
+        ASTExpression[] arguments = new ASTExpression[operands.size()];
+        return new ASTOperation(operation.getOperation(), operands.toArray(arguments));
+    }
+
+    private void flatten(ASTOperation operation, Class<?> type, List<ASTExpression> operands, boolean leftmost) {
+        for (int i = 0; i < operation.getNumberOfArguments(); i++) {
+            ASTExpression argument = operation.getArgument(i);
+            if ((fastMath || (leftmost && i == 0)) &&
+                argument.getClass() == ASTOperation.class &&
+                ((ASTOperation)argument).getOperation().getClass() == type)
+            {
+                flatten((ASTOperation)argument, type, operands, leftmost && i == 0);
+            }
+            else
+                operands.add(argument);
+        }
+    }
+
+    private void foldConstants(List<ASTExpression> operands, Class<?> type) {
+        Double folded = null;
+        int numberOfConstants = 0;
+        List<ASTExpression> others = new ArrayList<>();
+
+        for (ASTExpression operand : operands) {
+            Double value = getValue(operand);
+            if (value == null) {
+                others.add(operand);
+                continue;
+            }
+
+            numberOfConstants++;
+            if (folded == null)
+                folded = value;
+            else if (type == pl.mateuszchudyk.jmath.operators.Addition.class)
+                folded += value;
+            else
+                folded *= value;
+        }
+
+        if (numberOfConstants == 0 || (numberOfConstants == 1 && getValue(operands.get(0)) != null))
+            return;
+
+        operands.clear();
+        operands.add(new ASTImmidiateValue(folded));
+        operands.addAll(others);
+    }
+
+    private int compare(ASTExpression a, ASTExpression b) {
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB)
+            return Integer.compare(rankA, rankB);
+
+        if (a.getClass() == ASTVariable.class)
+            return ((ASTVariable)a).getVariable().getName().compareTo(((ASTVariable)b).getVariable().getName());
+
+        return rankA == 0 ? 0 : a.toString().compareTo(b.toString());
+    }
+
+    private int rank(ASTExpression ast) {
+        if (ast.getClass() == ASTImmidiateValue.class)
+            return 0;
+        else if (ast.getClass() == ASTVariable.class)
+            return 1;
+        else
+            return 2;
+    }
+
+    private Double getValue(ASTExpression expression) {
+        if (expression.getClass() != ASTImmidiateValue.class)
+            return null;
+
+        try {
+            return expression.evaluate(null);
+        }
+        catch (EvaluationException ex) {
+            return null;
+        }
+    }
+}
@@ -24,196 +24,85 @@
 
 package pl.mateuszchudyk.jmath.optimizations;
 
-import pl.mateuszchudyk.jmath.ast.ASTOperation;
-import pl.mateuszchudyk.jmath.ast.ASTExpression;
-import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
-import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
-import pl.mateuszchudyk.jmath.operators.Operator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
 
 /**
+ * Binary operator simplifying.
+ *
+ * <p>Simplify a binary operator if one of its operands is a constant, e.g.:
+ * <i>x + 0 = x</i> or <i>x and true = to_logical(x)</i>. It is implemented
+ * as a set of rewrite rules (see {@link RuleRewriting}).</p>
+ *
  * @author Mateusz Chudyk
  */
-public class BinaryOperatorSimplifying implements OptimizationPass {
-    @Override
-    public ASTExpression run(ASTExpression ast) {
-        if (ast.getClass() != ASTOperation.class)
-            return null;
-
-        ASTOperation operation = (ASTOperation)ast;
-        if (!(operation.getOperation() instanceof Operator) || operation.getNumberOfArguments() != 2)
-            return null;
-
-        Operator operator = (Operator)operation.getOperation();
-        ASTExpression left = operation.getArgument(0);
-        ASTExpression right = operation.getArgument(1);
+public class BinaryOperatorSimplifying extends RuleRewriting {
+    private static final String[] RULES = {
+        // Addition.
+        "0 + x -> x",
+        "x + 0 -> x",
+        // And.
+        "c and x -> to_logical(x) when true(c)",
+        "x and c -> to_logical(x) when true(c)",
+        "c and x -> 0 when false(c)",
+        "x and c -> 0 when false(c)",
+        // Division.
+        "x / 1 -> x",
+        // Multiplication.
+        "0 * x -> 0",
+        "x * 0 -> 0",
+        "1 * x -> x",
+        "x * 1 -> x",
+        // Nand.
+        "c nand x -> not(x) when true(c)",
+        "x nand c -> not(x) when true(c)",
+        "c nand x -> 1 when false(c)",
+        "x nand c -> 1 when false(c)",
+        // Nor.
+        "c nor x -> 0 when true(c)",
+        "x nor c -> 0 when true(c)",
+        "c nor x -> not(x) when false(c)",
+        "x nor c -> not(x) when false(c)",
+        // Or.
+        "c or x -> 1 when true(c)",
+        "x or c -> 1 when true(c)",
+        "c or x -> to_logical(x) when false(c)",
+        "x or c -> to_logical(x) when false(c)",
+        // Power.
+        "x ^ 0 -> 1",
+        "x ^ 1 -> x",
+        "0 ^ x -> 0",
+        "1 ^ x -> 1",
+        // Subtraction.
+        "0 - x -> -x",
+        "x - 0 -> x",
+        // Xor.
+        "c xor x -> to_logical(x) when false(c)",
+        "x xor c -> to_logical(x) when false(c)",
+        "c xor x -> not(x) when true(c)",
+        "x xor c -> not(x) when true(c)",
+    };
+
+    private static final List<RewriteRule> PARSED_RULES = parseRules();
+
+    /**
+     * Constructor.
+     */
+    public BinaryOperatorSimplifying() {
+        super(PARSED_RULES);
+    }
 
-        Double leftValue = null;
-        Double rightValue = null;
+    private static List<RewriteRule> parseRules() {
+        List<RewriteRule> result = new ArrayList<>();
         try {
-            if (left.getClass() == ASTImmidiateValue.class)
-                leftValue = left.evaluate(null);
-            if (right.getClass() == ASTImmidiateValue.class)
-                rightValue = right.evaluate(null);
-        }
-        catch (EvaluationException ex) {
-            return null;
-        }
-
-        if (leftValue == null && rightValue == null)
-            return null;
-
-        /**
-         * Addition. Cases:
-         * - One operand is 0.
-         */
-        if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Addition.class) {
-            if (isEqual(leftValue, 0))
-                return right;
-            if (isEqual(rightValue, 0))
-                return left;
-        }
-        /**
-         * And. Cases:
-         * - One operand is TRUE.
-         * - One operand is FALSE.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.And.class) {
-            if (isTrue(leftValue))
-                return toLogical(right);
-            if (isTrue(rightValue))
-                return toLogical(left);
-            if (isFalse(leftValue) || isFalse(rightValue))
-                return new ASTImmidiateValue(0.0);
-        }
-        /**
-         * Division. Cases:
-         * - Division by 1.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Division.class) {
-            if (isEqual(rightValue, 1))
-                return left;
-        }
-        /**
-         * Multiplication. Cases:
-         * - Multiplication by 0.
-         * - Multiplication by 1.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Multiplication.class) {
-            if (isEqual(leftValue, 0) || isEqual(rightValue, 0))
-                return new ASTImmidiateValue(0.0);
-            if (isEqual(leftValue, 1))
-                return right;
-            if (isEqual(rightValue, 1))
-                return left;
-        }
-        /**
-         * Nand. Cases:
-         * - One operand is TRUE.
-         * - One operand is FALSE.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Nand.class) {
-            if (isTrue(leftValue))
-                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Not(), new ASTExpression[] { right });
-            if (isTrue(rightValue))
-                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Not(), new ASTExpression[] { left });
-            if (isFalse(leftValue) || isFalse(rightValue))
-                return new ASTImmidiateValue(1.0);
-        }
-        /**
-         * Nor. Cases:
-         * - One operand is TRUE.
-         * - One operand is FALSE.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Nor.class) {
-            if (isTrue(leftValue) || isTrue(rightValue))
-                return new ASTImmidiateValue(0.0);
-            if (isFalse(leftValue))
-                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Not(), new ASTExpression[] { right });
-            if (isFalse(rightValue))
-                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Not(), new ASTExpression[] { left });
-        }
-        /**
-         * Or. Cases:
-           - One operand is TRUE.
-           - One operand is FALSE.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Or.class) {
-            if (isTrue(leftValue) || isTrue(rightValue))
-                return new ASTImmidiateValue(1.0);
-            if (isFalse(leftValue))
-                return toLogical(right);
-            if (isFalse(rightValue))
-                return toLogical(left);
+            for (String rule : RULES)
+                result.add(RewriteRule.parse(rule));
         }
-        /**
-         * Power. Cases:
-         * - x^0.
-         * - x^1.
-         * - 0^x.
-         * - 1^x.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Exponentiation.class) {
-            if (isEqual(rightValue, 0))
-                return new ASTImmidiateValue(1.0);
-            if (isEqual(rightValue, 1))
-                return left;
-            if (isEqual(leftValue, 0))
-                return new ASTImmidiateValue(0.0);
-            if (isEqual(leftValue, 1))
-                return new ASTImmidiateValue(1.0);
+        catch (ParseException ex) {
+            throw new IllegalStateException(ex);
         }
-        /**
-         * Subtraction. Cases:
-         * - One operand is 0.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Subtraction.class) {
-            if (isEqual(leftValue, 0))
-                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.AdditiveInverse(), new ASTExpression[] { right });
-            if (isEqual(rightValue, 0))
-                return left;
-        }
-        /**
-         * Xor. Cases:
-         * - One operand is FALSE.
-         * - One operand is TRUE.
-         */
-        else if (operator.getClass() == pl.mateuszchudyk.jmath.operators.Xor.class) {
-            if (isFalse(leftValue))
-                return toLogical(right);
-            if (isFalse(rightValue))
-                return toLogical(left);
-            if (isTrue(leftValue))
-                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Not(), new ASTExpression[] { right });
-            if (isTrue(rightValue))
-                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Not(), new ASTExpression[] { left });
-        }
-
-        return null;
-    }
-
-    private ASTExpression toLogical(ASTExpression expression) {
-        ASTExpression[] args = { expression };
-        return new ASTOperation(new pl.mateuszchudyk.jmath.functions.ToLogical(), args);
-    }
-
-    private boolean isTrue(Double value) {
-        if (value == null)
-            return false;
-
-        return value >= 1;
-    }
-
-    private boolean isFalse(Double value) {
-        if (value == null)
-            return false;
-
-        return value < 1;
-    }
-
-    private boolean isEqual(Double value, double imm) {
-        if (value == null)
-            return false;
-
-        return value == imm;
+        return Collections.unmodifiableList(result);
     }
 }
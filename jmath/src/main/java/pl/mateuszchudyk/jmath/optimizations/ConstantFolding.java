@@ -37,22 +37,19 @@ public class ConstantFolding implements OptimizationPass {
             return null;
         else if (ast.getClass() == ASTVariable.class)
             return null;
-        else if (ast.getClass() == ASTOperation.class) {
-            ASTOperation operation = (ASTOperation)ast;
-
-            for (int i = 0; i < operation.getNumberOfArguments(); i++) {
-                if (operation.getArgument(i).getClass() != ASTImmidiateValue.class)
-                    return null;
-            }
+        else if (ast.getClass() == ASTOperation.class && !((ASTOperation)ast).getOperation().isDeterministic())
+            return null;
 
-            try {
-                return new ASTImmidiateValue(ast.evaluate(null));
-            }
-            catch (EvaluationException ex) {
+        for (int i = 0; i < ast.getNumberOfChildren(); i++) {
+            if (ast.getChild(i).getClass() != ASTImmidiateValue.class)
                 return null;
-            }
         }
 
-        return null;
+        try {
+            return new ASTImmidiateValue(ast.evaluate(null));
+        }
+        catch (EvaluationException ex) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,328 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import pl.mateuszchudyk.jmath.ast.ASTDecisionDiagram;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Decision diagram rewriting.
+ *
+ * <p>Replace combinations of logical operators (<i>and</i>, <i>or</i>,
+ * <i>xor</i>, <i>nand</i>, <i>nor</i>, <i>not</i>, <i>&lt;=&gt;</i> and
+ * <i>=&gt;</i>) with reduced ordered binary decision diagrams over atoms
+ * (sub-expressions which are not logical operators, e.g. comparisons).
+ * Duplicated atoms are merged and redundant ones removed, e.g.:
+ * <i>(x &gt; 1 and y &gt; 1) or (x &gt; 1 and not (y &gt; 1)) = x &gt; 1</i>
+ * and <i>x &gt; 1 or not (x &gt; 1) = 1</i>. If the diagram doesn't reduce to
+ * a constant or a single atom, it is emitted as {@link ASTDecisionDiagram}
+ * which evaluates each atom at most once.</p>
+ *
+ * <p>Atoms are ordered by the first occurrence in the expression. Atoms
+ * containing non-deterministic operations are never merged. If the diagram
+ * exceeds {@link #MAX_NODES} nodes, the expression is not rewritten.</p>
+ */
+public class DecisionDiagramRewriting implements OptimizationPass {
+    /**
+     * The maximal number of nodes of the built diagram.
+     */
+    public static final int MAX_NODES = 4096;
+
+    private static final int FALSE = ASTDecisionDiagram.FALSE;
+    private static final int TRUE = ASTDecisionDiagram.TRUE;
+
+    /**
+     * Truth tables of binary operators, bit (2a + b) is the result for
+     * operands a and b.
+     */
+    private static final int AND = 0b1000;
+    private static final int OR = 0b1110;
+    private static final int XOR = 0b0110;
+    private static final int NAND = 0b0111;
+    private static final int NOR = 0b0001;
+    private static final int IFF = 0b1001;
+    private static final int CONSEQUENCE = 0b1011;
+
+    private static class TooManyNodesException extends Exception {
+    }
+
+    private static class Manager {
+        final ArrayList<ASTExpression> atoms = new ArrayList<>();
+        final HashMap<String, Integer> atomIndices = new HashMap<>();
+        final ArrayList<Integer> tests = new ArrayList<>();
+        final ArrayList<Integer> low = new ArrayList<>();
+        final ArrayList<Integer> high = new ArrayList<>();
+        final HashMap<Long, Integer> unique = new HashMap<>();
+        final HashMap<Long, Integer> computed = new HashMap<>();
+
+        int makeNode(int test, int lowNode, int highNode) throws TooManyNodesException {
+            if (lowNode == highNode)
+                return lowNode;
+
+            long key = ((long)test << 42) | ((long)(lowNode + 2) << 21) | (highNode + 2);
+            Integer node = unique.get(key);
+            if (node == null) {
+                if (tests.size() >= MAX_NODES)
+                    throw new TooManyNodesException();
+
+                node = tests.size();
+                tests.add(test);
+                low.add(lowNode);
+                high.add(highNode);
+                unique.put(key, node);
+            }
+            return node;
+        }
+
+        int apply(int operator, int a, int b) throws TooManyNodesException {
+            if (a < 0 && b < 0)
+                return ((operator >> (2 * (a == TRUE ? 1 : 0) + (b == TRUE ? 1 : 0))) & 1) == 1 ? TRUE : FALSE;
+
+            long key = ((long)operator << 42) | ((long)(a + 2) << 21) | (b + 2);
+            Integer result = computed.get(key);
+            if (result != null)
+                return result;
+
+            int testA = (a < 0 ? Integer.MAX_VALUE : tests.get(a));
+            int testB = (b < 0 ? Integer.MAX_VALUE : tests.get(b));
+            int test = Math.min(testA, testB);
+
+            int lowNode = apply(operator, testA == test ? low.get(a) : a, testB == test ? low.get(b) : b);
+            int highNode = apply(operator, testA == test ? high.get(a) : a, testB == test ? high.get(b) : b);
+            result = makeNode(test, lowNode, highNode);
+
+            computed.put(key, result);
+            return result;
+        }
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (!isLogical(ast))
+            return null;
+
+        Manager manager = new Manager();
+        int root;
+        try {
+            root = build(ast, manager);
+        }
+        catch (TooManyNodesException ex) {
+            return null;
+        }
+
+        ASTExpression result = emit(root, manager);
+        return result.toString().equals(ast.toString()) ? null : result;
+    }
+
+    private int build(ASTExpression ast, Manager manager) throws TooManyNodesException {
+        if (ast.getClass() == ASTDecisionDiagram.class) {
+            // Atoms are added in order, so the order of tests is preserved.
+            ASTDecisionDiagram diagram = (ASTDecisionDiagram)ast;
+            int[] atoms = new int[diagram.getNumberOfChildren()];
+            for (int i = 0; i < atoms.length; i++)
+                atoms[i] = atom(diagram.getChild(i), manager);
+            return importNode(diagram, diagram.getRoot(), atoms, manager, new HashMap<Integer, Integer>());
+        }
+        else if (ast.getClass() != ASTOperation.class || !isLogical(ast))
+            return atom(ast, manager);
+
+        ASTOperation operation = (ASTOperation)ast;
+        Class<?> type = operation.getOperation().getClass();
+        if (type == pl.mateuszchudyk.jmath.operators.Not.class)
+            return manager.apply(XOR, build(operation.getArgument(0), manager), TRUE);
+
+        int left = build(operation.getArgument(0), manager);
+        int right = build(operation.getArgument(1), manager);
+        return manager.apply(getTruthTable(type), left, right);
+    }
+
+    private int importNode(ASTDecisionDiagram diagram, int node, int[] atoms, Manager manager, HashMap<Integer, Integer> imported)
+        throws TooManyNodesException
+    {
+        if (node < 0)
+            return node;
+
+        Integer result = imported.get(node);
+        if (result != null)
+            return result;
+
+        int test = atoms[diagram.getTest(node)];
+        int lowNode = importNode(diagram, diagram.getLow(node), atoms, manager, imported);
+        int highNode = importNode(diagram, diagram.getHigh(node), atoms, manager, imported);
+        result = manager.apply(OR,
+            manager.apply(AND, test, highNode),
+            manager.apply(AND, manager.apply(XOR, test, TRUE), lowNode));
+
+        imported.put(node, result);
+        return result;
+    }
+
+    private int atom(ASTExpression ast, Manager manager) throws TooManyNodesException {
+        if (ast.getClass() == ASTImmidiateValue.class) {
+            try {
+                return ast.evaluate(null) >= 1 ? TRUE : FALSE;
+            }
+            catch (EvaluationException ex) {
+                // Not a constant, treat as an atom.
+            }
+        }
+
+        String key = (isDeterministic(ast) ? ast.toString() : "#" + manager.atoms.size());
+        Integer index = manager.atomIndices.get(key);
+        if (index == null) {
+            index = manager.atoms.size();
+            manager.atoms.add(ast);
+            manager.atomIndices.put(key, index);
+        }
+
+        return manager.makeNode(index, FALSE, TRUE);
+    }
+
+    private ASTExpression emit(int root, Manager manager) {
+        if (root == TRUE)
+            return new ASTImmidiateValue(1.0);
+        else if (root == FALSE)
+            return new ASTImmidiateValue(0.0);
+
+        int test = manager.tests.get(root);
+        ASTExpression atom = manager.atoms.get(test);
+        if (manager.low.get(root) == FALSE && manager.high.get(root) == TRUE)
+            return isLogical(atom) || isComparison(atom) ? atom : unary(new pl.mateuszchudyk.jmath.functions.ToLogical(), atom);
+        if (manager.low.get(root) == TRUE && manager.high.get(root) == FALSE)
+            return unary(new pl.mateuszchudyk.jmath.operators.Not(), atom);
+
+        // Renumber reachable nodes (in order of tests) and used atoms.
+        ArrayList<Integer> nodes = new ArrayList<>();
+        collectNodes(root, manager, nodes, new HashMap<Integer, Boolean>());
+        nodes.sort((Integer a, Integer b) -> Integer.compare(manager.tests.get(a), manager.tests.get(b)));
+
+        HashMap<Integer, Integer> nodeIndices = new HashMap<>();
+        HashMap<Integer, Integer> atomIndices = new HashMap<>();
+        ArrayList<ASTExpression> atoms = new ArrayList<>();
+        for (int node : nodes) {
+            nodeIndices.put(node, nodeIndices.size());
+            int atomIndex = manager.tests.get(node);
+            if (!atomIndices.containsKey(atomIndex)) {
+                atomIndices.put(atomIndex, atoms.size());
+                atoms.add(manager.atoms.get(atomIndex));
+            }
+        }
+
+        int[] tests = new int[nodes.size()];
+        int[] low = new int[nodes.size()];
+        int[] high = new int[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            int node = nodes.get(i);
+            tests[i] = atomIndices.get(manager.tests.get(node));
+            low[i] = renumber(manager.low.get(node), nodeIndices);
+            high[i] = renumber(manager.high.get(node), nodeIndices);
+        }
+
+        return new ASTDecisionDiagram(atoms.toArray(new ASTExpression[atoms.size()]), tests, low, high, 0);
+    }
+
+    private void collectNodes(int node, Manager manager, ArrayList<Integer> nodes, HashMap<Integer, Boolean> visited) {
+        if (node < 0 || visited.containsKey(node))
+            return;
+
+        visited.put(node, true);
+        nodes.add(node);
+        collectNodes(manager.low.get(node), manager, nodes, visited);
+        collectNodes(manager.high.get(node), manager, nodes, visited);
+    }
+
+    private int renumber(int node, HashMap<Integer, Integer> nodeIndices) {
+        return node < 0 ? node : nodeIndices.get(node);
+    }
+
+    private ASTExpression unary(pl.mateuszchudyk.jmath.Operation operation, ASTExpression argument) {
+        return new ASTOperation(operation, new ASTExpression[] { argument });
+    }
+
+    private int getTruthTable(Class<?> type) {
+        if (type == pl.mateuszchudyk.jmath.operators.And.class)
+            return AND;
+        else if (type == pl.mateuszchudyk.jmath.operators.Or.class)
+            return OR;
+        else if (type == pl.mateuszchudyk.jmath.operators.Xor.class)
+            return XOR;
+        else if (type == pl.mateuszchudyk.jmath.operators.Nand.class)
+            return NAND;
+        else if (type == pl.mateuszchudyk.jmath.operators.Nor.class)
+            return NOR;
+        else if (type == pl.mateuszchudyk.jmath.operators.IfAndOnlyIf.class)
+            return IFF;
+        else
+            return CONSEQUENCE;
+    }
+
+    private boolean isLogical(ASTExpression ast) {
+        if (ast.getClass() == ASTDecisionDiagram.class)
+            return true;
+        else if (ast.getClass() != ASTOperation.class)
+            return false;
+
+        Class<?> type = ((ASTOperation)ast).getOperation().getClass();
+        return type == pl.mateuszchudyk.jmath.operators.And.class ||
+            type == pl.mateuszchudyk.jmath.operators.Or.class ||
+            type == pl.mateuszchudyk.jmath.operators.Xor.class ||
+            type == pl.mateuszchudyk.jmath.operators.Nand.class ||
+            type == pl.mateuszchudyk.jmath.operators.Nor.class ||
+            type == pl.mateuszchudyk.jmath.operators.Not.class ||
+            type == pl.mateuszchudyk.jmath.operators.IfAndOnlyIf.class ||
+            type == pl.mateuszchudyk.jmath.operators.Consequence.class;
+    }
+
+    private boolean isComparison(ASTExpression ast) {
+        if (ast.getClass() != ASTOperation.class)
+            return false;
+
+        Class<?> type = ((ASTOperation)ast).getOperation().getClass();
+        return type == pl.mateuszchudyk.jmath.operators.Equal.class ||
+            type == pl.mateuszchudyk.jmath.operators.NotEqual.class ||
+            type == pl.mateuszchudyk.jmath.operators.LessThen.class ||
+            type == pl.mateuszchudyk.jmath.operators.LessThenOrEqual.class ||
+            type == pl.mateuszchudyk.jmath.operators.GreaterThen.class ||
+            type == pl.mateuszchudyk.jmath.operators.GreaterThenOrEqual.class ||
+            type == pl.mateuszchudyk.jmath.functions.RangeTest.class;
+    }
+
+    private boolean isDeterministic(ASTExpression ast) {
+        if (ast.getClass() == ASTOperation.class && !((ASTOperation)ast).getOperation().isDeterministic())
+            return false;
+
+        for (int i = 0; i < ast.getNumberOfChildren(); i++) {
+            if (!isDeterministic(ast.getChild(i)))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+
+/**
+ * Discrimination tree.
+ *
+ * <p>Trie of rule patterns written in prefix order, where pattern variables
+ * are wildcards skipping the whole sub-expression. All rules which can match
+ * an expression are found in one walk over the expression.</p>
+ */
+class DiscriminationTree {
+    private static class Node {
+        final HashMap<String, Node> children = new HashMap<>();
+        Node wildcard = null;
+        final List<Integer> rules = new ArrayList<>();
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Add pattern.
+     *
+     * @param symbols Pattern symbols in prefix order (null for a variable).
+     * @param rule Rule index.
+     */
+    void add(List<String> symbols, int rule) {
+        Node node = root;
+        for (String symbol : symbols) {
+            Node next = (symbol == null ? node.wildcard : node.children.get(symbol));
+            if (next == null) {
+                next = new Node();
+                if (symbol == null)
+                    node.wildcard = next;
+                else
+                    node.children.put(symbol, next);
+            }
+            node = next;
+        }
+        node.rules.add(rule);
+    }
+
+    /**
+     * Find rules which can match the expression.
+     *
+     * @param ast Expression.
+     * @return Indices of candidate rules in ascending order.
+     */
+    int[] find(ASTExpression ast) {
+        List<Integer> result = new ArrayList<>();
+        find(root, new Pending(ast, null), result);
+
+        int[] rules = new int[result.size()];
+        for (int i = 0; i < rules.length; i++)
+            rules[i] = result.get(i);
+        Arrays.sort(rules);
+        return rules;
+    }
+
+    /**
+     * Sub-expressions still to be matched (immutable stack), so only the part
+     * of the expression covered by patterns is visited.
+     */
+    private static class Pending {
+        final ASTExpression ast;
+        final Pending next;
+
+        Pending(ASTExpression ast, Pending next) {
+            this.ast = ast;
+            this.next = next;
+        }
+    }
+
+    private void find(Node node, Pending pending, List<Integer> result) {
+        if (pending == null) {
+            result.addAll(node.rules);
+            return;
+        }
+
+        ASTExpression ast = pending.ast;
+        Node next = node.children.get(RewriteRule.getSymbol(ast));
+        if (next != null) {
+            Pending rest = pending.next;
+            if (ast.getClass() == ASTOperation.class) {
+                for (int i = ast.getNumberOfChildren()-1; i >= 0; i--)
+                    rest = new Pending(ast.getChild(i), rest);
+            }
+            find(next, rest, result);
+        }
+        if (node.wildcard != null)
+            find(node.wildcard, pending.next, result);
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import pl.mateuszchudyk.jmath.CostModel;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * E-graph, a compact representation of many equivalent expressions.
+ *
+ * <p>Nodes are grouped into classes of equivalent expressions, children of
+ * nodes are classes. Classes are merged by union-find and nodes are
+ * hashconsed, so each node is stored only once. Values of constant classes
+ * are tracked, so constant folding is done during saturation.</p>
+ */
+class EGraph {
+    private static class Node {
+        final String key;
+        final ASTExpression template;
+        final int[] children;
+
+        Node(String key, ASTExpression template, int[] children) {
+            this.key = key;
+            this.template = template;
+            this.children = children;
+        }
+    }
+
+    private final List<Integer> parents;
+    private final List<List<Node>> classes;
+    private final List<Double> values;
+    private final HashMap<String, Integer> hashcons;
+    private final IdentityHashMap<Object, Integer> identities;
+    private int numberOfNodes;
+
+    EGraph() {
+        parents = new ArrayList<>();
+        classes = new ArrayList<>();
+        values = new ArrayList<>();
+        hashcons = new HashMap<>();
+        identities = new IdentityHashMap<>();
+        numberOfNodes = 0;
+    }
+
+    /**
+     * Get number of nodes.
+     */
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    /**
+     * Get canonical id of the class.
+     */
+    int find(int id) {
+        while (parents.get(id) != id) {
+            parents.set(id, parents.get(parents.get(id)));
+            id = parents.get(id);
+        }
+        return id;
+    }
+
+    /**
+     * Add expression, return id of its class.
+     */
+    int add(ASTExpression ast) {
+        int[] children = new int[ast.getNumberOfChildren()];
+        for (int i = 0; i < children.length; i++)
+            children[i] = add(ast.getChild(i));
+        return add(ast, children);
+    }
+
+    /**
+     * Add node with the given children classes, return id of its class.
+     */
+    int add(ASTExpression template, int[] children) {
+        for (int i = 0; i < children.length; i++)
+            children[i] = find(children[i]);
+
+        String key = getKey(template, children);
+        Integer existing = hashcons.get(key);
+        if (existing != null)
+            return find(existing);
+
+        int id = classes.size();
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(new Node(key, template, children));
+        parents.add(id);
+        classes.add(nodes);
+        values.add(null);
+        hashcons.put(key, id);
+        numberOfNodes++;
+
+        Double value = fold(template, children);
+        if (value != null) {
+            values.set(id, value);
+            if (template.getClass() != ASTImmidiateValue.class)
+                id = union(id, add(new ASTImmidiateValue(value), new int[0]));
+        }
+
+        return id;
+    }
+
+    /**
+     * Merge two classes, return id of the merged class.
+     */
+    int union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b)
+            return a;
+
+        if (classes.get(a).size() < classes.get(b).size()) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+
+        parents.set(b, a);
+        classes.get(a).addAll(classes.get(b));
+        classes.set(b, null);
+        if (values.get(a) == null)
+            values.set(a, values.get(b));
+        return a;
+    }
+
+    /**
+     * Restore hashconsing after merges: nodes which became equal after their
+     * children were merged are merged too and new constants are folded.
+     */
+    void rebuild() {
+        boolean changed;
+        do {
+            List<int[]> merges = new ArrayList<>();
+            hashcons.clear();
+            numberOfNodes = 0;
+            for (int id = 0; id < classes.size(); id++) {
+                if (classes.get(id) == null)
+                    continue;
+
+                List<Node> canonical = new ArrayList<>();
+                for (Node node : classes.get(id)) {
+                    int[] children = new int[node.children.length];
+                    for (int i = 0; i < children.length; i++)
+                        children[i] = find(node.children[i]);
+
+                    String key = getKey(node.template, children);
+                    Integer existing = hashcons.get(key);
+                    if (existing == null) {
+                        hashcons.put(key, id);
+                        canonical.add(new Node(key, node.template, children));
+                    }
+                    else if (existing != id)
+                        merges.add(new int[] { existing, id });
+                }
+                classes.set(id, canonical);
+                numberOfNodes += canonical.size();
+            }
+
+            List<Double> folded = new ArrayList<>();
+            List<Integer> foldedClasses = new ArrayList<>();
+            for (int id = 0; id < classes.size(); id++) {
+                if (classes.get(id) == null || values.get(id) != null)
+                    continue;
+
+                for (Node node : classes.get(id)) {
+                    Double value = fold(node.template, node.children);
+                    if (value != null) {
+                        folded.add(value);
+                        foldedClasses.add(id);
+                        break;
+                    }
+                }
+            }
+
+            for (int[] merge : merges)
+                union(merge[0], merge[1]);
+            for (int i = 0; i < folded.size(); i++) {
+                int id = find(foldedClasses.get(i));
+                if (values.get(id) == null)
+                    values.set(id, folded.get(i));
+                union(id, add(new ASTImmidiateValue(folded.get(i)), new int[0]));
+            }
+            changed = !merges.isEmpty() || !folded.isEmpty();
+        } while (changed);
+    }
+
+    /**
+     * Get value of the class or null if it isn't a constant.
+     */
+    Double getValue(int id) {
+        return values.get(find(id));
+    }
+
+    /**
+     * Check if no expression of the class contains non-deterministic
+     * operations.
+     */
+    boolean isPure(int id) {
+        return isPure(find(id), new HashMap<Integer, Boolean>());
+    }
+
+    /**
+     * Find all matches of the pattern in the class.
+     */
+    List<Map<String, Integer>> match(ASTExpression pattern, int id) {
+        List<Map<String, Integer>> result = new ArrayList<>();
+        match(pattern, find(id), new HashMap<String, Integer>(), result);
+        return result;
+    }
+
+    /**
+     * Add instance of the expression with pattern variables replaced by
+     * bound classes, return id of its class.
+     */
+    int instantiate(ASTExpression ast, Map<String, Integer> bindings) {
+        if (ast.getClass() == ASTVariable.class)
+            return find(bindings.get(((ASTVariable)ast).getVariable().getName()));
+
+        int[] children = new int[ast.getNumberOfChildren()];
+        for (int i = 0; i < children.length; i++)
+            children[i] = instantiate(ast.getChild(i), bindings);
+        return add(ast, children);
+    }
+
+    /**
+     * Get ids of all canonical classes.
+     */
+    List<Integer> getClasses() {
+        List<Integer> result = new ArrayList<>();
+        for (int id = 0; id < classes.size(); id++) {
+            if (classes.get(id) != null)
+                result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * Extract the cheapest expression of the class.
+     */
+    ASTExpression extract(int root, CostModel costModel) {
+        int size = classes.size();
+        double[] costs = new double[size];
+        Node[] best = new Node[size];
+        java.util.Arrays.fill(costs, Double.POSITIVE_INFINITY);
+
+        boolean changed;
+        do {
+            changed = false;
+            for (int id = 0; id < size; id++) {
+                if (classes.get(id) == null)
+                    continue;
+
+                for (Node node : classes.get(id)) {
+                    double cost = costModel.getNodeCost(node.template);
+                    for (int child : node.children)
+                        cost += costs[find(child)];
+
+                    if (cost < costs[id]) {
+                        costs[id] = cost;
+                        best[id] = node;
+                        changed = true;
+                    }
+                }
+            }
+        } while (changed);
+
+        return build(find(root), best);
+    }
+
+    private ASTExpression build(int id, Node[] best) {
+        Node node = best[id];
+        if (node.children.length == 0)
+            return node.template;
+
+        ASTExpression[] children = new ASTExpression[node.children.length];
+        for (int i = 0; i < children.length; i++)
+            children[i] = build(find(node.children[i]), best);
+        return node.template.copy(children);
+    }
+
+    private void match(ASTExpression pattern, int id, Map<String, Integer> bindings, List<Map<String, Integer>> result) {
+        if (pattern.getClass() == ASTVariable.class) {
+            String name = ((ASTVariable)pattern).getVariable().getName();
+            Integer bound = bindings.get(name);
+            if (bound == null) {
+                HashMap<String, Integer> extended = new HashMap<>(bindings);
+                extended.put(name, id);
+                result.add(extended);
+            }
+            else if (find(bound) == id)
+                result.add(bindings);
+        }
+        else if (pattern.getClass() == ASTImmidiateValue.class) {
+            Double value = values.get(id);
+            if (value != null && value.doubleValue() == getImmidiateValue(pattern))
+                result.add(bindings);
+        }
+        else if (pattern.getClass() == ASTOperation.class) {
+            ASTOperation operation = (ASTOperation)pattern;
+            for (Node node : classes.get(id)) {
+                if (node.template.getClass() != ASTOperation.class ||
+                    ((ASTOperation)node.template).getOperation().getClass() != operation.getOperation().getClass() ||
+                    node.children.length != operation.getNumberOfArguments())
+                {
+                    continue;
+                }
+
+                List<Map<String, Integer>> partial = new ArrayList<>();
+                partial.add(bindings);
+                for (int i = 0; i < node.children.length && !partial.isEmpty(); i++) {
+                    List<Map<String, Integer>> next = new ArrayList<>();
+                    for (Map<String, Integer> candidate : partial)
+                        match(operation.getArgument(i), find(node.children[i]), candidate, next);
+                    partial = next;
+                }
+                result.addAll(partial);
+            }
+        }
+    }
+
+    private boolean isPure(int id, Map<Integer, Boolean> visited) {
+        Boolean known = visited.get(id);
+        if (known != null)
+            return known;
+
+        // Cycles don't add new operations, so the class is assumed pure while
+        // it's visited.
+        visited.put(id, true);
+        boolean result = true;
+        for (Node node : classes.get(id)) {
+            if (node.template.getClass() == ASTOperation.class &&
+                !((ASTOperation)node.template).getOperation().isDeterministic())
+            {
+                result = false;
+            }
+            for (int i = 0; i < node.children.length && result; i++)
+                result = isPure(find(node.children[i]), visited);
+            if (!result)
+                break;
+        }
+        visited.put(id, result);
+        return result;
+    }
+
+    private Double fold(ASTExpression template, int[] children) {
+        if (template.getClass() == ASTImmidiateValue.class)
+            return getImmidiateValue(template);
+        if (template.getClass() != ASTOperation.class || children.length == 0 ||
+            !((ASTOperation)template).getOperation().isDeterministic())
+        {
+            return null;
+        }
+
+        ASTExpression[] arguments = new ASTExpression[children.length];
+        for (int i = 0; i < children.length; i++) {
+            Double value = values.get(find(children[i]));
+            if (value == null)
+                return null;
+            arguments[i] = new ASTImmidiateValue(value);
+        }
+
+        try {
+            Double value = template.copy(arguments).evaluate(null);
+            return (value == null || value.isNaN() ? null : value);
+        }
+        catch (EvaluationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private String getKey(ASTExpression template, int[] children) {
+        StringBuilder result = new StringBuilder();
+        if (template.getClass() == ASTImmidiateValue.class)
+            result.append('#').append(Double.doubleToLongBits(getImmidiateValue(template)));
+        else if (template.getClass() == ASTVariable.class)
+            result.append('$').append(((ASTVariable)template).getVariable().getName());
+        else if (template.getClass() == ASTOperation.class &&
+                 ((ASTOperation)template).getOperation().isDeterministic())
+        {
+            pl.mateuszchudyk.jmath.Operation operation = ((ASTOperation)template).getOperation();
+            result.append(operation.getClass().getName()).append(':').append(operation.getName());
+            if (operation instanceof pl.mateuszchudyk.jmath.functions.DomainCheckedFunction &&
+                !((pl.mateuszchudyk.jmath.functions.DomainCheckedFunction)operation).isCheckingDomain())
+            {
+                result.append('!');
+            }
+            if (operation instanceof pl.mateuszchudyk.jmath.functions.ElementaryFunction &&
+                ((pl.mateuszchudyk.jmath.functions.ElementaryFunction)operation).getMathMode() == pl.mateuszchudyk.jmath.MathMode.Fast)
+            {
+                result.append('~');
+            }
+        }
+        else {
+            // Non-deterministic operations and other nodes are never merged
+            // with equal looking nodes.
+            Integer identity = identities.get(template);
+            if (identity == null) {
+                identity = identities.size();
+                identities.put(template, identity);
+            }
+            result.append('@').append(identity);
+        }
+
+        for (int child : children)
+            result.append(',').append(child);
+        return result.toString();
+    }
+
+    private static double getImmidiateValue(ASTExpression ast) {
+        try {
+            return ast.evaluate(null);
+        }
+        catch (EvaluationException ex) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import pl.mateuszchudyk.jmath.CostModel;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+/**
+ * Equality saturation.
+ *
+ * <p>Instead of applying rewrites greedily one by one (where the order of
+ * rewrites matters and the result can be stuck in a local optimum), all
+ * equivalent forms of the expression are collected in an e-graph by applying
+ * algebraic identities (see {@link RewriteRule}) until no new form is found
+ * or limits are reached. Then the cheapest form according to the
+ * {@link CostModel} is extracted, e.g.: <i>x * y + x * z = x * (y + z)</i> or
+ * <i>(x + 1) - x = 1</i>. Constants are folded during saturation.</p>
+ *
+ * <p>By default only identities exact in floating point arithmetic are used
+ * (e.g. commutativity). Identities like reassociation or distributivity are
+ * valid for real numbers, but not for floating point ones (the result can
+ * differ in the last bits, for infinities or NaN), so they are used only in
+ * fast-math mode. Saturation is expensive, so the pass is run once on the
+ * whole expression (see {@link GlobalOptimizationPass}) and it is added by
+ * default only to the optimizer of the highest level.</p>
+ *
+ * <p>Identities which would hide domain errors, e.g. <i>log(x) + log(y) =
+ * log(x * y)</i> for negative <i>x</i> and <i>y</i> or <i>exp(log(x)) =
+ * x</i> for <i>x = 0</i>, are used only if range analysis proves that the
+ * arguments are positive.</p>
+ */
+public class EqualitySaturation implements GlobalOptimizationPass {
+    /**
+     * Default maximal number of e-graph nodes.
+     */
+    public static final int DEFAULT_MAX_NODES = 10000;
+
+    /**
+     * Default time limit in milliseconds.
+     */
+    public static final long DEFAULT_TIME_LIMIT = 100;
+
+    private static final int MAX_ITERATIONS = 30;
+
+    // Identities exact in floating point arithmetic, for all arguments.
+    private static final String[] RULES = {
+        "x + y -> y + x",
+        "x + x -> 2 * x",
+        "x + -y -> x - y",
+        "x - y -> x + -y",
+        "-(-x) -> x",
+        "-x * y -> -(x * y)",
+        "-(x * y) -> -x * y",
+        "x * y -> y * x",
+        "x * 1 -> x",
+        "x / 1 -> x",
+        "x ^ 1 -> x",
+        "x and y -> y and x",
+        "x or y -> y or x",
+        "to_logical(to_logical(x)) -> to_logical(x)",
+        "abs(-x) -> abs(x)",
+        "abs(abs(x)) -> abs(x)",
+    };
+
+    // Identities of real numbers, used only in fast-math mode.
+    private static final String[] FAST_MATH_RULES = {
+        // Addition.
+        "(x + y) + z -> x + (y + z)",
+        "x + (y + z) -> (x + y) + z",
+        "x + 0 -> x",
+        // Subtraction.
+        "x - x -> 0 when pure(x)",
+        // Multiplication.
+        "(x * y) * z -> x * (y * z)",
+        "x * (y * z) -> (x * y) * z",
+        "x * 0 -> 0 when pure(x)",
+        "x * y + x * z -> x * (y + z)",
+        "x * (y + z) -> x * y + x * z",
+        "x * x -> x ^ 2",
+        "x * x ^ y -> x ^ (y + 1) when const(y) and positive(x)",
+        "x ^ y * x ^ z -> x ^ (y + z) when const(y) and const(z) and positive(x)",
+        // Division.
+        "x / y -> x * (1 / y) when const(y)",
+        // Exponentiation.
+        "x ^ 2 -> x * x",
+        "x ^ 0 -> 1 when positive(x)",
+        // Logical operators (NaN is FALSE for them, but TRUE for to_logical).
+        "x and x -> to_logical(x) when pure(x)",
+        "x or x -> to_logical(x) when pure(x)",
+        "not(not(x)) -> to_logical(x)",
+        // Functions.
+        "exp(log(x)) -> x when positive(x)",
+        "log(exp(x)) -> x",
+        "exp(x) * exp(y) -> exp(x + y)",
+        "log(x) + log(y) -> log(x * y) when positive(x) and positive(y)",
+        "sqrt(x) * sqrt(y) -> sqrt(x * y) when positive(x) and positive(y)",
+        "sqrt(x) * sqrt(x) -> x when positive(x)",
+    };
+
+    private static final List<RewriteRule> PARSED_RULES = parseRules(RULES);
+    private static final List<RewriteRule> PARSED_FAST_MATH_RULES = parseRules(FAST_MATH_RULES);
+
+    private final CostModel costModel;
+    private final int maxNodes;
+    private final long timeLimit;
+    private final List<RewriteRule> rules;
+
+    /**
+     * Constructor. Default cost model and limits are used, fast-math mode is
+     * disabled.
+     */
+    public EqualitySaturation() {
+        this(new CostModel());
+    }
+
+    /**
+     * Constructor. Default limits are used, fast-math mode is disabled.
+     *
+     * @param costModel Cost model used to extract the cheapest expression.
+     */
+    public EqualitySaturation(CostModel costModel) {
+        this(costModel, false);
+    }
+
+    /**
+     * Constructor. Default limits are used.
+     *
+     * @param costModel Cost model used to extract the cheapest expression.
+     * @param fastMath Enable identities which are exact only for real numbers.
+     */
+    public EqualitySaturation(CostModel costModel, boolean fastMath) {
+        this(costModel, DEFAULT_MAX_NODES, DEFAULT_TIME_LIMIT, fastMath);
+    }
+
+    /**
+     * Constructor. Fast-math mode is disabled.
+     *
+     * @param costModel Cost model used to extract the cheapest expression.
+     * @param maxNodes Maximal number of e-graph nodes.
+     * @param timeLimit Time limit of saturation in milliseconds, 0 means no
+     * limit.
+     */
+    public EqualitySaturation(CostModel costModel, int maxNodes, long timeLimit) {
+        this(costModel, maxNodes, timeLimit, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param costModel Cost model used to extract the cheapest expression.
+     * @param maxNodes Maximal number of e-graph nodes.
+     * @param timeLimit Time limit of saturation in milliseconds, 0 means no
+     * limit.
+     * @param fastMath Enable identities which are exact only for real numbers.
+     */
+    public EqualitySaturation(CostModel costModel, int maxNodes, long timeLimit, boolean fastMath) {
+        this.costModel = costModel;
+        this.maxNodes = maxNodes;
+        this.timeLimit = timeLimit;
+        this.rules = new ArrayList<>(PARSED_RULES);
+        if (fastMath)
+            this.rules.addAll(PARSED_FAST_MATH_RULES);
+    }
+
+    /**
+     * Add identity used during saturation.
+     *
+     * <p>Rules are applied in both directions only if both directions are
+     * added.</p>
+     *
+     * @param rule Rule to be added.
+     */
+    public void addRule(RewriteRule rule) {
+        rules.add(rule);
+    }
+
+    /**
+     * Get identities used during saturation.
+     *
+     * @return List of rules.
+     */
+    public List<RewriteRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        long deadline = (timeLimit > 0 ? System.nanoTime() + timeLimit * 1000000 : 0);
+        EGraph graph = new EGraph();
+        int root = graph.add(ast);
+        graph.rebuild();
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            List<RewriteRule> matchedRules = new ArrayList<>();
+            List<Integer> matchedClasses = new ArrayList<>();
+            List<Map<String, Integer>> matches = new ArrayList<>();
+            for (RewriteRule rule : rules) {
+                for (int id : graph.getClasses()) {
+                    for (final Map<String, Integer> bindings : graph.match(rule.getPattern(), id)) {
+                        boolean accepted = rule.checkConditions(new RewriteRule.ConditionChecker() {
+                            @Override
+                            public Double getValue(String variable) {
+                                return graph.getValue(bindings.get(variable));
+                            }
+
+                            @Override
+                            public boolean isPure(String variable) {
+                                return graph.isPure(bindings.get(variable));
+                            }
+
+                            @Override
+                            public boolean isPositive(String variable) {
+                                ASTExpression expression = graph.extract(bindings.get(variable), costModel);
+                                return RangeAnalysis.getRange(expression).getMin() > 0;
+                            }
+                        });
+                        if (accepted) {
+                            matchedRules.add(rule);
+                            matchedClasses.add(id);
+                            matches.add(bindings);
+                        }
+                    }
+                }
+                if (isTimedOut(deadline))
+                    break;
+            }
+
+            int nodes = graph.getNumberOfNodes();
+            int classes = graph.getClasses().size();
+            for (int i = 0; i < matches.size() && graph.getNumberOfNodes() < maxNodes; i++) {
+                int id = graph.instantiate(matchedRules.get(i).getReplacement(), matches.get(i));
+                graph.union(matchedClasses.get(i), id);
+            }
+            graph.rebuild();
+
+            boolean saturated = (graph.getNumberOfNodes() == nodes && graph.getClasses().size() == classes);
+            if (saturated || graph.getNumberOfNodes() >= maxNodes || isTimedOut(deadline))
+                break;
+        }
+
+        ASTExpression result = graph.extract(root, costModel);
+        if (costModel.getCost(result) < costModel.getCost(ast))
+            return result;
+        else
+            return null;
+    }
+
+    private boolean isTimedOut(long deadline) {
+        return deadline != 0 && System.nanoTime() - deadline > 0;
+    }
+
+    private static List<RewriteRule> parseRules(String[] rules) {
+        List<RewriteRule> result = new ArrayList<>();
+        try {
+            for (String rule : rules)
+                result.add(RewriteRule.parse(rule));
+        }
+        catch (ParseException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
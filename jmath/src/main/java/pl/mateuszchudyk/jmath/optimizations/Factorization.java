@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+
+/**
+ * Factorization.
+ *
+ * <p>Factor out multiplicands and divisors common to many terms of a sum,
+ * e.g.: <i>a * x + a * y - a * z = a * (x + y - z)</i> or
+ * <i>x / d + y / d = (x + y) / d</i>, so fewer multiplications and divisions
+ * are evaluated. The most frequent factor is factored out first, the rest is
+ * done when the pass is run again.</p>
+ *
+ * <p>Distributivity doesn't hold for floating point numbers, so the result
+ * can differ in the last bits. Optimizer adds this pass only in fast-math
+ * mode. Factors containing non-deterministic operations are never factored
+ * out.</p>
+ *
+ * <p>Number of removed multiplications and divisions is reported by the
+ * optimizer (see
+ * {@link pl.mateuszchudyk.jmath.PassStatistics#getRemovedOperations(Class)}).</p>
+ */
+public class Factorization implements OptimizationPass {
+    private static class Term {
+        final boolean negative;
+        final List<ASTExpression> multiplicands;
+        final List<ASTExpression> divisors;
+
+        Term(boolean negative, List<ASTExpression> multiplicands, List<ASTExpression> divisors) {
+            this.negative = negative;
+            this.multiplicands = multiplicands;
+            this.divisors = divisors;
+        }
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (!isOperation(ast, pl.mateuszchudyk.jmath.operators.Addition.class) &&
+            !isOperation(ast, pl.mateuszchudyk.jmath.operators.Subtraction.class))
+        {
+            return null;
+        }
+
+        List<Term> terms = new ArrayList<>();
+        collectTerms(ast, false, terms);
+        if (terms.size() < 2)
+            return null;
+
+        for (boolean divisors : new boolean[] { false, true }) {
+            ASTExpression result = factorOut(terms, divisors);
+            if (result == null)
+                continue;
+
+            long multiplications = count(ast, pl.mateuszchudyk.jmath.operators.Multiplication.class) -
+                count(result, pl.mateuszchudyk.jmath.operators.Multiplication.class);
+            long divisions = count(ast, pl.mateuszchudyk.jmath.operators.Division.class) -
+                count(result, pl.mateuszchudyk.jmath.operators.Division.class);
+            if (multiplications + divisions > 0)
+                return result;
+        }
+
+        return null;
+    }
+
+    private ASTExpression factorOut(List<Term> terms, boolean divisors) {
+        // Find the factor occurring in the largest number of terms.
+        LinkedHashMap<String, Integer> counts = new LinkedHashMap<>();
+        LinkedHashMap<String, ASTExpression> factors = new LinkedHashMap<>();
+        for (Term term : terms) {
+            LinkedHashMap<String, Boolean> seen = new LinkedHashMap<>();
+            for (ASTExpression factor : (divisors ? term.divisors : term.multiplicands)) {
+                String key = factor.toString();
+                if (!isPure(factor) || seen.containsKey(key))
+                    continue;
+
+                seen.put(key, true);
+                factors.put(key, factor);
+                counts.put(key, counts.containsKey(key) ? counts.get(key) + 1 : 1);
+            }
+        }
+
+        String best = null;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() >= 2 && (best == null || entry.getValue() > counts.get(best)))
+                best = entry.getKey();
+        }
+        if (best == null)
+            return null;
+
+        List<Term> grouped = new ArrayList<>();
+        List<Term> others = new ArrayList<>();
+        for (Term term : terms) {
+            List<ASTExpression> list = (divisors ? term.divisors : term.multiplicands);
+            int index = indexOf(list, best);
+            if (index < 0) {
+                others.add(term);
+                continue;
+            }
+
+            List<ASTExpression> rest = new ArrayList<>(list);
+            rest.remove(index);
+            grouped.add(divisors ?
+                new Term(term.negative, term.multiplicands, rest) :
+                new Term(term.negative, rest, term.divisors));
+        }
+
+        // If all grouped terms are negative, the whole group is subtracted.
+        boolean negative = true;
+        for (Term term : grouped)
+            negative &= term.negative;
+
+        List<Term> inner = new ArrayList<>();
+        for (Term term : grouped) {
+            if (!term.negative || negative)
+                inner.add(new Term(term.negative && !negative, term.multiplicands, term.divisors));
+        }
+        for (Term term : grouped) {
+            if (term.negative && !negative)
+                inner.add(term);
+        }
+
+        ASTExpression factor = factors.get(best);
+        ASTExpression sum = sum(inner);
+        ASTExpression factored = (divisors ?
+            operation(new pl.mateuszchudyk.jmath.operators.Division(), sum, factor) :
+            operation(new pl.mateuszchudyk.jmath.operators.Multiplication(), factor, sum));
+
+        List<Term> outer = new ArrayList<>();
+        List<ASTExpression> factoredList = new ArrayList<>();
+        factoredList.add(factored);
+        outer.add(new Term(negative, factoredList, new ArrayList<ASTExpression>()));
+        outer.addAll(others);
+        if (negative && !others.isEmpty()) {
+            // Start with a positive term to avoid negation.
+            for (int i = 1; i < outer.size(); i++) {
+                if (!outer.get(i).negative) {
+                    outer.add(0, outer.remove(i));
+                    break;
+                }
+            }
+        }
+
+        return sum(outer);
+    }
+
+    private void collectTerms(ASTExpression ast, boolean negative, List<Term> terms) {
+        if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Addition.class)) {
+            ASTOperation operation = (ASTOperation)ast;
+            for (int i = 0; i < operation.getNumberOfArguments(); i++)
+                collectTerms(operation.getArgument(i), negative, terms);
+        }
+        else if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Subtraction.class)) {
+            ASTOperation operation = (ASTOperation)ast;
+            collectTerms(operation.getArgument(0), negative, terms);
+            collectTerms(operation.getArgument(1), !negative, terms);
+        }
+        else {
+            List<ASTExpression> multiplicands = new ArrayList<>();
+            List<ASTExpression> divisors = new ArrayList<>();
+            collectFactors(ast, multiplicands, divisors);
+            terms.add(new Term(negative, multiplicands, divisors));
+        }
+    }
+
+    private void collectFactors(ASTExpression ast, List<ASTExpression> multiplicands, List<ASTExpression> divisors) {
+        if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Multiplication.class)) {
+            ASTOperation operation = (ASTOperation)ast;
+            for (int i = 0; i < operation.getNumberOfArguments(); i++)
+                collectFactors(operation.getArgument(i), multiplicands, divisors);
+        }
+        else if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Division.class)) {
+            ASTOperation operation = (ASTOperation)ast;
+            collectFactors(operation.getArgument(0), multiplicands, divisors);
+            divisors.add(operation.getArgument(1));
+        }
+        else
+            multiplicands.add(ast);
+    }
+
+    private ASTExpression sum(List<Term> terms) {
+        ASTExpression result = null;
+        for (Term term : terms) {
+            ASTExpression product = product(term);
+            if (result == null)
+                result = (term.negative ? operation(new pl.mateuszchudyk.jmath.operators.AdditiveInverse(), product) : product);
+            else if (term.negative)
+                result = operation(new pl.mateuszchudyk.jmath.operators.Subtraction(), result, product);
+            else
+                result = operation(new pl.mateuszchudyk.jmath.operators.Addition(), result, product);
+        }
+        return result;
+    }
+
+    private ASTExpression product(Term term) {
+        ASTExpression result = null;
+        for (ASTExpression multiplicand : term.multiplicands)
+            result = (result == null ? multiplicand : operation(new pl.mateuszchudyk.jmath.operators.Multiplication(), result, multiplicand));
+        if (result == null)
+            result = new ASTImmidiateValue(1.0);
+        for (ASTExpression divisor : term.divisors)
+            result = operation(new pl.mateuszchudyk.jmath.operators.Division(), result, divisor);
+        return result;
+    }
+
+    private ASTExpression operation(pl.mateuszchudyk.jmath.Operation operation, ASTExpression... arguments) {
+        return new ASTOperation(operation, arguments);
+    }
+
+    private long count(ASTExpression ast, Class<?> type) {
+        long result = (isOperation(ast, type) ? Math.max(1, ast.getNumberOfChildren() - 1) : 0);
+        for (int i = 0; i < ast.getNumberOfChildren(); i++)
+            result += count(ast.getChild(i), type);
+        return result;
+    }
+
+    private int indexOf(List<ASTExpression> list, String key) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).toString().equals(key))
+                return i;
+        }
+        return -1;
+    }
+
+    private boolean isPure(ASTExpression ast) {
+        if (ast.getClass() == ASTOperation.class && !((ASTOperation)ast).getOperation().isDeterministic())
+            return false;
+
+        for (int i = 0; i < ast.getNumberOfChildren(); i++) {
+            if (!isPure(ast.getChild(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean isOperation(ASTExpression expression, Class<?> type) {
+        return expression.getClass() == ASTOperation.class &&
+            ((ASTOperation)expression).getOperation().getClass() == type;
+    }
+}
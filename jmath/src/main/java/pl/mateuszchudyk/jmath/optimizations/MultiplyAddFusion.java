@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Multiply-add fusion.
+ *
+ * <p>Replace additions of a product by fused multiply-add, e.g.:
+ * <i>a * b + c = fma(a, b, c)</i>, <i>a * b - c = fma(a, b, -c)</i> or
+ * <i>c - a * b = fma(-a, b, c)</i>. In sums of many terms the first product
+ * is fused with the rest of the sum, so chains of products become nested
+ * calls, e.g.: <i>a * b + c * d + e = fma(a, b, fma(c, d, e))</i>.</p>
+ *
+ * <p>Fused multiply-add rounds only once, so the result is usually more
+ * accurate, but it differs in the last bits. Optimizer adds this pass only
+ * in fast-math mode.</p>
+ *
+ * <p>Negation is folded into a constant addend or multiplicand, e.g.:
+ * <i>a * b - 2 = fma(a, b, -2)</i> or <i>c - 3 * b = fma(-3, b, c)</i>.
+ * Otherwise it's kept as a separate node, which is cheaper together with
+ * fused multiply-add than a multiplication and a subtraction.</p>
+ *
+ * <p>Fused operations are reported by the optimizer (see
+ * {@link pl.mateuszchudyk.jmath.PassStatistics#getRemovedOperations(Class)}).</p>
+ */
+public class MultiplyAddFusion implements OptimizationPass {
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Addition.class)) {
+            int n = ast.getNumberOfChildren();
+            for (int i = 0; i < n; i++) {
+                if (!isOperation(ast.getChild(i), pl.mateuszchudyk.jmath.operators.Multiplication.class))
+                    continue;
+
+                ASTExpression[] rest = new ASTExpression[n - 1];
+                for (int j = 0, k = 0; j < n; j++) {
+                    if (j != i)
+                        rest[k++] = ast.getChild(j);
+                }
+                ASTExpression addend = (rest.length == 1 ? rest[0] :
+                    new ASTOperation(new pl.mateuszchudyk.jmath.operators.Addition(), rest));
+                return fma((ASTOperation)ast.getChild(i), false, addend);
+            }
+        }
+        else if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Subtraction.class)) {
+            ASTExpression left = ast.getChild(0);
+            ASTExpression right = ast.getChild(1);
+            if (isOperation(left, pl.mateuszchudyk.jmath.operators.Multiplication.class))
+                return fma((ASTOperation)left, false, negate(right));
+            if (isOperation(right, pl.mateuszchudyk.jmath.operators.Multiplication.class))
+                return fma((ASTOperation)right, true, left);
+        }
+
+        return null;
+    }
+
+    private ASTExpression fma(ASTOperation product, boolean negative, ASTExpression addend) {
+        int n = product.getNumberOfChildren();
+        ASTExpression[] factors = new ASTExpression[n];
+        for (int i = 0; i < n; i++)
+            factors[i] = product.getChild(i);
+
+        // The product is negated by negating a constant factor, if there is
+        // one, otherwise by negating the first factor.
+        for (int i = 0; negative && i < n; i++) {
+            ASTExpression factor = negateConstant(factors[i]);
+            if (factor != null) {
+                factors[i] = factor;
+                negative = false;
+            }
+        }
+        if (negative)
+            factors[0] = negate(factors[0]);
+
+        // Products of many multiplicands are split into the last one and the
+        // product of the others.
+        ASTExpression multiplier = factors[n - 1];
+        ASTExpression multiplicand = factors[0];
+        if (n > 2) {
+            ASTExpression[] others = new ASTExpression[n - 1];
+            System.arraycopy(factors, 0, others, 0, n - 1);
+            multiplicand = new ASTOperation(new pl.mateuszchudyk.jmath.operators.Multiplication(), others);
+        }
+
+        return new ASTOperation(new pl.mateuszchudyk.jmath.functions.FusedMultiplyAdd(),
+            new ASTExpression[] { multiplicand, multiplier, addend });
+    }
+
+    private ASTExpression negateConstant(ASTExpression expression) {
+        if (expression.getClass() == ASTImmidiateValue.class)
+            return negate(expression);
+
+        if (isOperation(expression, pl.mateuszchudyk.jmath.operators.Multiplication.class)) {
+            int n = expression.getNumberOfChildren();
+            for (int i = 0; i < n; i++) {
+                ASTExpression factor = negateConstant(expression.getChild(i));
+                if (factor == null)
+                    continue;
+
+                ASTExpression[] factors = new ASTExpression[n];
+                for (int j = 0; j < n; j++)
+                    factors[j] = (j == i ? factor : expression.getChild(j));
+                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Multiplication(), factors);
+            }
+        }
+
+        return null;
+    }
+
+    private ASTExpression negate(ASTExpression expression) {
+        if (expression.getClass() == ASTImmidiateValue.class) {
+            try {
+                return new ASTImmidiateValue(-expression.evaluate(null));
+            }
+            catch (EvaluationException ex) {
+                // Not evaluated, negate it by a node.
+            }
+        }
+        if (isOperation(expression, pl.mateuszchudyk.jmath.operators.AdditiveInverse.class))
+            return expression.getChild(0);
+
+        return new ASTOperation(new pl.mateuszchudyk.jmath.operators.AdditiveInverse(), new ASTExpression[] { expression });
+    }
+
+    private boolean isOperation(ASTExpression expression, Class<?> type) {
+        return expression.getClass() == ASTOperation.class &&
+            ((ASTOperation)expression).getOperation().getClass() == type;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.Arrays;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTLagrangePolynomial;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTPolynomial;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Polynomial rewriting.
+ *
+ * <p>Detect sums of monomials of one variable with constant coefficients,
+ * e.g.: <i>1 + 2 * x - 3 * x^2</i>, and replace them with {@link ASTPolynomial}
+ * which keeps the coefficients in a primitive array and evaluates the
+ * polynomial with Horner's (or Estrin's) scheme instead of one power per term.
+ * Only polynomials of degree at least 2 and at most {@link #MAX_DEGREE} are
+ * rewritten.</p>
+ *
+ * <p>Calls of <i>poly(x, a0, a1, ...)</i> with constant coefficients are
+ * replaced with {@link ASTPolynomial} as well (for any degree and any
+ * argument x), so coefficients are not read from boxed arguments on every
+ * evaluation.</p>
+ *
+ * <p>Calls of <i>lagrange(x, x1, y1, ...)</i> with constant points are
+ * replaced with {@link ASTLagrangePolynomial} which computes barycentric
+ * weights once instead of on every evaluation. Points with repeated nodes
+ * are left unchanged.</p>
+ */
+public class PolynomialRewriting implements OptimizationPass {
+    /**
+     * The highest degree of rewritten polynomial.
+     */
+    public static final int MAX_DEGREE = 32;
+
+    private static class Polynomial {
+        ASTVariable variable = null;
+        double[] coefficients = new double[MAX_DEGREE + 1];
+        int degree = 0;
+    }
+
+    private static class Monomial {
+        double coefficient;
+        int degree;
+
+        Monomial(double coefficient, int degree) {
+            this.coefficient = coefficient;
+            this.degree = degree;
+        }
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (isOperation(ast, pl.mateuszchudyk.jmath.functions.LagrangePolynomial.class))
+            return rewriteLagrange((ASTOperation)ast);
+        if (isOperation(ast, pl.mateuszchudyk.jmath.functions.Polynomial.class))
+            return rewritePolynomial((ASTOperation)ast);
+
+        if (!isOperation(ast, pl.mateuszchudyk.jmath.operators.Addition.class) &&
+            !isOperation(ast, pl.mateuszchudyk.jmath.operators.Subtraction.class))
+        {
+            return null;
+        }
+
+        Polynomial polynomial = new Polynomial();
+        if (!collectTerms(ast, 1, polynomial) || polynomial.variable == null)
+            return null;
+
+        while (polynomial.degree > 0 && polynomial.coefficients[polynomial.degree] == 0)
+            polynomial.degree--;
+        if (polynomial.degree < 2)
+            return null;
+
+        return new ASTPolynomial(polynomial.variable,
+            Arrays.copyOf(polynomial.coefficients, polynomial.degree + 1));
+    }
+
+    private ASTExpression rewritePolynomial(ASTOperation operation) {
+        double[] coefficients = new double[operation.getNumberOfArguments() - 1];
+        for (int i = 0; i < coefficients.length; i++) {
+            Double coefficient = getValue(operation.getArgument(i+1));
+            if (coefficient == null)
+                return null;
+            coefficients[i] = coefficient;
+        }
+
+        int degree = coefficients.length - 1;
+        while (degree > 0 && coefficients[degree] == 0)
+            degree--;
+
+        return new ASTPolynomial(operation.getArgument(0), Arrays.copyOf(coefficients, degree + 1));
+    }
+
+    private ASTExpression rewriteLagrange(ASTOperation operation) {
+        int numberOfPoints = (operation.getNumberOfArguments() - 1) / 2;
+        double[] nodes = new double[numberOfPoints];
+        double[] values = new double[numberOfPoints];
+        for (int i = 0; i < numberOfPoints; i++) {
+            Double node = getValue(operation.getArgument(1+2*i));
+            Double value = getValue(operation.getArgument(1+2*i+1));
+            if (node == null || value == null)
+                return null;
+            nodes[i] = node;
+            values[i] = value;
+        }
+
+        for (double weight : pl.mateuszchudyk.jmath.functions.LagrangePolynomial.getWeights(nodes)) {
+            if (Double.isInfinite(weight) || Double.isNaN(weight) || weight == 0)
+                return null;
+        }
+
+        return new ASTLagrangePolynomial(operation.getArgument(0), nodes, values);
+    }
+
+    private boolean collectTerms(ASTExpression ast, double sign, Polynomial polynomial) {
+        if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Addition.class)) {
+            ASTOperation operation = (ASTOperation)ast;
+            for (int i = 0; i < operation.getNumberOfArguments(); i++) {
+                if (!collectTerms(operation.getArgument(i), sign, polynomial))
+                    return false;
+            }
+            return true;
+        }
+        else if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Subtraction.class)) {
+            ASTOperation operation = (ASTOperation)ast;
+            return collectTerms(operation.getArgument(0), sign, polynomial) &&
+                collectTerms(operation.getArgument(1), -sign, polynomial);
+        }
+        else if (isOperation(ast, pl.mateuszchudyk.jmath.operators.AdditiveInverse.class)) {
+            return collectTerms(((ASTOperation)ast).getArgument(0), -sign, polynomial);
+        }
+        else if (ast.getClass() == ASTPolynomial.class) {
+            ASTPolynomial inner = (ASTPolynomial)ast;
+            if (!isVariable(inner.getArgument(), polynomial))
+                return false;
+
+            double[] coefficients = inner.getCoefficients();
+            for (int i = 0; i < coefficients.length; i++)
+                addTerm(polynomial, new Monomial(sign * coefficients[i], i));
+            return true;
+        }
+
+        Monomial monomial = getMonomial(ast, polynomial);
+        if (monomial == null)
+            return false;
+
+        monomial.coefficient *= sign;
+        addTerm(polynomial, monomial);
+        return true;
+    }
+
+    private void addTerm(Polynomial polynomial, Monomial monomial) {
+        polynomial.coefficients[monomial.degree] += monomial.coefficient;
+        polynomial.degree = Math.max(polynomial.degree, monomial.degree);
+    }
+
+    private Monomial getMonomial(ASTExpression ast, Polynomial polynomial) {
+        if (ast.getClass() == ASTImmidiateValue.class) {
+            Double value = getValue(ast);
+            return value == null ? null : new Monomial(value, 0);
+        }
+        else if (ast.getClass() == ASTVariable.class) {
+            return isVariable(ast, polynomial) ? new Monomial(1, 1) : null;
+        }
+        else if (ast.getClass() != ASTOperation.class) {
+            return null;
+        }
+
+        ASTOperation operation = (ASTOperation)ast;
+        Class<?> type = operation.getOperation().getClass();
+
+        if (type == pl.mateuszchudyk.jmath.operators.Multiplication.class) {
+            Monomial result = new Monomial(1, 0);
+            for (int i = 0; i < operation.getNumberOfArguments(); i++) {
+                Monomial factor = getMonomial(operation.getArgument(i), polynomial);
+                if (factor == null || result.degree + factor.degree > MAX_DEGREE)
+                    return null;
+                result.coefficient *= factor.coefficient;
+                result.degree += factor.degree;
+            }
+            return result;
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.Division.class) {
+            Monomial result = getMonomial(operation.getArgument(0), polynomial);
+            Double divider = getValue(operation.getArgument(1));
+            if (result == null || divider == null || divider == 0)
+                return null;
+            result.coefficient /= divider;
+            return result;
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.AdditiveInverse.class) {
+            Monomial result = getMonomial(operation.getArgument(0), polynomial);
+            if (result == null)
+                return null;
+            result.coefficient = -result.coefficient;
+            return result;
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.Exponentiation.class ||
+                 type == pl.mateuszchudyk.jmath.functions.Exponentiation.class)
+        {
+            Monomial base = getMonomial(operation.getArgument(0), polynomial);
+            Double exponent = getValue(operation.getArgument(1));
+            if (base == null || exponent == null || exponent < 0 || exponent != Math.floor(exponent) ||
+                base.degree * exponent > MAX_DEGREE)
+            {
+                return null;
+            }
+            return new Monomial(Math.pow(base.coefficient, exponent), (int)(base.degree * exponent));
+        }
+
+        return null;
+    }
+
+    private boolean isVariable(ASTExpression ast, Polynomial polynomial) {
+        if (ast.getClass() != ASTVariable.class)
+            return false;
+
+        ASTVariable variable = (ASTVariable)ast;
+        if (polynomial.variable == null) {
+            polynomial.variable = variable;
+            return true;
+        }
+
+        return polynomial.variable.getVariable().getName().equals(variable.getVariable().getName());
+    }
+
+    private boolean isOperation(ASTExpression expression, Class<?> type) {
+        return expression.getClass() == ASTOperation.class &&
+            ((ASTOperation)expression).getOperation().getClass() == type;
+    }
+
+    private Double getValue(ASTExpression expression) {
+        if (expression.getClass() != ASTImmidiateValue.class)
+            return null;
+
+        try {
+            return expression.evaluate(null);
+        }
+        catch (EvaluationException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.Range;
+import pl.mateuszchudyk.jmath.ast.ASTDecisionDiagram;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Range analysis.
+ *
+ * <p>Propagate ranges of values from constants and variables (see
+ * {@link pl.mateuszchudyk.jmath.Variable#getRange()}) through operators and
+ * functions. The result is conservative, if the range of an operation is
+ * unknown, it is <i>(-inf, +inf)</i>.</p>
+ *
+ * <p>Range <i>(-inf, +inf)</i> also means that the value can be NaN, e.g.
+ * of a variable without a declared range. Other ranges are only computed
+ * when the value can't be NaN, so NaN propagates as <i>(-inf, +inf)</i>
+ * through arithmetic and functions, and comparisons of such values aren't
+ * decided.</p>
+ */
+public final class RangeAnalysis {
+    private static final Range LOGICAL = new Range(0, 1);
+    private static final Range TRUE = new Range(1, 1);
+    private static final Range FALSE = new Range(0, 0);
+
+    private RangeAnalysis() {
+    }
+
+    /**
+     * Get range of the expression values.
+     *
+     * @param ast Expression.
+     * @return Range of the expression values.
+     */
+    public static Range getRange(ASTExpression ast) {
+        if (ast.getClass() == ASTImmidiateValue.class) {
+            try {
+                double value = ast.evaluate(null);
+                return Double.isNaN(value) ? Range.ALL : new Range(value, value);
+            }
+            catch (EvaluationException ex) {
+                return Range.ALL;
+            }
+        }
+        else if (ast.getClass() == ASTVariable.class)
+            return ((ASTVariable)ast).getVariable().getRange();
+        else if (ast.getClass() == ASTDecisionDiagram.class)
+            return LOGICAL;
+        else if (ast.getClass() != ASTOperation.class)
+            return Range.ALL;
+
+        ASTOperation operation = (ASTOperation)ast;
+        Class<?> type = operation.getOperation().getClass();
+        Range[] args = new Range[operation.getNumberOfArguments()];
+        boolean anyUnknown = false;
+        for (int i = 0; i < args.length; i++) {
+            args[i] = getRange(operation.getArgument(i));
+            anyUnknown |= isUnknown(args[i]);
+        }
+
+        /**
+         * Values which can be NaN. Comparisons and logical operators return
+         * TRUE or FALSE even for NaN (logical operators treat it as FALSE),
+         * but comparisons can't be decided.
+         */
+        if (anyUnknown && !isLogical(type))
+            return isComparison(type) ? LOGICAL : Range.ALL;
+
+        /**
+         * Arithmetic operators.
+         */
+        if (type == pl.mateuszchudyk.jmath.operators.Addition.class) {
+            double min = 0, max = 0;
+            for (Range arg : args) {
+                min += arg.getMin();
+                max += arg.getMax();
+            }
+            return range(min, max);
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.Subtraction.class)
+            return range(args[0].getMin() - args[1].getMax(), args[0].getMax() - args[1].getMin());
+        else if (type == pl.mateuszchudyk.jmath.operators.AdditiveInverse.class)
+            return range(-args[0].getMax(), -args[0].getMin());
+        else if (type == pl.mateuszchudyk.jmath.operators.Multiplication.class) {
+            Range result = args[0];
+            for (int i = 1; i < args.length && result != Range.ALL; i++)
+                result = multiply(result, args[i]);
+            return result;
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.Division.class) {
+            if (args[1].contains(0))
+                return Range.ALL;
+            return divide(args[0], args[1]);
+        }
+        /**
+         * Comparison operators.
+         */
+        else if (type == pl.mateuszchudyk.jmath.operators.LessThen.class)
+            return logical(args[0].getMax() < args[1].getMin(), args[0].getMin() >= args[1].getMax());
+        else if (type == pl.mateuszchudyk.jmath.operators.LessThenOrEqual.class)
+            return logical(args[0].getMax() <= args[1].getMin(), args[0].getMin() > args[1].getMax());
+        else if (type == pl.mateuszchudyk.jmath.operators.GreaterThen.class)
+            return logical(args[0].getMin() > args[1].getMax(), args[0].getMax() <= args[1].getMin());
+        else if (type == pl.mateuszchudyk.jmath.operators.GreaterThenOrEqual.class)
+            return logical(args[0].getMin() >= args[1].getMax(), args[0].getMax() < args[1].getMin());
+        else if (type == pl.mateuszchudyk.jmath.operators.Equal.class)
+            return logical(false, isDisjoint(args[0], args[1]));
+        else if (type == pl.mateuszchudyk.jmath.operators.NotEqual.class)
+            return logical(isDisjoint(args[0], args[1]), false);
+        /**
+         * Logical operators.
+         */
+        else if (type == pl.mateuszchudyk.jmath.operators.Not.class)
+            return logical(isFalse(args[0]), isTrue(args[0]));
+        else if (type == pl.mateuszchudyk.jmath.operators.And.class)
+            return logical(isTrue(args[0]) && isTrue(args[1]), isFalse(args[0]) || isFalse(args[1]));
+        else if (type == pl.mateuszchudyk.jmath.operators.Or.class)
+            return logical(isTrue(args[0]) || isTrue(args[1]), isFalse(args[0]) && isFalse(args[1]));
+        else if (type == pl.mateuszchudyk.jmath.operators.Nand.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Nor.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Xor.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Consequence.class ||
+                 type == pl.mateuszchudyk.jmath.operators.IfAndOnlyIf.class ||
+                 type == pl.mateuszchudyk.jmath.functions.Indicator.class ||
+                 type == pl.mateuszchudyk.jmath.functions.PrimalityTest.class ||
+                 type == pl.mateuszchudyk.jmath.functions.RangeTest.class)
+            return LOGICAL;
+        else if (type == pl.mateuszchudyk.jmath.functions.ToLogical.class)
+            return logical(isTrue(args[0]), isFalse(args[0]));
+        /**
+         * Functions.
+         */
+        else if (type == pl.mateuszchudyk.jmath.functions.AbsoluteValue.class) {
+            if (args[0].getMin() >= 0)
+                return args[0];
+            if (args[0].getMax() <= 0)
+                return range(-args[0].getMax(), -args[0].getMin());
+            return range(0, Math.max(-args[0].getMin(), args[0].getMax()));
+        }
+        else if (type == pl.mateuszchudyk.jmath.functions.Sign.class)
+            return range(Math.signum(args[0].getMin()), Math.signum(args[0].getMax()));
+        else if (type == pl.mateuszchudyk.jmath.functions.Clamp.class) {
+            return range(Math.min(Math.max(args[0].getMin(), args[1].getMin()), args[2].getMin()),
+                         Math.min(Math.max(args[0].getMax(), args[1].getMax()), args[2].getMax()));
+        }
+        else if (type == pl.mateuszchudyk.jmath.functions.Minimum.class) {
+            double min = args[0].getMin(), max = args[0].getMax();
+            for (Range arg : args) {
+                min = Math.min(min, arg.getMin());
+                max = Math.min(max, arg.getMax());
+            }
+            return range(min, max);
+        }
+        else if (type == pl.mateuszchudyk.jmath.functions.Maximum.class) {
+            double min = args[0].getMin(), max = args[0].getMax();
+            for (Range arg : args) {
+                min = Math.max(min, arg.getMin());
+                max = Math.max(max, arg.getMax());
+            }
+            return range(min, max);
+        }
+        else if (type == pl.mateuszchudyk.jmath.functions.Sine.class ||
+                 type == pl.mateuszchudyk.jmath.functions.Cosine.class)
+        {
+            // Sine and cosine of infinity are NaN.
+            if (Double.isInfinite(args[0].getMin()) || Double.isInfinite(args[0].getMax()))
+                return Range.ALL;
+            return new Range(-1, 1);
+        }
+        else if (type == pl.mateuszchudyk.jmath.functions.Exponential.class)
+            return range(Math.exp(args[0].getMin()), Math.exp(args[0].getMax()));
+        else if (type == pl.mateuszchudyk.jmath.functions.SquareRoot.class) {
+            if (args[0].getMin() < 0)
+                return Range.ALL;
+            return range(Math.sqrt(args[0].getMin()), Math.sqrt(args[0].getMax()));
+        }
+        else if (type == pl.mateuszchudyk.jmath.functions.NaturalLogarithm.class) {
+            if (args[0].getMin() <= 0)
+                return Range.ALL;
+            return range(Math.log(args[0].getMin()), Math.log(args[0].getMax()));
+        }
+        else if (type == pl.mateuszchudyk.jmath.functions.Arctangent_1.class)
+            return range(Math.atan(args[0].getMin()), Math.atan(args[0].getMax()));
+        else if (type == pl.mateuszchudyk.jmath.functions.HyperbolicTangent.class)
+            return range(Math.tanh(args[0].getMin()), Math.tanh(args[0].getMax()));
+        else if (type == pl.mateuszchudyk.jmath.functions.Floor.class)
+            return range(Math.floor(args[0].getMin()), Math.floor(args[0].getMax()));
+        else if (type == pl.mateuszchudyk.jmath.functions.Ceiling.class)
+            return range(Math.ceil(args[0].getMin()), Math.ceil(args[0].getMax()));
+
+        return Range.ALL;
+    }
+
+    /**
+     * Check if the value is TRUE for the whole range.
+     *
+     * @param range Range of values.
+     * @return True if all values are TRUE.
+     */
+    public static boolean isTrue(Range range) {
+        return range.getMin() >= 1;
+    }
+
+    /**
+     * Check if the value is FALSE for the whole range.
+     *
+     * @param range Range of values.
+     * @return True if all values are FALSE.
+     */
+    public static boolean isFalse(Range range) {
+        return range.getMax() < 1;
+    }
+
+    private static boolean isUnknown(Range range) {
+        return range.getMin() == Double.NEGATIVE_INFINITY && range.getMax() == Double.POSITIVE_INFINITY;
+    }
+
+    private static boolean isComparison(Class<?> type) {
+        return type == pl.mateuszchudyk.jmath.operators.LessThen.class ||
+            type == pl.mateuszchudyk.jmath.operators.LessThenOrEqual.class ||
+            type == pl.mateuszchudyk.jmath.operators.GreaterThen.class ||
+            type == pl.mateuszchudyk.jmath.operators.GreaterThenOrEqual.class ||
+            type == pl.mateuszchudyk.jmath.operators.Equal.class ||
+            type == pl.mateuszchudyk.jmath.operators.NotEqual.class;
+    }
+
+    private static boolean isLogical(Class<?> type) {
+        return type == pl.mateuszchudyk.jmath.operators.Not.class ||
+            type == pl.mateuszchudyk.jmath.operators.And.class ||
+            type == pl.mateuszchudyk.jmath.operators.Or.class ||
+            type == pl.mateuszchudyk.jmath.operators.Nand.class ||
+            type == pl.mateuszchudyk.jmath.operators.Nor.class ||
+            type == pl.mateuszchudyk.jmath.operators.Xor.class ||
+            type == pl.mateuszchudyk.jmath.operators.Consequence.class ||
+            type == pl.mateuszchudyk.jmath.operators.IfAndOnlyIf.class ||
+            type == pl.mateuszchudyk.jmath.functions.Indicator.class ||
+            type == pl.mateuszchudyk.jmath.functions.PrimalityTest.class ||
+            type == pl.mateuszchudyk.jmath.functions.RangeTest.class ||
+            type == pl.mateuszchudyk.jmath.functions.ToLogical.class;
+    }
+
+    private static Range multiply(Range a, Range b) {
+        return corners(
+            a.getMin() * b.getMin(), a.getMin() * b.getMax(),
+            a.getMax() * b.getMin(), a.getMax() * b.getMax());
+    }
+
+    private static Range divide(Range a, Range b) {
+        return corners(
+            a.getMin() / b.getMin(), a.getMin() / b.getMax(),
+            a.getMax() / b.getMin(), a.getMax() / b.getMax());
+    }
+
+    private static Range corners(double... values) {
+        double min = values[0], max = values[0];
+        for (double value : values) {
+            if (Double.isNaN(value))
+                return Range.ALL;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return range(min, max);
+    }
+
+    private static boolean isDisjoint(Range a, Range b) {
+        return a.getMax() < b.getMin() || b.getMax() < a.getMin();
+    }
+
+    private static Range logical(boolean alwaysTrue, boolean alwaysFalse) {
+        if (alwaysTrue)
+            return TRUE;
+        else if (alwaysFalse)
+            return FALSE;
+        else
+            return LOGICAL;
+    }
+
+    private static Range range(double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max))
+            return Range.ALL;
+
+        return new Range(min, max);
+    }
+}
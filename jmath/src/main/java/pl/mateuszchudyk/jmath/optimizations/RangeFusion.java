@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+
+/**
+ * Range fusion.
+ *
+ * <p>Replace a conjunction of a lower and an upper bound check of the same
+ * expression by one range test (see {@link pl.mateuszchudyk.jmath.functions.RangeTest}),
+ * e.g.: <i>x &gt;= a and x &lt; b = in_range_co(x, a, b)</i>, and
+ * a disjunction of checks if the expression is below the lower or above the
+ * upper bound by one test if it is outside of the interval, e.g.:
+ * <i>x &lt; a or x &gt; b = out_of_range(x, a, b)</i>. The tested expression
+ * is evaluated only once.</p>
+ *
+ * <p>Bounds can be written on both sides of comparators (<i>a &lt;= x</i> is
+ * the same as <i>x &gt;= a</i>) and checks can be in any order. The tested
+ * expression has to be deterministic.</p>
+ */
+public class RangeFusion implements OptimizationPass {
+    private static class Bound {
+        final ASTExpression value;
+        final ASTExpression bound;
+        final boolean lower;
+        final boolean inclusive;
+
+        Bound(ASTExpression value, ASTExpression bound, boolean lower, boolean inclusive) {
+            this.value = value;
+            this.bound = bound;
+            this.lower = lower;
+            this.inclusive = inclusive;
+        }
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        boolean inside;
+        if (isOperation(ast, pl.mateuszchudyk.jmath.operators.And.class))
+            inside = true;
+        else if (isOperation(ast, pl.mateuszchudyk.jmath.operators.Or.class))
+            inside = false;
+        else
+            return null;
+
+        ASTOperation operation = (ASTOperation)ast;
+        if (operation.getNumberOfArguments() != 2)
+            return null;
+
+        ASTExpression first = operation.getArgument(0);
+        ASTExpression second = operation.getArgument(1);
+        for (int side = 0; side < 2; side++) {
+            for (int otherSide = 0; otherSide < 2; otherSide++) {
+                Bound a = getBound(first, side);
+                Bound b = getBound(second, otherSide);
+                if (a == null || b == null || a.lower == b.lower ||
+                    !a.value.toString().equals(b.value.toString()) || !isDeterministic(a.value))
+                {
+                    continue;
+                }
+
+                // For 'or' the checks are: below the lower and above the upper bound.
+                Bound lower = (a.lower == inside ? a : b);
+                Bound upper = (lower == a ? b : a);
+                return new ASTOperation(
+                    new pl.mateuszchudyk.jmath.functions.RangeTest(
+                        inside ? lower.inclusive : !lower.inclusive,
+                        inside ? upper.inclusive : !upper.inclusive,
+                        inside),
+                    new ASTExpression[] { a.value, lower.bound, upper.bound });
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Get bound from comparison, treating argument with the given index as
+     * the tested value. 'lower' means the value is checked to be greater than
+     * the bound.
+     */
+    private Bound getBound(ASTExpression ast, int valueIndex) {
+        if (ast.getClass() != ASTOperation.class || ((ASTOperation)ast).getNumberOfArguments() != 2)
+            return null;
+
+        ASTOperation operation = (ASTOperation)ast;
+        Class<?> type = operation.getOperation().getClass();
+        boolean greater;
+        boolean inclusive;
+        if (type == pl.mateuszchudyk.jmath.operators.GreaterThen.class) {
+            greater = true;
+            inclusive = false;
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.GreaterThenOrEqual.class) {
+            greater = true;
+            inclusive = true;
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.LessThen.class) {
+            greater = false;
+            inclusive = false;
+        }
+        else if (type == pl.mateuszchudyk.jmath.operators.LessThenOrEqual.class) {
+            greater = false;
+            inclusive = true;
+        }
+        else
+            return null;
+
+        // 'a < x' is the same as 'x > a'.
+        if (valueIndex == 1)
+            greater = !greater;
+
+        return new Bound(operation.getArgument(valueIndex), operation.getArgument(1 - valueIndex), greater, inclusive);
+    }
+
+    private boolean isDeterministic(ASTExpression ast) {
+        if (ast.getClass() == ASTOperation.class && !((ASTOperation)ast).getOperation().isDeterministic())
+            return false;
+
+        for (int i = 0; i < ast.getNumberOfChildren(); i++) {
+            if (!isDeterministic(ast.getChild(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean isOperation(ASTExpression expression, Class<?> type) {
+        return expression.getClass() == ASTOperation.class &&
+            ((ASTOperation)expression).getOperation().getClass() == type;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.Operation;
+import pl.mateuszchudyk.jmath.Range;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.functions.DomainCheckedFunction;
+
+/**
+ * Range simplifying.
+ *
+ * <p>Simplify expression using ranges of values computed by
+ * {@link RangeAnalysis}, e.g. for <i>x</i> in <i>[0, 1]</i>:
+ * <i>x &lt; 2 = 1</i>, <i>abs(x) = x</i> or <i>clamp(x, 0, 1) = x</i>.
+ * Cases:
+ * <ul>
+ * <li>expression which has only one possible value is replaced with
+ * constant (e.g. decided comparisons),</li>
+ * <li>decided operands of logical operators are replaced with constants,
+ * so they can be pruned by BinaryOperatorSimplifying,</li>
+ * <li>subexpressions which can throw an exception (e.g. functions which
+ * still check their domain) are never removed,</li>
+ * <li><i>abs</i> and <i>clamp</i> are removed if they are identities,</li>
+ * <li>domain checks are disabled if arguments are always inside the domain
+ * (see {@link DomainCheckedFunction}).</li>
+ * </ul></p>
+ */
+public class RangeSimplifying implements OptimizationPass {
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (ast.getClass() == ASTImmidiateValue.class)
+            return null;
+
+        Range range = RangeAnalysis.getRange(ast);
+        if (range.isPoint() && !mayThrow(ast))
+            return new ASTImmidiateValue(range.getMin());
+
+        if (ast.getClass() != ASTOperation.class)
+            return null;
+
+        ASTOperation operation = (ASTOperation)ast;
+        Operation op = operation.getOperation();
+        Class<?> type = op.getClass();
+
+        /**
+         * Absolute value. Cases:
+         * - Non-negative argument.
+         * - Non-positive argument.
+         */
+        if (type == pl.mateuszchudyk.jmath.functions.AbsoluteValue.class) {
+            ASTExpression argument = operation.getArgument(0);
+            Range argumentRange = RangeAnalysis.getRange(argument);
+            if (argumentRange.getMin() >= 0)
+                return argument;
+            if (argumentRange.getMax() <= 0)
+                return new ASTOperation(new pl.mateuszchudyk.jmath.operators.AdditiveInverse(), new ASTExpression[] { argument });
+        }
+        /**
+         * Clamp. Cases:
+         * - Argument always between bounds.
+         */
+        else if (type == pl.mateuszchudyk.jmath.functions.Clamp.class) {
+            Range argumentRange = RangeAnalysis.getRange(operation.getArgument(0));
+            Range lowerRange = RangeAnalysis.getRange(operation.getArgument(1));
+            Range upperRange = RangeAnalysis.getRange(operation.getArgument(2));
+            if (argumentRange.getMin() >= lowerRange.getMax() && argumentRange.getMax() <= upperRange.getMin() &&
+                !mayThrow(operation.getArgument(1)) && !mayThrow(operation.getArgument(2)))
+            {
+                return operation.getArgument(0);
+            }
+        }
+        /**
+         * Logical operators. Cases:
+         * - Decided operand.
+         */
+        else if (type == pl.mateuszchudyk.jmath.operators.Not.class ||
+                 type == pl.mateuszchudyk.jmath.operators.And.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Or.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Nand.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Nor.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Xor.class ||
+                 type == pl.mateuszchudyk.jmath.operators.Consequence.class ||
+                 type == pl.mateuszchudyk.jmath.operators.IfAndOnlyIf.class)
+        {
+            boolean anyChanges = false;
+            ASTExpression[] arguments = new ASTExpression[operation.getNumberOfArguments()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = operation.getArgument(i);
+                if (arguments[i].getClass() == ASTImmidiateValue.class || mayThrow(arguments[i]))
+                    continue;
+
+                Range argumentRange = RangeAnalysis.getRange(arguments[i]);
+                if (RangeAnalysis.isTrue(argumentRange) || RangeAnalysis.isFalse(argumentRange)) {
+                    arguments[i] = new ASTImmidiateValue(RangeAnalysis.isTrue(argumentRange) ? 1.0 : 0.0);
+                    anyChanges = true;
+                }
+            }
+
+            if (anyChanges)
+                return new ASTOperation(op, arguments);
+        }
+        /**
+         * Domain checked functions. Cases:
+         * - All arguments inside the domain.
+         */
+        else if (op instanceof DomainCheckedFunction && ((DomainCheckedFunction)op).isCheckingDomain()) {
+            DomainCheckedFunction function = (DomainCheckedFunction)op;
+            for (int i = 0; i < operation.getNumberOfArguments(); i++) {
+                if (!function.isInsideDomain(i, RangeAnalysis.getRange(operation.getArgument(i))))
+                    return null;
+            }
+
+            return new ASTOperation(function.withoutDomainCheck(), copyArguments(operation));
+        }
+
+        return null;
+    }
+
+    private boolean mayThrow(ASTExpression ast) {
+        if (ast.getClass() == ASTOperation.class) {
+            ASTOperation operation = (ASTOperation)ast;
+            Operation op = operation.getOperation();
+            Class<?> type = op.getClass();
+            if (op instanceof DomainCheckedFunction) {
+                if (((DomainCheckedFunction)op).isCheckingDomain())
+                    return true;
+            }
+            else if (type == pl.mateuszchudyk.jmath.operators.Division.class ||
+                     type == pl.mateuszchudyk.jmath.operators.Modulo.class)
+            {
+                if (RangeAnalysis.getRange(operation.getArgument(1)).contains(0))
+                    return true;
+            }
+            else if (!isTotal(type))
+                return true;
+        }
+
+        for (int i = 0; i < ast.getNumberOfChildren(); i++) {
+            if (mayThrow(ast.getChild(i)))
+                return true;
+        }
+        return false;
+    }
+
+    // Operations which never throw an exception.
+    private boolean isTotal(Class<?> type) {
+        return type == pl.mateuszchudyk.jmath.operators.Addition.class ||
+            type == pl.mateuszchudyk.jmath.operators.AdditiveInverse.class ||
+            type == pl.mateuszchudyk.jmath.operators.And.class ||
+            type == pl.mateuszchudyk.jmath.operators.Consequence.class ||
+            type == pl.mateuszchudyk.jmath.operators.Equal.class ||
+            type == pl.mateuszchudyk.jmath.operators.GreaterThen.class ||
+            type == pl.mateuszchudyk.jmath.operators.GreaterThenOrEqual.class ||
+            type == pl.mateuszchudyk.jmath.operators.IfAndOnlyIf.class ||
+            type == pl.mateuszchudyk.jmath.operators.LessThen.class ||
+            type == pl.mateuszchudyk.jmath.operators.LessThenOrEqual.class ||
+            type == pl.mateuszchudyk.jmath.operators.Multiplication.class ||
+            type == pl.mateuszchudyk.jmath.operators.Nand.class ||
+            type == pl.mateuszchudyk.jmath.operators.Nor.class ||
+            type == pl.mateuszchudyk.jmath.operators.Not.class ||
+            type == pl.mateuszchudyk.jmath.operators.NotEqual.class ||
+            type == pl.mateuszchudyk.jmath.operators.Or.class ||
+            type == pl.mateuszchudyk.jmath.operators.Percentage.class ||
+            type == pl.mateuszchudyk.jmath.operators.Subtraction.class ||
+            type == pl.mateuszchudyk.jmath.operators.Xor.class ||
+            type == pl.mateuszchudyk.jmath.functions.AbsoluteValue.class ||
+            type == pl.mateuszchudyk.jmath.functions.Arctangent_1.class ||
+            type == pl.mateuszchudyk.jmath.functions.Ceiling.class ||
+            type == pl.mateuszchudyk.jmath.functions.Clamp.class ||
+            type == pl.mateuszchudyk.jmath.functions.Cosine.class ||
+            type == pl.mateuszchudyk.jmath.functions.Exponential.class ||
+            type == pl.mateuszchudyk.jmath.functions.Floor.class ||
+            type == pl.mateuszchudyk.jmath.functions.HyperbolicTangent.class ||
+            type == pl.mateuszchudyk.jmath.functions.Indicator.class ||
+            type == pl.mateuszchudyk.jmath.functions.Maximum.class ||
+            type == pl.mateuszchudyk.jmath.functions.Minimum.class ||
+            type == pl.mateuszchudyk.jmath.functions.RangeTest.class ||
+            type == pl.mateuszchudyk.jmath.functions.Sign.class ||
+            type == pl.mateuszchudyk.jmath.functions.Sine.class ||
+            type == pl.mateuszchudyk.jmath.functions.ToLogical.class;
+    }
+
+    private ASTExpression[] copyArguments(ASTOperation operation) {
+        ASTExpression[] arguments = new ASTExpression[operation.getNumberOfArguments()];
+        for (int i = 0; i < arguments.length; i++)
+            arguments[i] = operation.getArgument(i);
+        return arguments;
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import pl.mateuszchudyk.jmath.Constant;
+import pl.mateuszchudyk.jmath.Expression;
+import pl.mateuszchudyk.jmath.Optimizer;
+import pl.mateuszchudyk.jmath.OptimizerType;
+import pl.mateuszchudyk.jmath.Parser;
+import pl.mateuszchudyk.jmath.ParserType;
+import pl.mateuszchudyk.jmath.Variable;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+import pl.mateuszchudyk.jmath.functions.Function;
+import pl.mateuszchudyk.jmath.operators.Operator;
+
+/**
+ * Rewrite rule.
+ *
+ * <p>Rule is written as <i>pattern -&gt; replacement</i> with an optional
+ * condition <i>when condition</i>, e.g.: <i>x * 1 -&gt; x</i> or
+ * <i>x - x -&gt; 0 when pure(x)</i>. Both sides are parsed as expressions,
+ * all names which are not constants, operators or functions are pattern
+ * variables. A pattern variable matches any sub-expression, if it occurs more
+ * than once, all occurrences have to be the same. Numbers match only equal
+ * constants.</p>
+ *
+ * <p>Conditions (joined by <i>and</i>):
+ * <table>
+ * <tr><th>pure(x)</th><td>x doesn't contain non-deterministic operations</td></tr>
+ * <tr><th>const(x)</th><td>x is a constant</td></tr>
+ * <tr><th>true(x)</th><td>x is a TRUE constant (at least 1)</td></tr>
+ * <tr><th>false(x)</th><td>x is a FALSE constant (less than 1)</td></tr>
+ * <tr><th>positive(x)</th><td>x is always positive (proved by range
+ * analysis, see {@link RangeAnalysis})</td></tr>
+ * </table></p>
+ *
+ * <p>Rules are used by {@link RuleRewriting}.</p>
+ */
+public class RewriteRule {
+    private static final Pattern NAME = Pattern.compile("[a-z_][a-z0-9_]*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONDITION = Pattern.compile("\\s*(pure|const|true|false|positive)\\s*\\(\\s*([a-z_][a-z0-9_]*)\\s*\\)\\s*", Pattern.CASE_INSENSITIVE);
+
+    private enum ConditionType {
+        Pure,
+        Const,
+        True,
+        False,
+        Positive,
+    }
+
+    private static class Condition {
+        final ConditionType type;
+        final String variable;
+
+        Condition(ConditionType type, String variable) {
+            this.type = type;
+            this.variable = variable;
+        }
+    }
+
+    private final String text;
+    private final ASTExpression pattern;
+    private final ASTExpression replacement;
+    private final List<Condition> conditions;
+
+    private RewriteRule(String text, ASTExpression pattern, ASTExpression replacement, List<Condition> conditions) {
+        this.text = text;
+        this.pattern = pattern;
+        this.replacement = replacement;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Parse rule using built-in constants, operators and functions.
+     *
+     * @param rule Rule written as a string.
+     * @return Rule.
+     * @throws ParseException
+     */
+    public static RewriteRule parse(String rule) throws ParseException {
+        return parse(rule, null);
+    }
+
+    /**
+     * Parse rule.
+     *
+     * @param rule Rule written as a string.
+     * @param parser Parser with custom constants, operators and functions
+     * used in the rule (built-in ones are always available).
+     * @return Rule.
+     * @throws ParseException
+     */
+    public static RewriteRule parse(String rule, Parser parser) throws ParseException {
+        String text = rule.trim();
+        String[] parts = text.split("(?i)\\bwhen\\b", -1);
+        if (parts.length > 2)
+            throw new ParseException("Rule '" + text + "' has more than one condition!");
+
+        String[] sides = parts[0].split("->", -1);
+        if (sides.length != 2)
+            throw new ParseException("Rule '" + text + "' has to be written as 'pattern -> replacement'!");
+
+        Parser ruleParser = createParser(parser);
+        LinkedHashSet<String> variables = new LinkedHashSet<>();
+        for (String side : sides) {
+            Matcher matcher = NAME.matcher(side);
+            while (matcher.find()) {
+                String name = matcher.group();
+                if (ruleParser.getConstantByName(name) == null &&
+                    ruleParser.getOperatorByName(name) == null &&
+                    ruleParser.getFunctionByName(name) == null)
+                {
+                    variables.add(name.toLowerCase());
+                }
+            }
+        }
+        for (String variable : variables)
+            ruleParser.addVariable(new Variable(variable));
+
+        ASTExpression pattern = parseSide(ruleParser, sides[0], text);
+        ASTExpression replacement = parseSide(ruleParser, sides[1], text);
+
+        HashMap<String, Boolean> patternVariables = new HashMap<>();
+        collectVariables(pattern, patternVariables);
+        HashMap<String, Boolean> replacementVariables = new HashMap<>();
+        collectVariables(replacement, replacementVariables);
+        for (String variable : replacementVariables.keySet()) {
+            if (!patternVariables.containsKey(variable))
+                throw new ParseException("Variable '" + variable + "' is not bound by the pattern of rule '" + text + "'!");
+        }
+
+        List<Condition> conditions = new ArrayList<>();
+        if (parts.length == 2) {
+            for (String condition : parts[1].split("(?i)\\band\\b", -1)) {
+                Matcher matcher = CONDITION.matcher(condition);
+                if (!matcher.matches())
+                    throw new ParseException("Unknown condition '" + condition.trim() + "' in rule '" + text + "'!");
+                String type = matcher.group(1).toLowerCase();
+                String variable = matcher.group(2).toLowerCase();
+                if (!patternVariables.containsKey(variable))
+                    throw new ParseException("Variable '" + matcher.group(2) + "' is not bound by the pattern of rule '" + text + "'!");
+
+                conditions.add(new Condition(
+                    type.equals("pure") ? ConditionType.Pure :
+                    type.equals("const") ? ConditionType.Const :
+                    type.equals("true") ? ConditionType.True :
+                    type.equals("false") ? ConditionType.False : ConditionType.Positive,
+                    variable));
+            }
+        }
+
+        return new RewriteRule(text, pattern, replacement, conditions);
+    }
+
+    /**
+     * Get pattern.
+     *
+     * @return Pattern as <i>Abstract Syntax Tree</i>.
+     */
+    public ASTExpression getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Get replacement.
+     *
+     * @return Replacement as <i>Abstract Syntax Tree</i>.
+     */
+    public ASTExpression getReplacement() {
+        return replacement;
+    }
+
+    /**
+     * Apply rule to the root of the expression.
+     *
+     * @param ast Expression.
+     * @return Rewritten expression or null if the rule doesn't match.
+     */
+    public ASTExpression apply(ASTExpression ast) {
+        HashMap<String, ASTExpression> bindings = new HashMap<>();
+        if (!match(pattern, ast, bindings))
+            return null;
+
+        for (Condition condition : conditions) {
+            if (!check(condition, bindings.get(condition.variable)))
+                return null;
+        }
+
+        return instantiate(replacement, bindings);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private boolean match(ASTExpression pattern, ASTExpression ast, Map<String, ASTExpression> bindings) {
+        if (pattern.getClass() == ASTVariable.class) {
+            String name = ((ASTVariable)pattern).getVariable().getName();
+            ASTExpression bound = bindings.get(name);
+            if (bound == null) {
+                bindings.put(name, ast);
+                return true;
+            }
+            return bound == ast || bound.toString().equals(ast.toString());
+        }
+        else if (pattern.getClass() == ASTImmidiateValue.class) {
+            Double value = getValue(ast);
+            return value != null && value.doubleValue() == getValue(pattern).doubleValue();
+        }
+        else if (pattern.getClass() == ASTOperation.class) {
+            if (ast.getClass() != ASTOperation.class)
+                return false;
+
+            ASTOperation patternOperation = (ASTOperation)pattern;
+            ASTOperation operation = (ASTOperation)ast;
+            if (patternOperation.getOperation().getClass() != operation.getOperation().getClass() ||
+                patternOperation.getNumberOfArguments() != operation.getNumberOfArguments())
+            {
+                return false;
+            }
+
+            for (int i = 0; i < operation.getNumberOfArguments(); i++) {
+                if (!match(patternOperation.getArgument(i), operation.getArgument(i), bindings))
+                    return false;
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Check conditions of the rule using the given checker, used by e-graph
+     * where pattern variables are bound to classes of equivalent expressions.
+     */
+    boolean checkConditions(ConditionChecker checker) {
+        for (Condition condition : conditions) {
+            Double value = checker.getValue(condition.variable);
+            boolean result;
+            switch (condition.type) {
+                case Pure:
+                    result = checker.isPure(condition.variable);
+                    break;
+                case Const:
+                    result = value != null;
+                    break;
+                case True:
+                    result = value != null && value >= 1;
+                    break;
+                case Positive:
+                    result = (value != null ? value > 0 : checker.isPositive(condition.variable));
+                    break;
+                default:
+                    result = value != null && value < 1;
+                    break;
+            }
+            if (!result)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Values and properties of bound pattern variables.
+     */
+    interface ConditionChecker {
+        /**
+         * Get value of the variable or null if it isn't a constant.
+         */
+        Double getValue(String variable);
+
+        /**
+         * Check if the variable doesn't contain non-deterministic operations.
+         */
+        boolean isPure(String variable);
+
+        /**
+         * Check if the variable is always positive.
+         */
+        boolean isPositive(String variable);
+    }
+
+    private boolean check(Condition condition, ASTExpression ast) {
+        Double value = getValue(ast);
+        switch (condition.type) {
+            case Pure:
+                return isPure(ast);
+            case Const:
+                return value != null;
+            case True:
+                return value != null && value >= 1;
+            case Positive:
+                return RangeAnalysis.getRange(ast).getMin() > 0;
+            default:
+                return value != null && value < 1;
+        }
+    }
+
+    private boolean isPure(ASTExpression ast) {
+        if (ast.getClass() == ASTOperation.class && !((ASTOperation)ast).getOperation().isDeterministic())
+            return false;
+
+        for (int i = 0; i < ast.getNumberOfChildren(); i++) {
+            if (!isPure(ast.getChild(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private ASTExpression instantiate(ASTExpression replacement, Map<String, ASTExpression> bindings) {
+        if (replacement.getClass() == ASTVariable.class)
+            return bindings.get(((ASTVariable)replacement).getVariable().getName());
+        else if (replacement.getNumberOfChildren() == 0)
+            return replacement;
+
+        ASTExpression[] children = new ASTExpression[replacement.getNumberOfChildren()];
+        for (int i = 0; i < children.length; i++)
+            children[i] = instantiate(replacement.getChild(i), bindings);
+        return replacement.copy(children);
+    }
+
+    private static Double getValue(ASTExpression expression) {
+        if (expression.getClass() != ASTImmidiateValue.class)
+            return null;
+
+        try {
+            return expression.evaluate(null);
+        }
+        catch (EvaluationException ex) {
+            return null;
+        }
+    }
+
+    private static void collectVariables(ASTExpression ast, Map<String, Boolean> variables) {
+        if (ast.getClass() == ASTVariable.class)
+            variables.put(((ASTVariable)ast).getVariable().getName(), true);
+
+        for (int i = 0; i < ast.getNumberOfChildren(); i++)
+            collectVariables(ast.getChild(i), variables);
+    }
+
+    private static ASTExpression parseSide(Parser parser, String side, String rule) throws ParseException {
+        if (side.trim().isEmpty())
+            throw new ParseException("Rule '" + rule + "' has an empty side!");
+
+        return getAST(parser.parse(side.trim()));
+    }
+
+    private static ASTExpression getAST(Expression expression) {
+        // The tree of a parsed expression is given only to optimization
+        // passes, so it's taken by a global pass run on the whole expression.
+        ASTExpression[] result = new ASTExpression[1];
+        new Optimizer(OptimizerType.Empty).apply(expression, (GlobalOptimizationPass)(ASTExpression ast) -> {
+            result[0] = ast;
+            return null;
+        });
+        return result[0];
+    }
+
+    private static Parser createParser(Parser parser) {
+        Parser result = new Parser(ParserType.Default);
+        if (parser == null)
+            return result;
+
+        for (Constant constant : parser.getAllConstants())
+            result.addConstant(constant);
+        for (List<Operator> operators : parser.getAllOperators()) {
+            for (Operator operator : operators)
+                result.addOperator(operator);
+        }
+        for (List<Function> functions : parser.getAllFunctions()) {
+            for (Function function : functions)
+                result.addFunction(function);
+        }
+        return result;
+    }
+
+    /**
+     * Get symbols of the pattern in prefix order, used by discrimination
+     * tree. Pattern variables are represented by null.
+     */
+    List<String> getPatternSymbols() {
+        List<String> result = new ArrayList<>();
+        collectSymbols(pattern, result);
+        return result;
+    }
+
+    private static void collectSymbols(ASTExpression pattern, List<String> symbols) {
+        if (pattern.getClass() == ASTVariable.class) {
+            symbols.add(null);
+            return;
+        }
+
+        symbols.add(getSymbol(pattern));
+        for (int i = 0; i < pattern.getNumberOfChildren(); i++)
+            collectSymbols(pattern.getChild(i), symbols);
+    }
+
+    /**
+     * Get symbol of the node, used by discrimination tree.
+     */
+    static String getSymbol(ASTExpression ast) {
+        if (ast.getClass() == ASTOperation.class) {
+            ASTOperation operation = (ASTOperation)ast;
+            return operation.getOperation().getClass().getName() + "/" + operation.getNumberOfArguments();
+        }
+        else if (ast.getClass() == ASTImmidiateValue.class) {
+            Double value = getValue(ast);
+            return value == null ? "#" : "#" + (value + 0.0);
+        }
+        else
+            return ast.getClass().getName();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+/**
+ * Rule rewriting.
+ *
+ * <p>Rewrite expression using declarative rules (see {@link RewriteRule}),
+ * e.g.: <i>x * 1 -&gt; x</i>. Patterns of all rules are compiled into one
+ * discrimination tree, so each node is matched against all rules in one walk.
+ * If more than one rule matches, the first added one is applied.</p>
+ *
+ * <p>Number of firings of each rule is counted. Rules have to be added before
+ * the pass is used by optimizer.</p>
+ */
+public class RuleRewriting implements OptimizationPass {
+    private final List<RewriteRule> rules;
+    private final List<AtomicLong> firings;
+    private final DiscriminationTree tree;
+
+    /**
+     * Constructor. No rules are added.
+     */
+    public RuleRewriting() {
+        this.rules = new ArrayList<>();
+        this.firings = new ArrayList<>();
+        this.tree = new DiscriminationTree();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rules Rules to be added.
+     */
+    public RuleRewriting(List<RewriteRule> rules) {
+        this();
+        for (RewriteRule rule : rules)
+            addRule(rule);
+    }
+
+    /**
+     * Add rule.
+     *
+     * @param rule Rule to be added.
+     */
+    public final void addRule(RewriteRule rule) {
+        tree.add(rule.getPatternSymbols(), rules.size());
+        rules.add(rule);
+        firings.add(new AtomicLong());
+    }
+
+    /**
+     * Parse and add rule.
+     *
+     * @param rule Rule written as a string (see {@link RewriteRule}).
+     * @throws ParseException
+     */
+    public final void addRule(String rule) throws ParseException {
+        addRule(RewriteRule.parse(rule));
+    }
+
+    /**
+     * Get all added rules.
+     *
+     * @return List of rules in order of adding.
+     */
+    public List<RewriteRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * Get number of firings of the rule.
+     *
+     * @param i Rule index (in order of adding).
+     * @return Number of times the rule was applied.
+     */
+    public long getFirings(int i) {
+        return firings.get(i).get();
+    }
+
+    /**
+     * Reset firing counters of all rules.
+     */
+    public void resetFirings() {
+        for (AtomicLong counter : firings)
+            counter.set(0);
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        for (int i : tree.find(ast)) {
+            ASTExpression result = rules.get(i).apply(ast);
+            if (result != null) {
+                firings.get(i).incrementAndGet();
+                return result;
+            }
+        }
+
+        return null;
+    }
+}
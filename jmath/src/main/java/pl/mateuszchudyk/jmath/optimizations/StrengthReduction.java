@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Strength reduction.
+ *
+ * <p>Replace costly operations with cheaper equivalents, e.g.: <i>x^2 = x * x</i>,
+ * <i>pow(x, 0.5) = sqrt(x)</i> or <i>x / 4 = x * 0.25</i>.</p>
+ *
+ * <p>Powers are expanded to multiplication chains only if the base is a
+ * variable, so no subexpression is evaluated more than once. Division by
+ * a constant is replaced only if the reciprocal is exact (the divider is
+ * a power of two).</p>
+ *
+ * <p>In fast-math mode inverse pairs like <i>exp(log(x))</i> and
+ * <i>log(exp(x))</i> are removed as well. It is not done by default because
+ * it hides domain errors (e.g. <i>exp(log(-1))</i>) and the result can differ
+ * in the last bits.</p>
+ */
+public class StrengthReduction implements OptimizationPass {
+    private static final int MAX_EXPANDED_EXPONENT = 4;
+
+    private final boolean fastMath;
+
+    /**
+     * Constructor. Fast-math mode is disabled.
+     */
+    public StrengthReduction() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param fastMath Enable rewrites that are valid only for arguments inside
+     * the domain.
+     */
+    public StrengthReduction(boolean fastMath) {
+        this.fastMath = fastMath;
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (ast.getClass() != ASTOperation.class)
+            return null;
+
+        ASTOperation operation = (ASTOperation)ast;
+        Class<?> type = operation.getOperation().getClass();
+
+        /**
+         * Exponentiation. Cases:
+         * - x^0.5.
+         * - x^n, for small natural n and variable x.
+         */
+        if (type == pl.mateuszchudyk.jmath.operators.Exponentiation.class ||
+            type == pl.mateuszchudyk.jmath.functions.Exponentiation.class)
+        {
+            ASTExpression base = operation.getArgument(0);
+            Double exponent = getValue(operation.getArgument(1));
+            if (exponent == null)
+                return null;
+
+            if (exponent == 0.5)
+                return sqrt(base);
+            if (type == pl.mateuszchudyk.jmath.functions.Exponentiation.class) {
+                if (exponent == 0)
+                    return new ASTImmidiateValue(1.0);
+                if (exponent == 1)
+                    return base;
+            }
+            if (base.getClass() == ASTVariable.class &&
+                exponent >= 2 && exponent <= MAX_EXPANDED_EXPONENT && exponent == Math.floor(exponent))
+            {
+                ASTExpression result = base;
+                for (int i = 1; i < exponent; i++)
+                    result = multiply(result, base);
+                return result;
+            }
+        }
+        /**
+         * Root. Cases:
+         * - Square root.
+         */
+        else if (type == pl.mateuszchudyk.jmath.functions.Root.class) {
+            if (isEqual(getValue(operation.getArgument(1)), 2))
+                return sqrt(operation.getArgument(0));
+        }
+        /**
+         * Division. Cases:
+         * - Division by a power of two.
+         */
+        else if (type == pl.mateuszchudyk.jmath.operators.Division.class) {
+            Double divider = getValue(operation.getArgument(1));
+            if (divider != null && hasExactReciprocal(divider))
+                return multiply(operation.getArgument(0), new ASTImmidiateValue(1.0 / divider));
+        }
+        /**
+         * Additive inverse. Cases:
+         * - Double negation.
+         */
+        else if (type == pl.mateuszchudyk.jmath.operators.AdditiveInverse.class) {
+            ASTExpression argument = operation.getArgument(0);
+            if (isOperation(argument, pl.mateuszchudyk.jmath.operators.AdditiveInverse.class))
+                return ((ASTOperation)argument).getArgument(0);
+        }
+        /**
+         * Exponential. Cases (fast-math only):
+         * - exp(log(x)).
+         */
+        else if (type == pl.mateuszchudyk.jmath.functions.Exponential.class) {
+            ASTExpression argument = operation.getArgument(0);
+            if (fastMath && isOperation(argument, pl.mateuszchudyk.jmath.functions.NaturalLogarithm.class))
+                return ((ASTOperation)argument).getArgument(0);
+        }
+        /**
+         * Natural logarithm. Cases (fast-math only):
+         * - log(exp(x)).
+         */
+        else if (type == pl.mateuszchudyk.jmath.functions.NaturalLogarithm.class) {
+            ASTExpression argument = operation.getArgument(0);
+            if (fastMath && isOperation(argument, pl.mateuszchudyk.jmath.functions.Exponential.class))
+                return ((ASTOperation)argument).getArgument(0);
+        }
+
+        return null;
+    }
+
+    private ASTExpression sqrt(ASTExpression expression) {
+        return new ASTOperation(new pl.mateuszchudyk.jmath.functions.SquareRoot(), new ASTExpression[] { expression });
+    }
+
+    private ASTExpression multiply(ASTExpression left, ASTExpression right) {
+        return new ASTOperation(new pl.mateuszchudyk.jmath.operators.Multiplication(), new ASTExpression[] { left, right });
+    }
+
+    private boolean isOperation(ASTExpression expression, Class<?> type) {
+        return expression.getClass() == ASTOperation.class &&
+            ((ASTOperation)expression).getOperation().getClass() == type;
+    }
+
+    private boolean hasExactReciprocal(double value) {
+        if (value == 0 || Double.isInfinite(value) || Double.isNaN(value))
+            return false;
+
+        // Only powers of two (with normal reciprocal) have exact reciprocals.
+        long mantissa = Double.doubleToRawLongBits(value) & 0x000FFFFFFFFFFFFFL;
+        int exponent = Math.getExponent(value);
+        return mantissa == 0 &&
+            exponent >= Double.MIN_EXPONENT &&
+            -exponent >= Double.MIN_EXPONENT &&
+            -exponent <= Double.MAX_EXPONENT;
+    }
+
+    private Double getValue(ASTExpression expression) {
+        if (expression.getClass() != ASTImmidiateValue.class)
+            return null;
+
+        try {
+            return expression.evaluate(null);
+        }
+        catch (EvaluationException ex) {
+            return null;
+        }
+    }
+
+    private boolean isEqual(Double value, double imm) {
+        if (value == null)
+            return false;
+
+        return value == imm;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.HashMap;
+import java.util.Map;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+
+/**
+ * Variable substitution.
+ *
+ * <p>Replace the given variables with constants, e.g. for <i>a = 2</i>:
+ * <i>a * x + 1 = 2 * x + 1</i>. Together with other passes (mainly
+ * ConstantFolding) it is used for partial evaluation of expressions.</p>
+ *
+ * <p>It isn't a built-in pass because it needs values of the variables.</p>
+ */
+public class VariableSubstitution implements OptimizationPass {
+    private final HashMap<String, Double> substitutions;
+
+    /**
+     * Constructor.
+     *
+     * @param substitutions Values of variables to be substituted. Variables
+     * with null value are not substituted.
+     */
+    public VariableSubstitution(Map<String, Double> substitutions) {
+        this.substitutions = new HashMap<>(substitutions);
+    }
+
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (ast.getClass() != ASTVariable.class)
+            return null;
+
+        Double value = substitutions.get(((ASTVariable)ast).getVariable().getName());
+        if (value == null)
+            return null;
+
+        return new ASTImmidiateValue(value);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+/**
+ * Variadic canonicalization.
+ *
+ * <p>Simplify calls of associative and idempotent variadic functions
+ * (<i>max</i>, <i>min</i>, <i>gcd</i> and <i>lcm</i>):
+ * <ul>
+ * <li>nested calls are flattened, e.g.: <i>max(a, max(b, c)) = max(a, b, c)</i>,</li>
+ * <li>constant arguments are folded into one, e.g.: <i>max(1, x, 5) = max(5, x)</i>,</li>
+ * <li>duplicated arguments are removed, e.g.: <i>min(x, y, x) = min(x, y)</i>,</li>
+ * <li>calls of <i>max</i> and <i>min</i> with one argument are removed.</li>
+ * </ul></p>
+ *
+ * <p><i>Max</i> and <i>min</i> propagate NaN and order signed zeros, so
+ * these simplifications don't change results for any arguments.</p>
+ *
+ * <p><i>Mean</i> is neither associative nor idempotent (duplicates change
+ * weights), so it is not simplified. Duplicates containing non-deterministic
+ * operations are not removed.</p>
+ */
+public class VariadicCanonicalization implements OptimizationPass {
+    @Override
+    public ASTExpression run(ASTExpression ast) {
+        if (ast.getClass() != ASTOperation.class)
+            return null;
+
+        ASTOperation operation = (ASTOperation)ast;
+        Class<?> type = operation.getOperation().getClass();
+        if (type != pl.mateuszchudyk.jmath.functions.Maximum.class &&
+            type != pl.mateuszchudyk.jmath.functions.Minimum.class &&
+            type != pl.mateuszchudyk.jmath.functions.GreatestCommonDivisor.class &&
+            type != pl.mateuszchudyk.jmath.functions.LeastCommonMultiple.class)
+        {
+            return null;
+        }
+
+        List<ASTExpression> arguments = new ArrayList<>();
+        flatten(operation, type, arguments);
+        foldConstants(operation, arguments);
+        removeDuplicates(arguments);
+
+        boolean changed = arguments.size() != operation.getNumberOfArguments();
+        for (int i = 0; !changed && i < arguments.size(); i++)
+            changed = arguments.get(i) != operation.getArgument(i);
+        if (!changed)
+            return null;
+
+        if (arguments.size() == 1 &&
+            (type == pl.mateuszchudyk.jmath.functions.Maximum.class ||
+             type == pl.mateuszchudyk.jmath.functions.Minimum.class))
+        {
+            return arguments.get(0);
+        }
+
+        return new ASTOperation(operation.getOperation(), arguments.toArray(new ASTExpression[arguments.size()]));
+    }
+
+    private void flatten(ASTOperation operation, Class<?> type, List<ASTExpression> arguments) {
+        for (int i = 0; i < operation.getNumberOfArguments(); i++) {
+            ASTExpression argument = operation.getArgument(i);
+            if (argument.getClass() == ASTOperation.class &&
+                ((ASTOperation)argument).getOperation().getClass() == type)
+            {
+                flatten((ASTOperation)argument, type, arguments);
+            }
+            else
+                arguments.add(argument);
+        }
+    }
+
+    private void foldConstants(ASTOperation operation, List<ASTExpression> arguments) {
+        List<Double> constants = new ArrayList<>();
+        int first = -1;
+        for (int i = 0; i < arguments.size(); i++) {
+            Double value = getValue(arguments.get(i));
+            if (value != null) {
+                constants.add(value);
+                if (first < 0)
+                    first = i;
+            }
+        }
+        if (constants.size() < 2)
+            return;
+
+        Double folded;
+        try {
+            folded = operation.getOperation().evaluate(constants.toArray(new Double[constants.size()]));
+        }
+        catch (EvaluationException ex) {
+            return;
+        }
+        if (folded == null)
+            return;
+
+        // Folded constant takes place of the first constant.
+        List<ASTExpression> result = new ArrayList<>();
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i == first)
+                result.add(new ASTImmidiateValue(folded));
+            else if (getValue(arguments.get(i)) == null)
+                result.add(arguments.get(i));
+        }
+        arguments.clear();
+        arguments.addAll(result);
+    }
+
+    private void removeDuplicates(List<ASTExpression> arguments) {
+        HashSet<String> seen = new HashSet<>();
+        for (int i = 0; i < arguments.size(); i++) {
+            ASTExpression argument = arguments.get(i);
+            if (!isPure(argument))
+                continue;
+
+            if (!seen.add(argument.toString()))
+                arguments.remove(i--);
+        }
+    }
+
+    private boolean isPure(ASTExpression ast) {
+        if (ast.getClass() == ASTOperation.class && !((ASTOperation)ast).getOperation().isDeterministic())
+            return false;
+
+        for (int i = 0; i < ast.getNumberOfChildren(); i++) {
+            if (!isPure(ast.getChild(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private Double getValue(ASTExpression expression) {
+        if (expression.getClass() != ASTImmidiateValue.class)
+            return null;
+
+        try {
+            return expression.evaluate(null);
+        }
+        catch (EvaluationException ex) {
+            return null;
+        }
+    }
+}
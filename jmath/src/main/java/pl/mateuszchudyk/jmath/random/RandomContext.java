@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.random;
+
+/**
+ * Random sources used by random functions (e.g. <i>rand</i>, <i>nrand</i>).
+ *
+ * <p>Each thread has its own source, so evaluating expressions from many
+ * threads doesn't cause contention. By default it's a
+ * {@link SplittableRandomSource} with a random seed. An expression with a
+ * fixed random source (see
+ * {@link pl.mateuszchudyk.jmath.Expression#setRandomSource(RandomSource)})
+ * sets it for the time of evaluation.</p>
+ */
+public final class RandomContext {
+    private static final ThreadLocal<RandomSource> CURRENT = ThreadLocal.withInitial(SplittableRandomSource::new);
+
+    private RandomContext() {
+    }
+
+    /**
+     * Get random source of the current thread.
+     *
+     * @return Random source.
+     */
+    public static RandomSource current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Set random source of the current thread.
+     *
+     * @param source Random source, if null the default source with a random
+     * seed is set.
+     * @return Previous random source.
+     */
+    public static RandomSource set(RandomSource source) {
+        RandomSource previous = CURRENT.get();
+        CURRENT.set(source != null ? source : new SplittableRandomSource());
+        return previous;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.random;
+
+/**
+ * Source of random numbers.
+ *
+ * <p>Sources aren't thread-safe, each thread (or each part of a batch
+ * evaluated in parallel) should use its own stream created with
+ * {@link #split()}. Streams created from a source with a fixed seed are
+ * reproducible.</p>
+ */
+public interface RandomSource {
+    /**
+     * Get next random 64-bit number.
+     *
+     * @return Uniformly distributed long.
+     */
+    long nextLong();
+
+    /**
+     * Get next random number from uniform distribution [0, 1).
+     *
+     * @return Random number.
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Get next random number from standard normal distribution N(0, 1).
+     *
+     * @return Random number.
+     */
+    default double nextGaussian() {
+        return Math.sqrt(-2 * Math.log(1 - nextDouble())) * Math.cos(2 * Math.PI * nextDouble());
+    }
+
+    /**
+     * Fill array with random numbers from uniform distribution [0, 1).
+     *
+     * @param values Array to fill.
+     */
+    default void fillUniform(double[] values) {
+        for (int i = 0; i < values.length; i++)
+            values[i] = nextDouble();
+    }
+
+    /**
+     * Fill array with random numbers from standard normal distribution
+     * N(0, 1).
+     *
+     * <p>Box-Muller transform is used, both numbers of each generated pair
+     * are used.</p>
+     *
+     * @param values Array to fill.
+     */
+    default void fillGaussian(double[] values) {
+        int i = 0;
+        for (; i + 1 < values.length; i += 2) {
+            double radius = Math.sqrt(-2 * Math.log(1 - nextDouble()));
+            double angle = 2 * Math.PI * nextDouble();
+            values[i] = radius * Math.cos(angle);
+            values[i + 1] = radius * Math.sin(angle);
+        }
+        if (i < values.length)
+            values[i] = nextGaussian();
+    }
+
+    /**
+     * Create a new independent stream of random numbers.
+     *
+     * <p>The new stream is determined by the state of this source, so splitting
+     * a source with a fixed seed in the same order always gives the same
+     * streams.</p>
+     *
+     * @return New random source.
+     */
+    RandomSource split();
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random source using xoshiro256++ generator.
+ *
+ * <p>State has 256 bits, it's initialized from the seed with SplitMix64.
+ * {@link #split()} returns the current stream and moves this source 2^128
+ * numbers ahead, so the streams never overlap.</p>
+ */
+public class Xoshiro256PlusPlus implements RandomSource {
+    private static final long[] JUMP = {
+        0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+    };
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * Constructor. The seed is chosen randomly.
+     */
+    public Xoshiro256PlusPlus() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param seed Seed.
+     */
+    public Xoshiro256PlusPlus(long seed) {
+        s0 = splitMix64(seed += 0x9e3779b97f4a7c15L);
+        s1 = splitMix64(seed += 0x9e3779b97f4a7c15L);
+        s2 = splitMix64(seed += 0x9e3779b97f4a7c15L);
+        s3 = splitMix64(seed + 0x9e3779b97f4a7c15L);
+    }
+
+    Xoshiro256PlusPlus(long s0, long s1, long s2, long s3) {
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    @Override
+    public RandomSource split() {
+        Xoshiro256PlusPlus result = new Xoshiro256PlusPlus(s0, s1, s2, s3);
+        jump();
+        return result;
+    }
+
+    /**
+     * Move the generator 2^128 numbers ahead.
+     */
+    public void jump() {
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+        for (long jump : JUMP) {
+            for (int b = 0; b < 64; b++) {
+                if ((jump & (1L << b)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+
+    private static long splitMix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -28,6 +28,7 @@ import java.util.Arrays;
 
 import pl.mateuszchudyk.jmath.Operation;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
@@ -48,6 +49,20 @@ public abstract class OperationTest extends TestBase {
         }
     }
 
+    public void evaluateOutsideDomainCheck(Double... input) {
+        Operation operation = (Operation)createOperationInstance();
+
+        try {
+            operation.evaluate(input);
+            fail("Input = " + Arrays.toString(input));
+        }
+        catch (OutsideDomainException ex) {
+        }
+        catch (EvaluationException ex) {
+            fail();
+        }
+    }
+
     @Test
     public abstract void evaluateTest();
 }
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+import pl.mateuszchudyk.jmath.optimizations.OptimizationPass;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class OptimizerTest {
+    @Test
+    public void levelsTest() {
+        optimizeCheck(OptimizerType.O0, "x * 1 + x ^ 2", "x * 1 + x ^ 2");
+        optimizeCheck(OptimizerType.O1, "x + x ^ 2", "x * 1 + x ^ 2");
+        optimizeCheck(OptimizerType.O2, "x * 0.25", "x / 4 + 0");
+        optimizeCheck(OptimizerType.Default, "x * 0.25", "x / 4 + 0");
+        optimizeCheck(OptimizerType.O2, "2 * (x * 3)", "2 * (x * 3)");
+        optimizeCheck(OptimizerType.O3, "2 * (x * 3)", "2 * (x * 3)");
+        optimizeCheck(OptimizerType.O3, "2 * x + 3 * x", "2 * x + 3 * x");
+        optimizeCheck(new Optimizer(OptimizerType.O3, true), "6 * x", "2 * (x * 3)");
+        optimizeCheck(new Optimizer(OptimizerType.O3, true), "6 * (x + 1)", "(x + 1) * 2 * 3");
+        optimizeCheck(new Optimizer(OptimizerType.O3, true), "x * 5", "2 * x + 3 * x");
+    }
+
+    @Test
+    public void reportTest() {
+        Optimizer optimizer = new Optimizer(OptimizerType.O2);
+        OptimizationReport report = optimizer.optimizeWithReport(parse("x ^ 2 + 2 * 3"));
+        CostModel costModel = optimizer.getCostModel();
+
+        assertEquals(costModel.getCost(parse("x ^ 2 + 2 * 3").getAST()), report.getCostBefore(), 0);
+        assertEquals(costModel.getCost(report.getExpression().getAST()), report.getCostAfter(), 0);
+        assertTrue(report.getCostAfter() < report.getCostBefore());
+        assertTrue(!report.isTimedOut());
+
+        assertEquals(7, report.getNodesBefore());
+        assertEquals(2, report.getNodesAfter());
+        assertEquals(3, report.getDepthBefore());
+        assertEquals(2, report.getDepthAfter());
+        assertEquals(2, report.getIterations());
+        assertEquals(9, report.getPasses().size());
+        for (PassStatistics pass : report.getPasses()) {
+            assertEquals(2, pass.getRuns());
+            if (pass.getName().equals("ConstantFolding") ||
+                pass.getName().equals("StrengthReduction") ||
+                pass.getName().equals("PolynomialRewriting"))
+                assertEquals(1, pass.getRewrites());
+            else
+                assertEquals(0, pass.getRewrites());
+        }
+    }
+
+    @Test
+    public void listenerTest() {
+        final OptimizationReport[] reports = new OptimizationReport[1];
+        final OptimizationPass pass = new OptimizationPass() {
+            @Override
+            public ASTExpression run(ASTExpression ast) {
+                return null;
+            }
+        };
+
+        Optimizer optimizer = new Optimizer(OptimizerType.O1);
+        optimizer.addPass(pass);
+        optimizer.addListener(new OptimizationListener() {
+            @Override
+            public void optimized(OptimizationReport report) {
+                reports[0] = report;
+            }
+        });
+
+        Expression output = optimizer.optimize(parse("x * 1"));
+        assertEquals(output.toString(), reports[0].getExpression().toString());
+        assertEquals(3, reports[0].getPasses().size());
+        assertTrue(reports[0].getPasses().get(2).getPass() == pass);
+        assertEquals(1, reports[0].getPasses().get(0).getRewrites());
+        assertEquals(0, reports[0].getPasses().get(2).getRewrites());
+    }
+
+    @Test
+    public void costModelTest() {
+        Optimizer optimizer = new Optimizer(OptimizerType.O0);
+        optimizer.addPass(new pl.mateuszchudyk.jmath.optimizations.StrengthReduction());
+        optimizer.getCostModel().setCost(pl.mateuszchudyk.jmath.operators.Division.class, 1);
+
+        assertEquals(parse("x * x / 2").toString(), optimizer.optimize(parse("x ^ 2 / 2")).toString());
+    }
+
+    @Test
+    public void timeBudgetTest() {
+        Optimizer optimizer = new Optimizer(OptimizerType.O0);
+        optimizer.setTimeBudget(1);
+        optimizer.addPass(new OptimizationPass() {
+            @Override
+            public ASTExpression run(ASTExpression ast) {
+                try {
+                    Thread.sleep(2);
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+        });
+
+        OptimizationReport report = optimizer.optimizeWithReport(parse("x + x + x + x + x + x"));
+        assertTrue(report.isTimedOut());
+        assertEquals(parse("x + x + x + x + x + x").toString(), report.getExpression().toString());
+    }
+
+    private void optimizeCheck(OptimizerType type, String expected, String input) {
+        optimizeCheck(new Optimizer(type), expected, input);
+    }
+
+    private void optimizeCheck(Optimizer optimizer, String expected, String input) {
+        assertEquals(parse(expected).toString(), optimizer.optimize(parse(input)).toString());
+    }
+
+    private Expression parse(String input) {
+        Parser parser = new Parser(ParserType.Default);
+        parser.addVariable(new Variable("x"));
+
+        try {
+            return parser.parse(input);
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+
+        return null;
+    }
+}
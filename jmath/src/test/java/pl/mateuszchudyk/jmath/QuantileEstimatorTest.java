@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class QuantileEstimatorTest {
+    @Test
+    public void exactTest() {
+        QuantileEstimator estimator = new QuantileEstimator(0.5);
+        assertTrue(Double.isNaN(estimator.getQuantile()));
+
+        estimator.add(3);
+        assertEquals(3, estimator.getQuantile(), 0);
+        estimator.add(1);
+        assertEquals(2, estimator.getQuantile(), 0);
+        estimator.add(Double.NaN);
+        estimator.add(2);
+        assertEquals(2, estimator.getQuantile(), 0);
+        assertEquals(3, estimator.getCount());
+    }
+
+    @Test
+    public void streamTest() {
+        streamCheck(0.5, 0.01);
+        streamCheck(0.1, 0.01);
+        streamCheck(0.9, 0.01);
+        streamCheck(0.0, 0);
+        streamCheck(1.0, 0);
+    }
+
+    @Test
+    public void invalidQuantileTest() {
+        try {
+            new QuantileEstimator(1.5);
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+        }
+    }
+
+    private void streamCheck(double p, double tolerance) {
+        QuantileEstimator estimator = new QuantileEstimator(p);
+        Random random = new Random(1);
+        double[] values = new double[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble();
+            estimator.add(values[i]);
+        }
+
+        Arrays.sort(values);
+        double expected = values[(int)Math.round(p * (values.length - 1))];
+        assertEquals("p = " + p, expected, estimator.getQuantile(), tolerance);
+    }
+}
@@ -27,12 +27,19 @@ package pl.mateuszchudyk.jmath;
 import pl.mateuszchudyk.jmath.Expression;
 import pl.mateuszchudyk.jmath.Parser;
 import pl.mateuszchudyk.jmath.ParserType;
+import pl.mateuszchudyk.jmath.aggregates.Mean;
+import pl.mateuszchudyk.jmath.aggregates.Quantile;
+import pl.mateuszchudyk.jmath.aggregates.StandardDeviation;
+import pl.mateuszchudyk.jmath.aggregates.Sum;
 import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.ParseException;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -65,6 +72,211 @@ public class SimpleExpressionTest {
         testEvaluate(-2.64, "-2^3!%---2");
     }
 
+    @Test
+    public void batchTest() {
+        Parser parser = new Parser(ParserType.Default);
+        parser.addVariable(new Variable("a"));
+        parser.addVariable(new Variable("x"));
+
+        try {
+            Expression expr = parser.parse("a * x + 1");
+            expr.setVariable("a", 2.0);
+            Map<String, double[]> columns = new HashMap<>();
+            columns.put("x", new double[] { 0, 1, 2, 3 });
+            assertArrayEquals(new double[] { 1, 3, 5, 7 }, expr.evaluateBatch(columns), 0);
+
+            columns.put("a", new double[] { 1, 1, 1 });
+            try {
+                expr.evaluateBatch(columns);
+                fail();
+            }
+            catch (IllegalArgumentException ex) {
+            }
+
+            Optimizer optimizer = new Optimizer(OptimizerType.Default);
+            Expression poly = optimizer.optimize(parser.parse("poly(x, 1, 2, 3)"));
+            Expression high = optimizer.optimize(parser.parse("poly(a * x, 1, -1, 2, 0, 0.5, 3, 0, 0, -2, 1)"));
+            poly.setVariable("a", 2.0);
+            high.setVariable("a", 0.5);
+            columns.remove("a");
+            assertArrayEquals(new double[] { 1, 6, 17, 34 }, poly.evaluateBatch(columns), 0);
+            double[] results = high.evaluateBatch(columns);
+            for (int i = 0; i < results.length; i++) {
+                high.setVariable("x", columns.get("x")[i]);
+                assertEquals(high.evaluate(), results[i], 0);
+            }
+        }
+        catch (ParseException | EvaluationException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void aggregateTest() {
+        Parser parser = new Parser(ParserType.Default);
+        parser.addVariable(new Variable("x"));
+
+        try {
+            Expression expr = parser.parse("x / 3");
+            Map<String, double[]> columns = new HashMap<>();
+            double[] xs = new double[100000];
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = i;
+            columns.put("x", xs);
+
+            double parallel = expr.aggregate(columns, new Sum());
+            double sequential = expr.aggregate(columns, new Sum(), false);
+            assertEquals(Double.doubleToLongBits(sequential), Double.doubleToLongBits(parallel));
+            assertEquals(99999.0 * 100000.0 / 6, parallel, 1e-6);
+            assertEquals(99999.0 / 6, expr.aggregate(columns, new Mean()), 1e-9);
+            assertEquals(Double.doubleToLongBits(expr.aggregate(columns, new Quantile(0.5), false)),
+                Double.doubleToLongBits(expr.aggregate(columns, new Quantile(0.5), true)));
+            assertEquals(99999.0 / 6, expr.aggregate(columns, new Quantile(0.5)), 100);
+
+            parser.addVariable(new Variable("a"));
+            expr = parser.parse("poly(x, 1, 2, a) / 1000");
+            expr.setVariable("a", 3.0);
+            double expected = 0;
+            for (double result : expr.evaluateBatch(columns))
+                expected += result;
+            assertEquals(expected, expr.aggregate(columns, new Sum()), 1e-9 * expected);
+
+            expr = parser.parse("x / 3");
+            columns.put("x", new double[0]);
+            assertEquals(0.0, expr.aggregate(columns, new Sum()), 0);
+
+            columns.put("x", new double[] { 1, Double.POSITIVE_INFINITY });
+            assertEquals(Double.POSITIVE_INFINITY, expr.aggregate(columns, new Sum()), 0);
+
+            columns.put("x", new double[] { 1, 2, 3 });
+            expr = parser.parse("sqrt(x - 2)");
+            try {
+                expr.aggregate(columns, new Sum());
+                fail();
+            }
+            catch (EvaluationException ex) {
+            }
+        }
+        catch (ParseException | EvaluationException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void mathModeTest() {
+        Parser strict = new Parser(ParserType.Default);
+        Parser fast = new Parser(ParserType.Default, MathMode.Fast);
+        strict.addVariable(new Variable("x"));
+        fast.addVariable(new Variable("x"));
+
+        try {
+            String input = "exp(-x) * sin(x) + log(x) * cos(2 * x) - tan(x / 3) + tanh(x - 2) + log2(x) + log10(x)";
+            Expression exact = strict.parse(input);
+            Expression approximate = fast.parse(input);
+
+            Map<String, double[]> columns = new HashMap<>();
+            double[] xs = new double[1000];
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = 0.01 * (i + 1);
+            columns.put("x", xs);
+
+            double[] batch = approximate.evaluateBatch(columns);
+            for (int i = 0; i < xs.length; i++) {
+                exact.setVariable("x", xs[i]);
+                approximate.setVariable("x", xs[i]);
+                double expected = exact.evaluate();
+                assertEquals(expected, approximate.evaluate(), 1e-9 * Math.max(1, Math.abs(expected)));
+                assertEquals(approximate.evaluate(), batch[i], 0);
+            }
+
+            approximate = fast.parse("log(x)");
+            columns.put("x", new double[] { 1, 0 });
+            try {
+                approximate.evaluateBatch(columns);
+                fail();
+            }
+            catch (EvaluationException ex) {
+            }
+        }
+        catch (ParseException | EvaluationException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void randomTest() {
+        Parser parser = new Parser(ParserType.Default);
+        parser.addVariable(new Variable("x"));
+
+        try {
+            Expression expr = parser.parse("nrand(x, 2) + rand()");
+            expr.setVariable("x", 1.0);
+            expr.setRandomSeed(5);
+            double first = expr.evaluate();
+            expr.setRandomSeed(5);
+            assertEquals(first, expr.evaluate(), 0);
+
+            Map<String, double[]> columns = new HashMap<>();
+            columns.put("x", new double[10000]);
+            expr = parser.parse("nrand(x, 2)");
+            expr.setRandomSeed(6);
+            double[] batch = expr.evaluateBatch(columns);
+            expr.setRandomSeed(6);
+            assertArrayEquals(batch, expr.evaluateBatch(columns), 0);
+
+            columns.put("x", new double[100000]);
+            Arrays.fill(columns.get("x"), 3.0);
+            expr.setRandomSeed(7);
+            double mean = expr.aggregate(columns, new Mean(), true);
+            expr.setRandomSeed(7);
+            assertEquals(mean, expr.aggregate(columns, new Mean(), false), 0);
+            assertEquals(3.0, mean, 0.05);
+            expr.setRandomSeed(7);
+            assertEquals(2.0, expr.aggregate(columns, new StandardDeviation()), 0.05);
+        }
+        catch (ParseException | EvaluationException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void specializeTest() {
+        Parser parser = new Parser(ParserType.Default);
+        parser.addVariable(new Variable("a"));
+        parser.addVariable(new Variable("b"));
+        parser.addVariable(new Variable("x"));
+
+        try {
+            Expression expr = parser.parse("a * b * x + b + sin(a)");
+            Map<String, Double> fixed = new HashMap<>();
+            fixed.put("a", 0.0);
+            fixed.put("b", 3.0);
+
+            Expression specialized = expr.specialize(fixed);
+            assertEquals(parser.parse("3").toString(), specialized.toString());
+
+            fixed.put("a", 2.0);
+            specialized = expr.specialize(fixed);
+            for (double x = -2; x <= 2; x += 0.5) {
+                expr.setVariable("a", 2.0);
+                expr.setVariable("b", 3.0);
+                expr.setVariable("x", x);
+                specialized.setVariable("x", x);
+                assertEquals(expr.evaluate(), specialized.evaluate(), 1e-12);
+            }
+
+            assertEquals(specialized.toString(), expr.specialize(fixed).toString());
+
+            // Optimizer without passes only substitutes the variables.
+            Optimizer empty = new Optimizer(OptimizerType.Empty);
+            assertEquals(parser.parse("2 * 3 * x + 3 + sin(2)").toString(), expr.specialize(fixed, empty).toString());
+            assertEquals(specialized.toString(), expr.specialize(fixed, null).toString());
+        }
+        catch (ParseException | EvaluationException ex) {
+            fail();
+        }
+    }
+
     private void testEvaluate(Double output, String expression) {
         Parser parser = new Parser(ParserType.Default);
 
@@ -26,6 +26,7 @@ package pl.mateuszchudyk.jmath;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
 import static org.junit.Assert.fail;
 
 /**
@@ -59,4 +60,8 @@ public abstract class TestBase  {
 
         return null;
     }
+
+    protected static ASTExpression getAST(Expression expression) {
+        return expression.getAST();
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+import java.util.Arrays;
+import pl.mateuszchudyk.jmath.TestBase;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public abstract class AggregateTest extends TestBase {
+    public void aggregateCheck(double expected, double... values) {
+        Aggregate aggregate = (Aggregate)createOperationInstance();
+
+        Accumulator accumulator = aggregate.createAccumulator();
+        for (double value : values)
+            accumulator.add(value);
+        assertEquals("Input = " + Arrays.toString(values), expected, accumulator.getResult(), 1e-12 * Math.max(1, Math.abs(expected)));
+
+        // Merged partial results have to be the same for any split.
+        for (int split = 0; split <= values.length; split++) {
+            Accumulator left = aggregate.createAccumulator();
+            Accumulator right = aggregate.createAccumulator();
+            for (int i = 0; i < values.length; i++)
+                (i < split ? left : right).add(values[i]);
+            left.merge(right);
+            assertEquals("Input = " + Arrays.toString(values) + ", split = " + split, expected, left.getResult(), 1e-12 * Math.max(1, Math.abs(expected)));
+        }
+    }
+
+    @Test
+    public abstract void aggregateTest();
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class QuantileTest {
+    @Test
+    public void aggregateTest() {
+        quantileCheck(0.5, /* expected = */ Double.NaN);
+        quantileCheck(0.5, /* expected = */ 2.0, /* inputs = */ 3.0, 1.0, 2.0);
+        quantileCheck(0.5, /* expected = */ 2.0, /* inputs = */ 3.0, Double.NaN, 1.0);
+        quantileCheck(0.0, /* expected = */ 1.0, /* inputs = */ 3.0, 1.0, 2.0);
+        quantileCheck(1.0, /* expected = */ 3.0, /* inputs = */ 3.0, 1.0, 2.0);
+    }
+
+    @Test
+    public void mergeTest() {
+        Quantile quantile = new Quantile(0.5);
+        assertFalse(quantile.isMergeable());
+        assertTrue(new Sum().isMergeable());
+
+        Accumulator left = quantile.createAccumulator();
+        Accumulator right = quantile.createAccumulator();
+        left.add(1.0);
+        left.merge(right);
+        assertEquals(1.0, left.getResult(), 0);
+
+        right.add(2.0);
+        try {
+            left.merge(right);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+        }
+    }
+
+    @Test
+    public void invalidQuantileTest() {
+        try {
+            new Quantile(-0.1);
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+        }
+    }
+
+    private void quantileCheck(double p, double expected, double... values) {
+        Accumulator accumulator = new Quantile(p).createAccumulator();
+        for (double value : values)
+            accumulator.add(value);
+        assertEquals(expected, accumulator.getResult(), 0);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.aggregates;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class SumTest extends AggregateTest {
+    @Override
+    public void aggregateTest() {
+        aggregateCheck(/* expected = */ 0.0);
+        aggregateCheck(/* expected = */ 6.0, /* inputs = */ 1.0, 2.0, 3.0);
+        aggregateCheck(/* expected = */ 2.0, /* inputs = */ 1.0, 1e100, 1.0, -1e100);
+        aggregateCheck(/* expected = */ 1.0, /* inputs = */ 0.1, 0.2, 0.3, 0.4);
+        aggregateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 1.0, Double.POSITIVE_INFINITY);
+        aggregateCheck(/* expected = */ Double.NEGATIVE_INFINITY, /* inputs = */ Double.NEGATIVE_INFINITY, 1.0, 2.0);
+        aggregateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 1e308, 1e308);
+        aggregateCheck(/* expected = */ Double.NaN, /* inputs = */ Double.POSITIVE_INFINITY, 1.0, Double.NEGATIVE_INFINITY);
+        aggregateCheck(/* expected = */ Double.NaN, /* inputs = */ 1.0, Double.NaN, 2.0);
+    }
+}
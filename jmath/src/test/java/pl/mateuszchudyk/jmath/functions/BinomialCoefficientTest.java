@@ -0,0 +1,46 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class BinomialCoefficientTest extends FunctionTest {
+    @Override
+    public void evaluateTest() {
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 0.0, 0.0);
+        evaluateCheck(/* expected = */ 10.0, /* inputs = */ 5.0, 2.0);
+        evaluateCheck(/* expected = */ 10.0, /* inputs = */ 5.0, 3.0);
+        evaluateCheck(/* expected = */ 0.0, /* inputs = */ 3.0, 5.0);
+        evaluateCheck(/* expected = */ 7219428434016265740.0, /* inputs = */ 66.0, 33.0);
+        evaluateCheck(/* expected = */ 166167000.0, /* inputs = */ 1000.0, 3.0);
+        evaluateCheck(/* expected = */ 499999500000.0, /* inputs = */ 1e6, 2.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 1e15, 1e14);
+
+        evaluateOutsideDomainCheck(/* inputs = */ -1.0, 0.0);
+        evaluateOutsideDomainCheck(/* inputs = */ 5.0, 1.5);
+    }
+}
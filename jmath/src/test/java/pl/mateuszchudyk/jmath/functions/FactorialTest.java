@@ -35,5 +35,9 @@ public class FactorialTest extends FunctionTest {
             evaluateCheck(/* expected = */ factorial, /* inputs = */ new Double(i));
             factorial *= i + 1;
         }
+
+        evaluateCheck(/* expected = */ 7.257415615307994E306, /* inputs = */ 170.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 171.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 1e12);
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class FastMathTest {
+    private static final int SAMPLES = 200000;
+
+    @Test
+    public void expTest() {
+        errorCheck(FastMath::exp, Math::exp, -700, 700, false, 1);
+        errorCheck(FastMath::exp, Math::exp, -1, 1, false, 1);
+        specialCheck(FastMath::exp, Math::exp, 0, -0.0, 710, -750, Double.MAX_VALUE, -Double.MAX_VALUE);
+    }
+
+    @Test
+    public void logTest() {
+        errorCheck(FastMath::log, Math::log, -700, 700, true, 1e-13);
+        errorCheck(FastMath::log, Math::log, 0.9, 1.1, false, 1e-13);
+        errorCheck(FastMath::log2, x -> Math.log(x) / Math.log(2), -700, 700, true, 1e-13);
+        errorCheck(FastMath::log10, Math::log10, -700, 700, true, 1e-13);
+        specialCheck(FastMath::log, Math::log, 1, 0, -0.0, -1, Double.MIN_VALUE);
+    }
+
+    @Test
+    public void trigonometricTest() {
+        errorCheck(FastMath::sin, Math::sin, -10, 10, false, 2e-11);
+        errorCheck(FastMath::sin, Math::sin, -1e5, 1e5, false, 2e-11);
+        errorCheck(FastMath::cos, Math::cos, -10, 10, false, 2e-11);
+        errorCheck(FastMath::cos, Math::cos, -1e5, 1e5, false, 2e-11);
+        errorCheck(FastMath::tan, Math::tan, -10, 10, false, 2e-11);
+        errorCheck(FastMath::tan, Math::tan, -1e5, 1e5, false, 2e-11);
+        specialCheck(FastMath::sin, Math::sin, 0, -0.0, 1e300);
+        specialCheck(FastMath::cos, Math::cos, 0, 1e300);
+        specialCheck(FastMath::tan, Math::tan, 0, 1e300);
+    }
+
+    @Test
+    public void hyperbolicTangentTest() {
+        errorCheck(FastMath::tanh, Math::tanh, -1, 1, false, 2e-12);
+        errorCheck(FastMath::tanh, Math::tanh, -25, 25, false, 2e-12);
+        errorCheck(FastMath::tanh, Math::tanh, -1e-3, 1e-3, false, 2e-12);
+        specialCheck(FastMath::tanh, Math::tanh, 0, -0.0, 30, -30);
+    }
+
+    private void errorCheck(DoubleUnaryOperator fast, DoubleUnaryOperator strict, double min, double max, boolean logarithmic, double maxError) {
+        SplittableRandom random = new SplittableRandom(min > 0 ? 1 : 2);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = min + (max - min) * random.nextDouble();
+            if (logarithmic)
+                x = Math.exp(x);
+
+            double expected = strict.applyAsDouble(x);
+            double actual = fast.applyAsDouble(x);
+            // maxError >= 1 is a bound in ulps, otherwise it's a relative bound
+            double error = (maxError >= 1 ? Math.abs(actual - expected) / Math.ulp(expected) : Math.abs((actual - expected) / expected));
+            assertTrue("x = " + x + ", expected = " + expected + ", actual = " + actual, error <= maxError);
+        }
+    }
+
+    private void specialCheck(DoubleUnaryOperator fast, DoubleUnaryOperator strict, double... values) {
+        double[] specials = { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+        for (double x : specials)
+            assertEquals("x = " + x, strict.applyAsDouble(x), fast.applyAsDouble(x), 0);
+        for (double x : values)
+            assertEquals("x = " + x, strict.applyAsDouble(x), fast.applyAsDouble(x), 0);
+    }
+}
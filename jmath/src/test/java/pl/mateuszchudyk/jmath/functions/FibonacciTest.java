@@ -24,6 +24,10 @@
 
 package pl.mateuszchudyk.jmath.functions;
 
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Mateusz Chudyk
  */
@@ -41,5 +45,17 @@ public class FibonacciTest extends FunctionTest {
         evaluateCheck(/* expected = */ 21.0, /* inputs = */ 8.0);
         evaluateCheck(/* expected = */ 34.0, /* inputs = */ 9.0);
         evaluateCheck(/* expected = */ 55.0, /* inputs = */ 10.0);
+        evaluateCheck(/* expected = */ 3.542248481792619E20, /* inputs = */ 100.0);
+        evaluateCheck(/* expected = */ 1.3069892237633993E308, /* inputs = */ 1476.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 1477.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 1e9);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 1e300);
+
+        assertEquals(BigInteger.ZERO, Fibonacci.exact(0));
+        assertEquals(BigInteger.ONE, Fibonacci.exact(1));
+        assertEquals(BigInteger.valueOf(55), Fibonacci.exact(10));
+        assertEquals(new BigInteger("354224848179261915075"), Fibonacci.exact(100));
+        assertEquals(2090, Fibonacci.exact(10000).toString().length());
+        assertEquals(Fibonacci.exact(99999).add(Fibonacci.exact(99998)), Fibonacci.exact(100000));
     }
 }
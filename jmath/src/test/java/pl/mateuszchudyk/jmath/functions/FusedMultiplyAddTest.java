@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class FusedMultiplyAddTest extends FunctionTest {
+    private static final double EPSILON = Math.ulp(1.0);
+
+    @Override
+    public void evaluateTest() {
+        evaluateCheck(/* expected = */ 7.0, /* inputs = */ 2.0, 3.0, 1.0);
+        evaluateCheck(/* expected = */ -5.0, /* inputs = */ 2.0, -3.0, 1.0);
+        evaluateCheck(/* expected = */ 0.0, /* inputs = */ 0.0, 5.0, 0.0);
+        // (1 + e) * (1 - e) - 1 = -e^2 is lost without fusion.
+        evaluateCheck(/* expected = */ -EPSILON * EPSILON, /* inputs = */ 1 + EPSILON, 1 - EPSILON, -1.0);
+        evaluateCheck(/* expected = */ Double.NaN, /* inputs = */ Double.NaN, 1.0, 1.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ Double.MAX_VALUE, 2.0, 1.0);
+    }
+
+    @Test
+    public void fallbackTest() {
+        double[] values = { 0.0, -0.0, 1.0, -1.0, 1 + EPSILON, 1 - EPSILON, 0.1, -3.7, 1e300, -1e-300, Double.MIN_VALUE,
+            Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+        for (double a : values) {
+            for (double b : values) {
+                for (double c : values) {
+                    double expected = FusedMultiplyAdd.fma(a, b, c);
+                    assertEquals("fma(" + a + ", " + b + ", " + c + ")",
+                        Double.doubleToLongBits(expected), Double.doubleToLongBits(FusedMultiplyAdd.fmaFallback(a, b, c)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class GammaTest extends FunctionTest {
+    @Override
+    public void evaluateTest() {
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 1.0);
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 2.0);
+        evaluateCheck(/* expected = */ 120.0, /* inputs = */ 6.0);
+        evaluateCheck(/* expected = */ 7.257415615307994E306, /* inputs = */ 171.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 172.0);
+        evaluateCheck(/* expected = */ Double.POSITIVE_INFINITY, /* inputs = */ 171.7);
+        evaluateCheck(/* expected = */ 1.772453850905515, /* inputs = */ 0.5);
+        evaluateCheck(/* expected = */ 0.8862269254527583, /* inputs = */ 1.5);
+        evaluateCheck(/* expected = */ 11.63172839656745, /* inputs = */ 4.5);
+        evaluateCheck(/* expected = */ -3.544907701811031, /* inputs = */ -0.5);
+        evaluateCheck(/* expected = */ 2.3632718012073504, /* inputs = */ -1.5);
+    }
+}
@@ -34,5 +34,11 @@ public class GreatestCommonDivisorTest extends FunctionTest {
         evaluateCheck(/* expected = */ 1.0, /* inputs = */ 63245986.0, 102334155.0); // Fib_39 and Fib_40
         evaluateCheck(/* expected = */ 2.0, /* inputs = */ 6.0, 8.0);
         evaluateCheck(/* expected = */ 8.0, /* inputs = */ 16.0, 24.0, 88.0);
+        evaluateCheck(/* expected = */ 5.0, /* inputs = */ 5.0);
+        evaluateCheck(/* expected = */ 1099511627776.0, /* inputs = */ 4503599627370496.0, 3298534883328.0); // 2^52 and 3 * 2^40
+
+        evaluateOutsideDomainCheck(/* inputs = */ 0.0, 4.0);
+        evaluateOutsideDomainCheck(/* inputs = */ 4.0, 2.5);
+        evaluateOutsideDomainCheck(/* inputs = */ 4.0, 6.0, -2.0);
     }
 }
\ No newline at end of file
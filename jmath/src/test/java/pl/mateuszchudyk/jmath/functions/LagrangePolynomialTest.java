@@ -33,5 +33,8 @@ public class LagrangePolynomialTest extends FunctionTest {
         evaluateCheck(/* expected = */ 3.0, /* inputs = */ 1.0, 2.0, 3.0);
         evaluateCheck(/* expected = */ 4.2, /* inputs = */ 2.0, 1.2, 3.4, 5.6, 7.8);
         evaluateCheck(/* expected = */ 4.190999999999999, /* inputs = */ 1.234, 5.678, 9.123, 4.567, 7.890);
+        evaluateCheck(/* expected = */ 0.25, /* inputs = */ 0.5, -1.0, 1.0, 0.0, 0.0, 1.0, 1.0);
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ -1.0, -1.0, 1.0, 0.0, 0.0, 1.0, 1.0);
+        evaluateCheck(/* expected = */ 7.0, /* inputs = */ 2.0, 1.0, 5.0, 2.0, 7.0, 3.0, 11.0);
     }
 }
\ No newline at end of file
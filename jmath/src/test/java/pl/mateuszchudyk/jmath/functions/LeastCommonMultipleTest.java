@@ -33,5 +33,10 @@ public class LeastCommonMultipleTest extends FunctionTest {
         evaluateCheck(/* expected = */ 24.0, /* inputs = */ 6.0, 8.0);
         evaluateCheck(/* expected = */ 143.0, /* inputs = */ 11.0, 13.0);
         evaluateCheck(/* expected = */ 528.0, /* inputs = */ 16.0, 24.0, 88.0);
+        evaluateCheck(/* expected = */ 8.0, /* inputs = */ 2.0, 4.0, 8.0);
+        evaluateCheck(/* expected = */ 8.112963841460438E31, /* inputs = */ 9007199254740881.0, 9007199254740847.0);
+
+        evaluateOutsideDomainCheck(/* inputs = */ 4.0, 0.5);
+        evaluateOutsideDomainCheck(/* inputs = */ 4.0, 6.0, 0.0);
     }
 }
\ No newline at end of file
@@ -25,6 +25,12 @@
 package pl.mateuszchudyk.jmath.functions;
 
 import java.util.Arrays;
+import java.util.Random;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Mateusz Chudyk
  */
@@ -34,5 +40,31 @@ public class MedianTest extends FunctionTest {
         evaluateCheck(/* expected = */ 0.0, /* inputs = */ 0.0);
         evaluateCheck(/* expected = */ 1.5, /* inputs = */ 0.0, 1.0, 2.0, 3.0);
         evaluateCheck(/* expected = */ 2.0, /* inputs = */ 0.0, 1.0, 2.0, 3.0, 7.0);
+        evaluateCheck(/* expected = */ 2.0, /* inputs = */ 7.0, 3.0, 0.0, 2.0, 1.0);
+        evaluateCheck(/* expected = */ 1.5, /* inputs = */ 3.0, 1.0, 2.0, 0.0);
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 1.0, 1.0, 1.0, 1.0);
+        evaluateCheck(/* expected = */ 2.0, /* inputs = */ 1.0, Double.NaN, 2.0);
+        evaluateCheck(/* expected = */ 0.0, /* inputs = */ -1.0, 0.0, Double.POSITIVE_INFINITY);
+
+        Median median = new Median();
+        Random random = new Random(0);
+        try {
+            for (int n = 1; n < 200; n++) {
+                Double[] args = new Double[n];
+                for (int i = 0; i < n; i++)
+                    args[i] = (double)random.nextInt(n);
+                Double[] copy = args.clone();
+
+                Double[] sorted = args.clone();
+                Arrays.sort(sorted);
+                double expected = (n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2);
+
+                assertEquals(expected, median.evaluate(args), 0);
+                assertArrayEquals(copy, args);
+            }
+        }
+        catch (EvaluationException ex) {
+            throw new AssertionError(ex);
+        }
     }
 }
\ No newline at end of file
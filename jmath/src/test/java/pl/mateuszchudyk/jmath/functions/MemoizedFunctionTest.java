@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import pl.mateuszchudyk.jmath.Expression;
+import pl.mateuszchudyk.jmath.Parser;
+import pl.mateuszchudyk.jmath.ParserType;
+import pl.mateuszchudyk.jmath.Variable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class MemoizedFunctionTest {
+    private static class Counting implements Function {
+        int calls = 0;
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public String getDescription() {
+            return "counting(x, ...) = sum of arguments";
+        }
+
+        @Override
+        public Double evaluate(Double[] args) throws EvaluationException {
+            calls++;
+            double sum = 0;
+            for (Double arg : args)
+                sum += arg;
+            return sum;
+        }
+
+        @Override
+        public boolean checkNumberOfArguments(int numberOfArguments) {
+            return true;
+        }
+    }
+
+    @Test
+    public void cacheTest() throws EvaluationException {
+        for (MemoizedFunction.Sharing sharing : MemoizedFunction.Sharing.values()) {
+            Counting counting = new Counting();
+            MemoizedFunction memoized = new MemoizedFunction(counting, 64, sharing);
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(3.0, memoized.evaluate(new Double[] { 1.0, 2.0 }), 0);
+                assertEquals(2.0, memoized.evaluate(new Double[] { 2.0 }), 0);
+                assertEquals(0.0, memoized.evaluate(new Double[] { 0.0 }), 0);
+                assertEquals(0.0, memoized.evaluate(new Double[] { -0.0 }), 0);
+                assertEquals(0.0, memoized.evaluate(new Double[0]), 0);
+            }
+            assertEquals(5, counting.calls);
+            assertEquals(45, memoized.getHits());
+            assertEquals(5, memoized.getMisses());
+            assertEquals(0.9, memoized.getHitRate(), 1e-15);
+
+            memoized.clear();
+            memoized.resetStatistics();
+            memoized.evaluate(new Double[] { 2.0 });
+            assertEquals(6, counting.calls);
+            assertEquals(0, memoized.getHits());
+            assertEquals(1, memoized.getMisses());
+
+            // Too many arguments to be cached.
+            Double[] args = new Double[] { 1.0, 2.0, 3.0, 4.0, 5.0 };
+            memoized.evaluate(args);
+            memoized.evaluate(args);
+            assertEquals(8, counting.calls);
+        }
+    }
+
+    @Test
+    public void evictionTest() throws EvaluationException {
+        Counting counting = new Counting();
+        MemoizedFunction memoized = new MemoizedFunction(counting, 16, MemoizedFunction.Sharing.PerThread);
+
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, memoized.evaluate(new Double[] { (double)i }), 0);
+        assertEquals(1000, counting.calls);
+
+        // The most recent value is still cached, the oldest one is evicted.
+        memoized.evaluate(new Double[] { 999.0 });
+        assertEquals(1000, counting.calls);
+        memoized.evaluate(new Double[] { 0.0 });
+        assertEquals(1001, counting.calls);
+    }
+
+    @Test
+    public void capacityTest() throws EvaluationException {
+        for (MemoizedFunction.Sharing sharing : MemoizedFunction.Sharing.values()) {
+            for (int capacity : new int[] { 1, 3, 16, 100 }) {
+                Counting counting = new Counting();
+                MemoizedFunction memoized = new MemoizedFunction(counting, capacity, sharing);
+
+                for (int i = 0; i < 1000; i++)
+                    memoized.evaluate(new Double[] { (double)i });
+                for (int i = 999; i >= 0; i--)
+                    memoized.evaluate(new Double[] { (double)i });
+
+                // The most recent values are cached, but no more than the
+                // capacity.
+                assertTrue(memoized.getHits() <= capacity);
+                assertTrue(memoized.getHits() > 0);
+            }
+        }
+    }
+
+    @Test
+    public void nondeterministicTest() {
+        try {
+            new MemoizedFunction(new UniformDistributionRandom_0(), 16);
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+        }
+    }
+
+    @Test
+    public void parserTest() throws ParseException, EvaluationException {
+        Counting counting = new Counting();
+        MemoizedFunction memoized = new MemoizedFunction(counting, 16);
+        Parser parser = new Parser(ParserType.Default);
+        parser.addFunction(memoized);
+        parser.addVariable(new Variable("x"));
+
+        Expression expression = parser.parse("counting(x, 1) + counting(x, 1)");
+        for (int i = 0; i < 3; i++) {
+            expression.setVariable("x", 2.0);
+            assertEquals(6.0, expression.evaluate(), 0);
+        }
+        assertEquals(1, counting.calls);
+        assertEquals(5, memoized.getHits());
+    }
+}
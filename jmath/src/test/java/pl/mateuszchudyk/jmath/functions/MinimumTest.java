@@ -34,5 +34,9 @@ public class MinimumTest extends FunctionTest {
         evaluateCheck(/* expected = */ 0.0, /* inputs = */ 0.0, 1.0, 2.0);
         evaluateCheck(/* expected = */ 0.0, /* inputs = */ 1.0, 0.0, 2.0);
         evaluateCheck(/* expected = */ 0.0, /* inputs = */ 2.0, 1.0, 0.0);
+        evaluateCheck(/* expected = */ Double.NaN, /* inputs = */ -7.0, Double.NaN, 3.0);
+        evaluateCheck(/* expected = */ Double.NaN, /* inputs = */ Double.NaN, -7.0);
+        evaluateCheck(/* expected = */ -0.0, /* inputs = */ -0.0, 0.0);
+        evaluateCheck(/* expected = */ -0.0, /* inputs = */ 0.0, -0.0);
     }
 }
\ No newline at end of file
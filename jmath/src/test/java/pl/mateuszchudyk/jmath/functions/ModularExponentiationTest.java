@@ -0,0 +1,45 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class ModularExponentiationTest extends FunctionTest {
+    @Override
+    public void evaluateTest() {
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 2.0, 0.0, 7.0);
+        evaluateCheck(/* expected = */ 0.0, /* inputs = */ 2.0, 5.0, 1.0);
+        evaluateCheck(/* expected = */ 4.0, /* inputs = */ 2.0, 10.0, 10.0);
+        evaluateCheck(/* expected = */ 7.0, /* inputs = */ -7.0, 3.0, 10.0);
+        evaluateCheck(/* expected = */ 264444359.0, /* inputs = */ 2.0, 1e15, 1000000007.0);
+        evaluateCheck(/* expected = */ 8989230971084163.0, /* inputs = */ 3.0, 4503599627370495.0, 9007199254740881.0);
+
+        evaluateOutsideDomainCheck(/* inputs = */ 2.5, 2.0, 7.0);
+        evaluateOutsideDomainCheck(/* inputs = */ 2.0, -1.0, 7.0);
+        evaluateOutsideDomainCheck(/* inputs = */ 2.0, 2.0, 0.0);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import java.util.Arrays;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class RangeTestTest extends FunctionTest {
+    @Override
+    public void evaluateTest() {
+        evaluateCheck(/* expected = */ 0.0, /* inputs = */ 0.0, 1.0, 3.0);
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 1.0, 1.0, 3.0);
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 2.0, 1.0, 3.0);
+        evaluateCheck(/* expected = */ 1.0, /* inputs = */ 3.0, 1.0, 3.0);
+        evaluateCheck(/* expected = */ 0.0, /* inputs = */ 4.0, 1.0, 3.0);
+        evaluateCheck(/* expected = */ 0.0, /* inputs = */ Double.NaN, 1.0, 3.0);
+
+        //                                 x:  0    1    2    3    4    NaN
+        variantCheck(true, false, true,   0.0, 1.0, 1.0, 0.0, 0.0, 0.0);
+        variantCheck(false, true, true,   0.0, 0.0, 1.0, 1.0, 0.0, 0.0);
+        variantCheck(false, false, true,  0.0, 0.0, 1.0, 0.0, 0.0, 0.0);
+        variantCheck(true, true, false,   1.0, 0.0, 0.0, 0.0, 1.0, 0.0);
+        variantCheck(true, false, false,  1.0, 0.0, 0.0, 1.0, 1.0, 0.0);
+        variantCheck(false, true, false,  1.0, 1.0, 0.0, 0.0, 1.0, 0.0);
+        variantCheck(false, false, false, 1.0, 1.0, 0.0, 1.0, 1.0, 0.0);
+
+        assertEquals("in_range", new RangeTest().getName());
+        assertEquals("in_range_co", new RangeTest(true, false, true).getName());
+        assertEquals("out_of_range_oc", new RangeTest(false, true, false).getName());
+    }
+
+    private void variantCheck(boolean lowerInclusive, boolean upperInclusive, boolean inside, Double... expected) {
+        RangeTest function = new RangeTest(lowerInclusive, upperInclusive, inside);
+        Double[] xs = { 0.0, 1.0, 2.0, 3.0, 4.0, Double.NaN };
+        try {
+            for (int i = 0; i < xs.length; i++)
+                assertEquals(function.getName() + "(" + xs[i] + ", 1, 3)", expected[i], function.evaluate(new Double[] { xs[i], 1.0, 3.0 }));
+        }
+        catch (EvaluationException ex) {
+            throw new AssertionError(ex);
+        }
+
+        double[] x = { 0.0, 1.0, 2.0, 3.0, 4.0, Double.NaN };
+        double[] a = new double[x.length];
+        double[] b = new double[x.length];
+        Arrays.fill(a, 1.0);
+        Arrays.fill(b, 3.0);
+        try {
+            double[] result = function.evaluateBatch(new double[][] { x, a, b }, x.length);
+            for (int i = 0; i < x.length; i++)
+                assertEquals(function.getName() + "(" + x[i] + ", 1, 3)", expected[i], result[i], 0);
+        }
+        catch (EvaluationException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.functions;
+
+import java.util.HashMap;
+import pl.mateuszchudyk.jmath.Expression;
+import pl.mateuszchudyk.jmath.Parser;
+import pl.mateuszchudyk.jmath.ParserType;
+import pl.mateuszchudyk.jmath.Variable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class TableInterpolationTest {
+    private static final int POINTS = 10001;
+
+    @Test
+    public void linearTest() throws EvaluationException {
+        TableInterpolation table = new TableInterpolation("t",
+            new double[] { 0, 1, 3, 4 }, new double[] { 0, 2, 0, 4 }, TableInterpolation.Method.Linear);
+        assertFalse(table.isUniform());
+        assertEquals(0.0, table.evaluate(new Double[] { 0.0 }), 0);
+        assertEquals(1.0, table.evaluate(new Double[] { 0.5 }), 0);
+        assertEquals(2.0, table.evaluate(new Double[] { 1.0 }), 0);
+        assertEquals(1.0, table.evaluate(new Double[] { 2.0 }), 0);
+        assertEquals(2.0, table.evaluate(new Double[] { 3.5 }), 0);
+        assertEquals(4.0, table.evaluate(new Double[] { 4.0 }), 0);
+    }
+
+    @Test
+    public void uniformTest() throws EvaluationException {
+        double[] nodes = new double[POINTS];
+        double[] values = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            nodes[i] = i * 0.001;
+            values[i] = Math.sin(nodes[i]);
+        }
+
+        TableInterpolation linear = new TableInterpolation("t", nodes, values, TableInterpolation.Method.Linear);
+        TableInterpolation cubic = new TableInterpolation("t", nodes, values, TableInterpolation.Method.Cubic);
+        assertTrue(linear.isUniform());
+
+        for (int i = 0; i < POINTS; i++) {
+            assertEquals(values[i], linear.evaluate(new Double[] { nodes[i] }), 1e-15);
+            assertEquals(values[i], cubic.evaluate(new Double[] { nodes[i] }), 1e-15);
+        }
+        for (double x = 0.0005; x < 10; x += 0.0173) {
+            assertEquals(Math.sin(x), linear.evaluate(new Double[] { x }), 2e-7);
+            // Natural boundary conditions are inexact near ends.
+            if (x > 0.1 && x < 9.9)
+                assertEquals(Math.sin(x), cubic.evaluate(new Double[] { x }), 1e-12);
+        }
+    }
+
+    @Test
+    public void cubicTest() throws EvaluationException {
+        // Natural spline of linear points is linear.
+        TableInterpolation cubic = new TableInterpolation("t",
+            new double[] { -2, 0, 0.5, 3 }, new double[] { -4, 0, 1, 6 }, TableInterpolation.Method.Cubic);
+        for (double x = -2; x <= 3; x += 0.125)
+            assertEquals(2 * x, cubic.evaluate(new Double[] { x }), 1e-14);
+    }
+
+    @Test
+    public void domainTest() throws EvaluationException {
+        TableInterpolation table = new TableInterpolation("t",
+            new double[] { 0, 1 }, new double[] { 0, 1 }, TableInterpolation.Method.Linear);
+        for (double x : new double[] { -0.5, 1.5, Double.NaN }) {
+            try {
+                table.evaluate(new Double[] { x });
+                fail();
+            }
+            catch (OutsideDomainException ex) {
+            }
+        }
+
+        try {
+            new TableInterpolation("t", new double[] { 0, 1, 1 }, new double[] { 0, 1, 2 }, TableInterpolation.Method.Linear);
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+        }
+    }
+
+    @Test
+    public void parserTest() throws ParseException, EvaluationException {
+        Parser parser = new Parser(ParserType.Default);
+        parser.addVariable(new Variable("x"));
+        assertTrue(parser.addTable("square", new double[] { 0, 1, 2, 3 }, new double[] { 0, 1, 4, 9 }));
+        assertFalse(parser.addTable("x", new double[] { 0, 1 }, new double[] { 0, 1 }));
+
+        Expression expression = parser.parse("square(x) + 1");
+        expression.setVariable("x", 1.5);
+        assertEquals(3.5, expression.evaluate(), 0);
+
+        HashMap<String, double[]> columns = new HashMap<>();
+        columns.put("x", new double[] { 0, 0.5, 2, 2.75 });
+        assertArrayEquals(new double[] { 1, 1.5, 5, 8.75 }, expression.evaluateBatch(columns), 0);
+    }
+}
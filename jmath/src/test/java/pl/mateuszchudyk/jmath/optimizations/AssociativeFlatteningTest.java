@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.operators.Addition;
+import pl.mateuszchudyk.jmath.operators.Multiplication;
+import pl.mateuszchudyk.jmath.Variable;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class AssociativeFlatteningTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        OptimizationPass fastMath = new AssociativeFlattening(true);
+        OptimizationPass sorting = new AssociativeFlattening(true, true);
+
+        runCheck(/* expected = */ add(x(), y(), imm(1)), /* inputs = */ "x + y + 1");
+        runCheck(/* expected = */ mul(x(), y(), x(), imm(2)), /* inputs = */ "x * y * x * 2");
+        runCheck(/* expected = */ add(x(), y()), /* inputs = */ "x + 0 + y");
+        runCheck(/* expected = */ mul(x(), y()), /* inputs = */ "1 * x * y");
+        runCheck(/* expected = */ "0", /* inputs = */ "x * 0 * y");
+        runCheck(/* expected = */ "x + (y + 1)", /* inputs = */ "x + (y + 1)");
+        runCheck(/* expected = */ "x + y", /* inputs = */ "x + y");
+        runCheck(/* expected = */ "x - y - 1", /* inputs = */ "x - y - 1");
+
+        runCheck(/* expected = */ add(imm(6), x(), y()), /* inputs = */ "1 + x + 2 + (y + 3)", fastMath);
+        runCheck(/* expected = */ mul(imm(6), x(), y()), /* inputs = */ "2 * (x * 3) * y", fastMath);
+        runCheck(/* expected = */ "1 + x", /* inputs = */ "x + 0 + 1", fastMath);
+        runCheck(/* expected = */ "2 * x", /* inputs = */ "2 * x", fastMath);
+        runCheck(/* expected = */ "2 * x", /* inputs = */ "x * 2", fastMath);
+
+        runCheck(/* expected = */ add(imm(3), x(), y(), mul(x(), y())), /* inputs = */ "x * y + y + 1 + x + 2", sorting);
+        runCheck(/* expected = */ "2 * x", /* inputs = */ "x * 2", sorting);
+
+        evaluateCheck("1 + x + 2 * x * 3 + x * 0.5 * x", 0.0, 1.0, -2.5, 3.0, 100.0);
+    }
+
+    private ASTExpression add(ASTExpression... arguments) {
+        return new ASTOperation(new Addition(), arguments);
+    }
+
+    private ASTExpression mul(ASTExpression... arguments) {
+        return new ASTOperation(new Multiplication(), arguments);
+    }
+
+    private ASTExpression imm(double value) {
+        return new ASTImmidiateValue(value);
+    }
+
+    private ASTExpression x() {
+        return new ASTVariable(new Variable("x"));
+    }
+
+    private ASTExpression y() {
+        return new ASTVariable(new Variable("y"));
+    }
+}
@@ -40,5 +40,7 @@ public class ConstantFoldingTest extends OptimizationPassTest  {
         runCheck(/* expected = */ "x", /* inputs = */  "x");
         runCheck(/* expected = */ "x + 2", /* inputs = */  "x + 2");
         runCheck(/* expected = */ "5", /* inputs = */  "2 + 3");
+        runCheck(/* expected = */ "rand()", /* inputs = */  "rand()");
+        runCheck(/* expected = */ "nrand(0, 1)", /* inputs = */  "nrand(0, 1)");
     }
 }
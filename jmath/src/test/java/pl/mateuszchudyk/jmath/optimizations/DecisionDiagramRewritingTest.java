@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.ast.ASTDecisionDiagram;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.ast.ASTOperation;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.Operation;
+import pl.mateuszchudyk.jmath.Variable;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class DecisionDiagramRewritingTest extends OptimizationPassTest  {
+    private static final int F = ASTDecisionDiagram.FALSE;
+    private static final int T = ASTDecisionDiagram.TRUE;
+
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ "x > 1", /* inputs = */ "x > 1 and x > 1");
+        runCheck(/* expected = */ "1", /* inputs = */ "x > 1 or not (x > 1)");
+        runCheck(/* expected = */ "0", /* inputs = */ "x > 1 xor x > 1");
+        runCheck(/* expected = */ "x > 1", /* inputs = */ "(x > 1 and y > 1) or (x > 1 and not (y > 1))");
+        runCheck(/* expected = */ "not (x > 1)", /* inputs = */ "not (x > 1) and not (x > 1)");
+        runCheck(/* expected = */ "to_logical(x)", /* inputs = */ "x or x");
+        runCheck(/* expected = */ "x > 1", /* inputs = */ "x > 1");
+        runCheck(/* expected = */ "not (x > 1)", /* inputs = */ "not (x > 1)");
+
+        runCheck(/* expected = */ diagram(new ASTExpression[] { greater(x()), greater(y()) },
+                                          new int[] { 0, 1 }, new int[] { F, F }, new int[] { 1, T }),
+                 /* inputs = */ "x > 1 and y > 1 and (x > 1 or y > 1)");
+        runCheck(/* expected = */ diagram(new ASTExpression[] { greater(x()), greater(y()) },
+                                          new int[] { 0, 1, 1 }, new int[] { 1, F, T }, new int[] { 2, T, F }),
+                 /* inputs = */ "x > 1 xor y > 1");
+        runCheck(/* expected = */ diagram(new ASTExpression[] { greater(rand()), greater(rand()) },
+                                          new int[] { 0, 1 }, new int[] { F, F }, new int[] { 1, T }),
+                 /* inputs = */ "rand() > 1 and rand() > 1");
+
+        evaluateCheck("(x > 1 and x < 5) or (x >= 5 => x > 7) xor not (x = 3)", -1.0, 1.0, 2.0, 3.0, 5.0, 6.0, 8.0);
+        evaluateCheck("(x > 1 nand x < 5) <=> (x > 2 nor x < 0)", -1.0, 1.0, 2.0, 3.0, 5.0, 6.0, 8.0);
+    }
+
+    private ASTExpression diagram(ASTExpression[] atoms, int[] tests, int[] low, int[] high) {
+        return new ASTDecisionDiagram(atoms, tests, low, high, 0);
+    }
+
+    private ASTExpression greater(ASTExpression left) {
+        return binary(new pl.mateuszchudyk.jmath.operators.GreaterThen(), left, new ASTImmidiateValue(1.0));
+    }
+
+    private ASTExpression binary(Operation operation, ASTExpression left, ASTExpression right) {
+        return new ASTOperation(operation, new ASTExpression[] { left, right });
+    }
+
+    private ASTExpression rand() {
+        return new ASTOperation(new pl.mateuszchudyk.jmath.functions.UniformDistributionRandom_0(), new ASTExpression[0]);
+    }
+
+    private ASTExpression x() {
+        return new ASTVariable(new Variable("x"));
+    }
+
+    private ASTExpression y() {
+        return new ASTVariable(new Variable("y"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.CostModel;
+import pl.mateuszchudyk.jmath.Expression;
+import pl.mateuszchudyk.jmath.Optimizer;
+import pl.mateuszchudyk.jmath.OptimizerType;
+import pl.mateuszchudyk.jmath.Parser;
+import pl.mateuszchudyk.jmath.Range;
+import pl.mateuszchudyk.jmath.Variable;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.OutsideDomainException;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class EqualitySaturationTest extends OptimizationPassTest  {
+    @Override
+    protected Parser createParser() {
+        Parser parser = super.createParser();
+        parser.addVariable(new Variable("p", new Range(1, 10)));
+        parser.addVariable(new Variable("n", new Range(-10, -1)));
+        return parser;
+    }
+
+    @Override
+    public void runTest() {
+        // Without time limit, so results don't depend on the machine.
+        OptimizationPass pass = new EqualitySaturation(new CostModel(), 500, 0, true);
+
+        runCheck(/* expected = */ "x * 6", /* inputs = */ "x * 2 * 3", pass);
+        runCheck(/* expected = */ "x * 5", /* inputs = */ "2 * x + 3 * x", pass);
+        runCheck(/* expected = */ "x + 21", /* inputs = */ "1 + 2 + 3 + 4 + x + 5 + 6", pass);
+        runCheck(/* expected = */ "x * (x + y)", /* inputs = */ "x * x + x * y", pass);
+        runCheck(/* expected = */ "x * 2", /* inputs = */ "x / 4 * 8", pass);
+        runCheck(/* expected = */ "1", /* inputs = */ "(x + 1) - x", pass);
+        runCheck(/* expected = */ "0", /* inputs = */ "(x + y) * (x + y) - (x + y) * (x + y)", pass);
+        runCheck(/* expected = */ "p", /* inputs = */ "sqrt(p) * sqrt(p)", pass);
+        runCheck(/* expected = */ "p", /* inputs = */ "exp(log(p))", pass);
+        runCheck(/* expected = */ "p", /* inputs = */ "p ^ 0.5 * p ^ 0.5", pass);
+        runCheck(/* expected = */ "to_logical(x)", /* inputs = */ "not(not(x))", pass);
+
+        runCheck(/* expected = */ "x", /* inputs = */ "x", pass);
+        runCheck(/* expected = */ "x + y", /* inputs = */ "x + y", pass);
+        runCheck(/* expected = */ "rand() - rand()", /* inputs = */ "rand() - rand()", pass);
+
+        // Logarithms and roots are merged only for positive arguments.
+        runCheck(/* expected = */ "log(p * (p + 1))", /* inputs = */ "log(p) + log(p + 1)", pass);
+        runCheck(/* expected = */ "sqrt(p * (p + 1))", /* inputs = */ "sqrt(p) * sqrt(p + 1)", pass);
+        runCheck(/* expected = */ "log(x) + log(y)", /* inputs = */ "log(x) + log(y)", pass);
+        runCheck(/* expected = */ "sqrt(x) * sqrt(y)", /* inputs = */ "sqrt(x) * sqrt(y)", pass);
+        runCheck(/* expected = */ "log(n) + log(n - 1)", /* inputs = */ "log(n) + log(n - 1)", pass);
+        runCheck(/* expected = */ "sqrt(n) * sqrt(n - 2)", /* inputs = */ "sqrt(n) * sqrt(n - 2)", pass);
+        runCheck(/* expected = */ "sqrt(x) * sqrt(x)", /* inputs = */ "sqrt(x) * sqrt(x)", pass);
+        runCheck(/* expected = */ "exp(log(x))", /* inputs = */ "exp(log(x))", pass);
+        runCheck(/* expected = */ "(x ^ 0.5) ^ 2", /* inputs = */ "x ^ 0.5 * x ^ 0.5", pass);
+
+        // Without fast-math only exact identities are used.
+        OptimizationPass exact = new EqualitySaturation(new CostModel(), 500, 0);
+        runCheck(/* expected = */ "x - x", /* inputs = */ "x - x", exact);
+        runCheck(/* expected = */ "x + y - x", /* inputs = */ "x + y - x", exact);
+        runCheck(/* expected = */ "(x + y) - y", /* inputs = */ "(x + y) - y", exact);
+        runCheck(/* expected = */ "x * 2 * 3", /* inputs = */ "x * 2 * 3", exact);
+        runCheck(/* expected = */ "x - y", /* inputs = */ "x + -y", exact);
+        runCheck(/* expected = */ "abs(x)", /* inputs = */ "abs(abs(-x))", exact);
+
+        try {
+            Optimizer optimizer = new Optimizer(OptimizerType.O3, false);
+            for (String input : new String[] { "x - x", "x + y - x", "(x + y) - y" }) {
+                Expression expression = optimizer.optimize(createParser().parse(input));
+                assertEquals(createParser().parse(input).toString(), expression.toString());
+            }
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+
+        try {
+            Optimizer optimizer = new Optimizer(OptimizerType.O3, true);
+            String[] inputs = { "log(x) + log(y)", "sqrt(x) * sqrt(y)", "sqrt(x) * sqrt(x)", "x ^ 0.5 * x ^ 0.5" };
+            for (String input : inputs)
+                outsideDomainCheck(optimizer.optimize(createParser().parse(input)), -2.0);
+
+            // StrengthReduction removes exp(log(x)) in fast-math mode, so only
+            // the pass is checked.
+            Optimizer saturation = new Optimizer(OptimizerType.Empty);
+            saturation.addPass(pass);
+            outsideDomainCheck(saturation.optimize(createParser().parse("exp(log(x))")), 0.0);
+            outsideDomainCheck(saturation.optimize(createParser().parse("exp(log(x))")), -2.0);
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+    }
+
+    private void outsideDomainCheck(Expression expression, double x) {
+        expression.setVariable("x", x);
+        expression.setVariable("y", -3.0);
+        try {
+            expression.evaluate();
+            fail(expression.toString());
+        }
+        catch (OutsideDomainException ex) {
+        }
+        catch (EvaluationException ex) {
+            fail();
+        }
+    }
+}
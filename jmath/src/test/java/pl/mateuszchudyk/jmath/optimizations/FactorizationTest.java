@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.CostModel;
+import pl.mateuszchudyk.jmath.Optimizer;
+import pl.mateuszchudyk.jmath.OptimizerType;
+import pl.mateuszchudyk.jmath.PassStatistics;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class FactorizationTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ "x * (y + 2)", /* inputs = */ "x * y + x * 2");
+        runCheck(/* expected = */ "x * (y + 2)", /* inputs = */ "x * y + 2 * x");
+        runCheck(/* expected = */ "x * (y - 2)", /* inputs = */ "x * y - x * 2");
+        runCheck(/* expected = */ "x * (1 + y + 3)", /* inputs = */ "x + x * y + x * 3");
+        runCheck(/* expected = */ "y * (x + 2)", /* inputs = */ "x * y + y * 2");
+        runCheck(/* expected = */ "x * (y + 2) + 3", /* inputs = */ "x * y + 3 + x * 2");
+        runCheck(/* expected = */ "3 - x * (y + 2)", /* inputs = */ "3 - x * y - x * 2");
+        runCheck(/* expected = */ "x * (y * 2 + 3)", /* inputs = */ "x * y * 2 + x * 3");
+        runCheck(/* expected = */ "(x + y) / 2", /* inputs = */ "x / 2 + y / 2");
+        runCheck(/* expected = */ "(x - y) / (x + 1)", /* inputs = */ "x / (x + 1) - y / (x + 1)");
+
+        runCheck(/* expected = */ "x + x", /* inputs = */ "x + x");
+        runCheck(/* expected = */ "x * 2 + y * 3", /* inputs = */ "x * 2 + y * 3");
+        runCheck(/* expected = */ "rand() * x + rand() * y", /* inputs = */ "rand() * x + rand() * y");
+
+        // Removed operations are reported only for accepted rewrites.
+        try {
+            Optimizer optimizer = new Optimizer(OptimizerType.Empty);
+            optimizer.addPass(new Factorization());
+            PassStatistics statistics = optimizer.optimizeWithReport(createParser().parse("x * y + x * 2 + x * 3")).getPasses().get(0);
+            assertEquals(2, statistics.getRemovedOperations(pl.mateuszchudyk.jmath.operators.Multiplication.class));
+            assertEquals(0, statistics.getRemovedOperations(pl.mateuszchudyk.jmath.operators.Addition.class));
+
+            statistics = optimizer.optimizeWithReport(createParser().parse("x / 2 + y / 2")).getPasses().get(0);
+            assertEquals(1, statistics.getRemovedOperations(pl.mateuszchudyk.jmath.operators.Division.class));
+
+            // Cost model which rejects all rewrites.
+            optimizer.setCostModel(new CostModel() {
+                @Override
+                public double getCost(ASTExpression ast) {
+                    return 0;
+                }
+            });
+            statistics = optimizer.optimizeWithReport(createParser().parse("x * y + x * 2")).getPasses().get(0);
+            assertEquals(0, statistics.getRewrites());
+            assertEquals(1, statistics.getRejectedRewrites());
+            assertEquals(0, statistics.getRemovedOperations(pl.mateuszchudyk.jmath.operators.Multiplication.class));
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+    }
+}
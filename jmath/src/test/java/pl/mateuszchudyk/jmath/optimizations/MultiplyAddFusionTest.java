@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.Expression;
+import pl.mateuszchudyk.jmath.Optimizer;
+import pl.mateuszchudyk.jmath.OptimizerType;
+import pl.mateuszchudyk.jmath.Parser;
+import pl.mateuszchudyk.jmath.PassStatistics;
+import pl.mateuszchudyk.jmath.Variable;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class MultiplyAddFusionTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ "fma(x, y, 2)", /* inputs = */ "x * y + 2");
+        runCheck(/* expected = */ "fma(x, y, 2)", /* inputs = */ "2 + x * y");
+        runCheck(/* expected = */ folded("fma(x, y, -2)"), /* inputs = */ "x * y - 2");
+        runCheck(/* expected = */ "fma(-x, y, 2)", /* inputs = */ "2 - x * y");
+        runCheck(/* expected = */ "fma(x * 3, y, 1)", /* inputs = */ "x * 3 * y + 1");
+        runCheck(/* expected = */ folded("fma(x * -3, y, 1)"), /* inputs = */ "1 - x * 3 * y");
+        runCheck(/* expected = */ "fma(x, y, z)", /* inputs = */ "x * y - -z");
+        runCheck(/* expected = */ "fma(x, y, x * 2) + 1", /* inputs = */ "x * y + x * 2 + 1");
+        runCheck(/* expected = */ "sin(fma(x, x, y))", /* inputs = */ "sin(x * x + y)");
+
+        runCheck(/* expected = */ "x + y", /* inputs = */ "x + y");
+        runCheck(/* expected = */ "x * y", /* inputs = */ "x * y");
+        runCheck(/* expected = */ "x / y + 1", /* inputs = */ "x / y + 1");
+
+        evaluateCheck("x * 0.1 + 0.3", 0.0, 1.0, -2.5, 1e10);
+        evaluateCheck("1 - x * x * 0.5 + x", 0.0, 1.0, -2.5, 1e10);
+
+        // Flattened sums are fused into nested calls.
+        try {
+            Optimizer optimizer = new Optimizer(OptimizerType.Empty);
+            optimizer.addPass(new AssociativeFlattening());
+            optimizer.addPass(new MultiplyAddFusion());
+            Expression output = optimizer.optimize(createParser().parse("x * y + x * 2 + 1"));
+            assertEquals(createParser().parse("fma(x, y, fma(x, 2, 1))").toString(), output.toString());
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+
+        try {
+            Optimizer optimizer = new Optimizer(OptimizerType.Empty);
+            optimizer.addPass(new MultiplyAddFusion());
+            PassStatistics statistics = optimizer.optimizeWithReport(createParser().parse("x * y + x * 2 + 1")).getPasses().get(0);
+            assertEquals(1, statistics.getRemovedOperations(pl.mateuszchudyk.jmath.operators.Multiplication.class));
+            assertEquals(1, statistics.getRemovedOperations(pl.mateuszchudyk.jmath.operators.Addition.class));
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+
+        // Subtractions are fused by the optimizer too, so the fused forms
+        // have to be cheaper.
+        optimizerCheck(/* expected = */ "fma(x, y, -2)", /* inputs = */ "x * y - 2");
+        optimizerCheck(/* expected = */ "fma(x, y, -z)", /* inputs = */ "x * y - z");
+        optimizerCheck(/* expected = */ "fma(-x, y, z)", /* inputs = */ "z - x * y");
+        optimizerCheck(/* expected = */ "fma(-3 * x, y, z)", /* inputs = */ "z - 3 * x * y");
+        optimizerCheck(/* expected = */ "fma(x, y, z)", /* inputs = */ "x * y + z");
+    }
+
+    @Override
+    protected Parser createParser() {
+        Parser parser = super.createParser();
+        parser.addVariable(new Variable("z"));
+        return parser;
+    }
+
+    // Expression with negative constants folded to immidiate values.
+    private ASTExpression folded(String expression) {
+        try {
+            return getAST(new Optimizer(OptimizerType.Empty).apply(createParser().parse(expression), new ConstantFolding()));
+        }
+        catch (ParseException ex) {
+            fail();
+            return null;
+        }
+    }
+
+    private void optimizerCheck(String expected, String input) {
+        try {
+            Optimizer optimizer = new Optimizer(OptimizerType.Default, true);
+            Expression output = optimizer.optimize(createParser().parse(input));
+            assertEquals("Input = " + input, folded(expected).toString(), output.toString());
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+    }
+}
@@ -32,6 +32,8 @@ import pl.mateuszchudyk.jmath.OptimizerType;
 import pl.mateuszchudyk.jmath.Parser;
 import pl.mateuszchudyk.jmath.ParserType;
 import pl.mateuszchudyk.jmath.Variable;
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
 import pl.mateuszchudyk.jmath.exceptions.ParseException;
 import pl.mateuszchudyk.jmath.optimizations.OptimizationPass;
 
@@ -43,12 +45,20 @@ import static org.junit.Assert.fail;
  * @author Mateusz Chudyk
  */
 public abstract class OptimizationPassTest extends TestBase {
-    public void runCheck(String expected, String input) {
+    protected Parser createParser() {
         Parser parser = new Parser(ParserType.Default);
         parser.addVariable(new Variable("x"));
         parser.addVariable(new Variable("y"));
+        return parser;
+    }
+
+    public void runCheck(String expected, String input) {
+        runCheck(expected, input, (OptimizationPass)createOperationInstance());
+    }
+
+    public void runCheck(String expected, String input, OptimizationPass pass) {
+        Parser parser = createParser();
         Optimizer optimizer = new Optimizer(OptimizerType.Empty);
-        OptimizationPass pass = (OptimizationPass)createOperationInstance();
 
         try {
             Expression in = parser.parse(input);
@@ -61,6 +71,44 @@ public abstract class OptimizationPassTest extends TestBase {
         }
     }
 
+    public void runCheck(ASTExpression expected, String input) {
+        runCheck(expected, input, (OptimizationPass)createOperationInstance());
+    }
+
+    public void runCheck(ASTExpression expected, String input, OptimizationPass pass) {
+        Parser parser = createParser();
+        Optimizer optimizer = new Optimizer(OptimizerType.Empty);
+
+        try {
+            Expression in = parser.parse(input);
+            Expression output = optimizer.apply(in, pass);
+            assertEquals(expected.toString(), output.toString());
+        }
+        catch (ParseException e) {
+            fail();
+        }
+    }
+
+    public void evaluateCheck(String input, Double... values) {
+        Parser parser = createParser();
+        Optimizer optimizer = new Optimizer(OptimizerType.Empty);
+        OptimizationPass pass = (OptimizationPass)createOperationInstance();
+
+        try {
+            Expression in = parser.parse(input);
+            Expression output = optimizer.apply(in, pass);
+            for (Double value : values) {
+                in.setVariable("x", value);
+                output.setVariable("x", value);
+                double expected = in.evaluate();
+                assertEquals("Input = " + input + ", x = " + value, expected, output.evaluate(), 1e-9 * Math.max(1, Math.abs(expected)));
+            }
+        }
+        catch (ParseException | EvaluationException e) {
+            fail();
+        }
+    }
+
     @Test
     public abstract void runTest();
 }
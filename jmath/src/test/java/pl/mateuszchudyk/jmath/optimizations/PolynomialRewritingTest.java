@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.ast.ASTExpression;
+import pl.mateuszchudyk.jmath.ast.ASTLagrangePolynomial;
+import pl.mateuszchudyk.jmath.ast.ASTPolynomial;
+import pl.mateuszchudyk.jmath.ast.ASTVariable;
+import pl.mateuszchudyk.jmath.Variable;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class PolynomialRewritingTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ poly(1, 2, 3), /* inputs = */ "1 + 2 * x + 3 * x ^ 2");
+        runCheck(/* expected = */ poly(1, 2, 3), /* inputs = */ "3 * x * x + x * 2 + 1");
+        runCheck(/* expected = */ poly(0, -1, 0.5, 4), /* inputs = */ "pow(x, 3) * 4 - x + x ^ 2 / 2");
+        runCheck(/* expected = */ poly(5, 0, 0, 0, -1), /* inputs = */ "5 - x ^ 4");
+        runCheck(/* expected = */ poly(0, 0, 4), /* inputs = */ "(2 * x) ^ 2 + 0");
+        runCheck(/* expected = */ poly(1, 2, 3, 4), /* inputs = */ "1 + 2 * x + 3 * x ^ 2 + 4 * x ^ 3");
+
+        runCheck(/* expected = */ poly(1, 2, 3), /* inputs = */ "poly(x, 1, 2, 3)");
+        runCheck(/* expected = */ poly(4, 0.5), /* inputs = */ "poly(x, 4, 0.5, 0, 0)");
+        runCheck(/* expected = */ poly(7), /* inputs = */ "poly(x, 7)");
+        runCheck(/* expected = */ lagrange(new double[] { 1, 2 }, new double[] { 3, 5 }), /* inputs = */ "lagrange(x, 1, 3, 2, 5)");
+        runCheck(/* expected = */ lagrange(new double[] { 0, 1, 2 }, new double[] { 0, 1, 4 }), /* inputs = */ "lagrange(x, 0, 0, 1, 1, 2, 4)");
+
+        runCheck(/* expected = */ "1 + 2 * x", /* inputs = */ "1 + 2 * x");
+        runCheck(/* expected = */ "poly(x, 1, y, 3)", /* inputs = */ "poly(x, 1, y, 3)");
+        runCheck(/* expected = */ "lagrange(x, 1, y, 2, 5)", /* inputs = */ "lagrange(x, 1, y, 2, 5)");
+        runCheck(/* expected = */ "lagrange(x, 1, 3, 1, 5)", /* inputs = */ "lagrange(x, 1, 3, 1, 5)");
+        runCheck(/* expected = */ "x ^ 2 - x ^ 2 + x", /* inputs = */ "x ^ 2 - x ^ 2 + x");
+        runCheck(/* expected = */ "x ^ 2 + y", /* inputs = */ "x ^ 2 + y");
+        runCheck(/* expected = */ "y * x ^ 2 + 1", /* inputs = */ "y * x ^ 2 + 1");
+        runCheck(/* expected = */ "x ^ 40 + 1", /* inputs = */ "x ^ 40 + 1");
+        runCheck(/* expected = */ "x ^ 2.5 + 1", /* inputs = */ "x ^ 2.5 + 1");
+
+        evaluateCheck("1 + 2 * x + 3 * x ^ 2 - x ^ 3", 0.0, 1.0, -2.5, 3.0, 100.0);
+        evaluateCheck("1 - x + x ^ 2 / 2 - x ^ 3 / 6 + x ^ 4 / 24 - x ^ 5 / 120 + x ^ 6 / 720 - x ^ 7 / 5040 + x ^ 8 / 40320 - x ^ 9 / 362880",
+            0.0, 0.5, -1.0, 2.0, 7.5);
+        evaluateCheck("poly(x, 1, -1, 2, 0, 0.5, 3, 0, 0, -2, 1)", 0.0, 0.5, -1.0, 2.0, 7.5);
+        evaluateCheck("lagrange(x, -1, 1, 0, 0, 1, 1, 2, 8)", 0.0, 0.5, -1.0, 2.0, 7.5, -3.25);
+        evaluateCheck("lagrange(x, 0, 1, 0.5, 2, 1.5, -1, 2, 0, 3.5, 4)", 0.0, 0.25, 1.0, 3.0, 10.0);
+        evaluateCheck("1 + 2 * x + 3 * x ^ 2", Double.POSITIVE_INFINITY);
+        evaluateCheck("x ^ 4 + x ^ 2 + 1", Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        evaluateCheck("x * x * x * x * x * x * x * x * x + 1", Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        evaluateCheck("x ^ 9 + x ^ 8 + 1", Double.POSITIVE_INFINITY);
+    }
+
+    private ASTExpression lagrange(double[] nodes, double[] values) {
+        return new ASTLagrangePolynomial(new ASTVariable(new Variable("x")), nodes, values);
+    }
+
+    private ASTExpression poly(double... coefficients) {
+        return new ASTPolynomial(new ASTVariable(new Variable("x")), coefficients);
+    }
+}
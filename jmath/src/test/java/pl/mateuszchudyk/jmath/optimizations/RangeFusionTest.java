@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.CostModel;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class RangeFusionTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ "in_range_co(x, 1, 2)", /* inputs = */ "x >= 1 and x < 2");
+        runCheck(/* expected = */ "in_range_co(x, 1, 2)", /* inputs = */ "x < 2 and x >= 1");
+        runCheck(/* expected = */ "in_range_co(x, 1, 2)", /* inputs = */ "1 <= x and 2 > x");
+        runCheck(/* expected = */ "in_range(x, 1, 2)", /* inputs = */ "x >= 1 and x <= 2");
+        runCheck(/* expected = */ "in_range_oo(x + 1, y, 2 * y)", /* inputs = */ "x + 1 > y and x + 1 < 2 * y");
+        runCheck(/* expected = */ "out_of_range(x, 1, 2)", /* inputs = */ "x < 1 or x > 2");
+        runCheck(/* expected = */ "out_of_range(x, 1, 2)", /* inputs = */ "x > 2 or 1 > x");
+        runCheck(/* expected = */ "out_of_range_oo(x, 1, 2)", /* inputs = */ "x <= 1 or x >= 2");
+        runCheck(/* expected = */ "out_of_range(x, 2, 1)", /* inputs = */ "x > 1 or x < 2");
+        runCheck(/* expected = */ "in_range(x, 1, 2) and y > 0", /* inputs = */ "(x >= 1 and x <= 2) and y > 0");
+
+        runCheck(/* expected = */ "x > 1 and x > 2", /* inputs = */ "x > 1 and x > 2");
+        runCheck(/* expected = */ "x > 1 and y < 2", /* inputs = */ "x > 1 and y < 2");
+        runCheck(/* expected = */ "rand() > 0.5 and rand() < 0.7", /* inputs = */ "rand() > 0.5 and rand() < 0.7");
+
+        evaluateCheck("x >= 1 and x < 2", 0.0, 1.0, 1.5, 2.0, 3.0);
+        evaluateCheck("x < 1 or x >= 2", 0.0, 1.0, 1.5, 2.0, 3.0);
+        evaluateCheck("2 > x or x > 1", 0.0, 1.0, 1.5, 2.0, 3.0);
+
+        // Range test is cheaper than the pair of comparisons, even without
+        // counting nodes.
+        try {
+            CostModel costModel = new CostModel();
+            double fused = costModel.getNodeCost(getAST(createParser().parse("in_range(x, 1, 2)")));
+            double comparisons = costModel.getNodeCost(getAST(createParser().parse("x >= 1 and x <= 2"))) +
+                2 * costModel.getNodeCost(getAST(createParser().parse("x >= 1")));
+            assertTrue(fused < comparisons);
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.Expression;
+import pl.mateuszchudyk.jmath.Optimizer;
+import pl.mateuszchudyk.jmath.OptimizerType;
+import pl.mateuszchudyk.jmath.Parser;
+import pl.mateuszchudyk.jmath.ParserType;
+import pl.mateuszchudyk.jmath.Range;
+import pl.mateuszchudyk.jmath.Variable;
+import pl.mateuszchudyk.jmath.ast.ASTImmidiateValue;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class RangeSimplifyingTest extends OptimizationPassTest  {
+    @Override
+    protected Parser createParser() {
+        Parser parser = new Parser(ParserType.Default);
+        parser.addVariable(new Variable("x", new Range(0, 1)));
+        parser.addVariable(new Variable("y", new Range(-3, -1)));
+        parser.addVariable(new Variable("z"));
+        return parser;
+    }
+
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ "1", /* inputs = */ "x < 2");
+        runCheck(/* expected = */ "0", /* inputs = */ "x + y > 0");
+        runCheck(/* expected = */ "1", /* inputs = */ "x * y <= 0");
+        runCheck(/* expected = */ "1", /* inputs = */ "x <> y");
+        runCheck(/* expected = */ "x = z", /* inputs = */ "x = z");
+        runCheck(/* expected = */ "x < z", /* inputs = */ "x < z");
+        runCheck(/* expected = */ new ASTImmidiateValue(-1.0), /* inputs = */ "sgn(y)");
+        runCheck(/* expected = */ "sgn(x)", /* inputs = */ "sgn(x)");
+
+        runCheck(/* expected = */ "x", /* inputs = */ "abs(x)");
+        runCheck(/* expected = */ "-y", /* inputs = */ "abs(y)");
+        runCheck(/* expected = */ "abs(z)", /* inputs = */ "abs(z)");
+        runCheck(/* expected = */ "x", /* inputs = */ "clamp(x, -1, 1)");
+        runCheck(/* expected = */ "clamp(x, 0.5, 1)", /* inputs = */ "clamp(x, 0.5, 1)");
+        runCheck(/* expected = */ "1", /* inputs = */ "abs(sin(x)) <= 1");
+        runCheck(/* expected = */ "1", /* inputs = */ "exp(y) >= 0");
+
+        // Variables without a declared range can be infinite or NaN.
+        runCheck(/* expected = */ "abs(sin(z)) <= 1", /* inputs = */ "abs(sin(z)) <= 1");
+        runCheck(/* expected = */ "sin(z) <= 1", /* inputs = */ "sin(z) <= 1");
+        runCheck(/* expected = */ "abs(z) >= 0", /* inputs = */ "abs(z) >= 0");
+        runCheck(/* expected = */ "exp(z) >= 0", /* inputs = */ "exp(z) >= 0");
+        runCheck(/* expected = */ "1", /* inputs = */ "z < 1 or 1");
+
+        // Subexpressions which can throw aren't removed.
+        runCheck(/* expected = */ "1", /* inputs = */ "tanh(log(x + 1)) <= 1");
+        runCheck(/* expected = */ "tanh(log(x)) <= 1", /* inputs = */ "tanh(log(x)) <= 1");
+        runCheck(/* expected = */ "(log(x) > 0) and 0", /* inputs = */ "(log(x) > 0) and 0");
+        runCheck(/* expected = */ "1 and (z > 1)", /* inputs = */ "(x / 2 < 1) and (z > 1)");
+        runCheck(/* expected = */ "(x / z > 0) and 0", /* inputs = */ "(x / z > 0) and 0");
+
+        runCheck(/* expected = */ "1 and z > 1", /* inputs = */ "x < 5 and z > 1");
+        runCheck(/* expected = */ "z or 0", /* inputs = */ "z or y");
+        runCheck(/* expected = */ "0", /* inputs = */ "(x > 1) and (z > 1)");
+
+        domainCheck("sqrt(x)", -1.0, false);
+        domainCheck("log(x + 1)", -2.0, false);
+        domainCheck("log(x)", -1.0, true);
+        domainCheck("log(2, 1 - y)", -1.0, false);
+        domainCheck("log(x + 2, 1)", -3.0, false);
+        domainCheck("log(x + 0.5, 2)", -1.0, true);
+        domainCheck("sqrt(z)", -1.0, true);
+        domainCheck("tanh(log(z)) <= 1", -1.0, true);
+        domainCheck("(log(z) > 0) and 0", -1.0, true);
+    }
+
+    private void domainCheck(String input, double x, boolean checked) {
+        Parser parser = createParser();
+        Optimizer optimizer = new Optimizer(OptimizerType.Empty);
+
+        try {
+            Expression output = optimizer.apply(parser.parse(input), new RangeSimplifying());
+            output.setVariable("x", x);
+            output.setVariable("y", -1.0);
+            output.setVariable("z", x);
+            output.evaluate();
+            assertTrue("Input = " + input, !checked);
+        }
+        catch (EvaluationException e) {
+            assertTrue("Input = " + input, checked);
+        }
+        catch (ParseException e) {
+            fail();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.Constant;
+import pl.mateuszchudyk.jmath.Parser;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class RuleRewritingTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        RuleRewriting pass = new RuleRewriting();
+        try {
+            pass.addRule("x - x -> 0 when pure(x)");
+            pass.addRule("a * c + b * c -> (a + b) * c");
+            pass.addRule("sqrt(x) ^ 2 -> x");
+            pass.addRule("x / c -> x * (1 / c) when const(c)");
+            pass.addRule("(x + y) * 1 -> x + y");
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+
+        runCheck(/* expected = */ "0", /* inputs = */ "sin(x) - sin(x)", pass);
+        runCheck(/* expected = */ "sin(x) - sin(y)", /* inputs = */ "sin(x) - sin(y)", pass);
+        runCheck(/* expected = */ "rand() - rand()", /* inputs = */ "rand() - rand()", pass);
+        runCheck(/* expected = */ "(x + 2) * y", /* inputs = */ "x * y + 2 * y", pass);
+        runCheck(/* expected = */ "x * y + 2 * x", /* inputs = */ "x * y + 2 * x", pass);
+        runCheck(/* expected = */ "x + 1", /* inputs = */ "sqrt(x + 1) ^ 2", pass);
+        runCheck(/* expected = */ "x * (1 / 4)", /* inputs = */ "x / 4", pass);
+        runCheck(/* expected = */ "x / y", /* inputs = */ "x / y", pass);
+        runCheck(/* expected = */ "x + y", /* inputs = */ "(x + y) * 1", pass);
+        runCheck(/* expected = */ "(x - y) * 1", /* inputs = */ "(x - y) * 1", pass);
+
+        assertEquals(5, pass.getRules().size());
+        assertEquals(1, pass.getFirings(0));
+        assertEquals(1, pass.getFirings(1));
+        assertEquals(1, pass.getFirings(2));
+        assertEquals(1, pass.getFirings(3));
+        assertEquals(1, pass.getFirings(4));
+        pass.resetFirings();
+        assertEquals(0, pass.getFirings(0));
+
+        // Names are case insensitive, also custom ones.
+        RuleRewriting custom = new RuleRewriting();
+        try {
+            Parser parser = createParser();
+            parser.addConstant(new Constant("HALF", 0.5));
+            custom.addRule(RewriteRule.parse("X * HALF -> X / 2 WHEN Pure(X)", parser));
+            custom.addRule("Sin(A) - Sin(a) -> 0 When PURE(a)");
+        }
+        catch (ParseException ex) {
+            fail();
+        }
+
+        runCheck(/* expected = */ "y / 2", /* inputs = */ "y * 0.5", custom);
+        runCheck(/* expected = */ "0", /* inputs = */ "sin(x) - sin(x)", custom);
+
+        parseErrorCheck("x + 0");
+        parseErrorCheck("x + 0 -> y");
+        parseErrorCheck("x -> x when negative(x)");
+        parseErrorCheck("x -> x when pure(y)");
+        parseErrorCheck("x + -> x");
+    }
+
+    private void parseErrorCheck(String rule) {
+        try {
+            RewriteRule.parse(rule);
+            fail("Rule: " + rule);
+        }
+        catch (ParseException ex) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class StrengthReductionTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ "x * x", /* inputs = */ "x ^ 2");
+        runCheck(/* expected = */ "x * x * x", /* inputs = */ "x ^ 3");
+        runCheck(/* expected = */ "x * x * x * x", /* inputs = */ "x ^ 4");
+        runCheck(/* expected = */ "x ^ 5", /* inputs = */ "x ^ 5");
+        runCheck(/* expected = */ "x ^ 2.5", /* inputs = */ "x ^ 2.5");
+        runCheck(/* expected = */ "(x + 1) ^ 2", /* inputs = */ "(x + 1) ^ 2");
+        runCheck(/* expected = */ "x * x", /* inputs = */ "pow(x, 2)");
+        runCheck(/* expected = */ "1", /* inputs = */ "pow(x, 0)");
+        runCheck(/* expected = */ "x", /* inputs = */ "pow(x, 1)");
+
+        runCheck(/* expected = */ "sqrt(x)", /* inputs = */ "x ^ 0.5");
+        runCheck(/* expected = */ "sqrt(x + 1)", /* inputs = */ "pow(x + 1, 0.5)");
+        runCheck(/* expected = */ "sqrt(x)", /* inputs = */ "root(x, 2)");
+        runCheck(/* expected = */ "root(x, 3)", /* inputs = */ "root(x, 3)");
+
+        runCheck(/* expected = */ "x * 0.25", /* inputs = */ "x / 4");
+        runCheck(/* expected = */ "x * 2", /* inputs = */ "x / 0.5");
+        runCheck(/* expected = */ "x * 0.125", /* inputs = */ "x / 8");
+        runCheck(/* expected = */ "x / 3", /* inputs = */ "x / 3");
+        runCheck(/* expected = */ "x / 0", /* inputs = */ "x / 0");
+
+        runCheck(/* expected = */ "x", /* inputs = */ "--x");
+
+        runCheck(/* expected = */ "exp(log(x))", /* inputs = */ "exp(log(x))");
+        runCheck(/* expected = */ "log(exp(x))", /* inputs = */ "log(exp(x))");
+        runCheck(/* expected = */ "x", /* inputs = */ "exp(log(x))", new StrengthReduction(true));
+        runCheck(/* expected = */ "x", /* inputs = */ "log(exp(x))", new StrengthReduction(true));
+    }
+}
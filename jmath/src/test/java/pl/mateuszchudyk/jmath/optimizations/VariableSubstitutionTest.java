@@ -0,0 +1,45 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import java.util.HashMap;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class VariableSubstitutionTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        HashMap<String, Double> substitutions = new HashMap<>();
+        substitutions.put("x", 2.0);
+        substitutions.put("z", 5.0);
+        OptimizationPass pass = new VariableSubstitution(substitutions);
+
+        runCheck(/* expected = */ "2 * y + 2", /* inputs = */ "x * y + x", pass);
+        runCheck(/* expected = */ "sin(2)", /* inputs = */ "sin(x)", pass);
+        runCheck(/* expected = */ "y", /* inputs = */ "y", pass);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.optimizations;
+
+import pl.mateuszchudyk.jmath.Expression;
+import pl.mateuszchudyk.jmath.Optimizer;
+import pl.mateuszchudyk.jmath.OptimizerType;
+import pl.mateuszchudyk.jmath.exceptions.EvaluationException;
+import pl.mateuszchudyk.jmath.exceptions.ParseException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class VariadicCanonicalizationTest extends OptimizationPassTest  {
+    @Override
+    public void runTest() {
+        runCheck(/* expected = */ "max(x, y, 1)", /* inputs = */ "max(x, max(y, 1))");
+        runCheck(/* expected = */ "min(x, y, 1, 2 * x)", /* inputs = */ "min(min(x, y), min(1, 2 * x))");
+        runCheck(/* expected = */ "gcd(x, y)", /* inputs = */ "gcd(x, gcd(y))");
+        runCheck(/* expected = */ "max(5, x)", /* inputs = */ "max(1, x, 5)");
+        runCheck(/* expected = */ "min(x, 1)", /* inputs = */ "min(x, 1, 5, 3)");
+        runCheck(/* expected = */ "gcd(6, x)", /* inputs = */ "gcd(12, x, 18)");
+        runCheck(/* expected = */ "lcm(x, 12)", /* inputs = */ "lcm(x, 4, 6)");
+        runCheck(/* expected = */ "min(x, y)", /* inputs = */ "min(x, y, x)");
+        runCheck(/* expected = */ "max(x + 1, y)", /* inputs = */ "max(x + 1, max(y, x + 1))");
+        runCheck(/* expected = */ "5", /* inputs = */ "max(1, 5)");
+        runCheck(/* expected = */ "x", /* inputs = */ "max(x, x)");
+        runCheck(/* expected = */ "gcd(x)", /* inputs = */ "gcd(x, x)");
+
+        runCheck(/* expected = */ "max(x, y)", /* inputs = */ "max(x, y)");
+        runCheck(/* expected = */ "max(x, min(y, 1))", /* inputs = */ "max(x, min(y, 1))");
+        runCheck(/* expected = */ "gcd(0.5, x, 2)", /* inputs = */ "gcd(0.5, x, 2)");
+        runCheck(/* expected = */ "mean(x, mean(y, 1), x)", /* inputs = */ "mean(x, mean(y, 1), x)");
+        runCheck(/* expected = */ "max(rand(), rand())", /* inputs = */ "max(rand(), rand())");
+
+        // NaN and signed zeros give the same results after simplification.
+        double[] values = { 7.0, -7.0, 0.0, -0.0, Double.NaN };
+        for (String input : new String[] { "max(x, max(y, 3), 5)", "min(x, min(y, 3))", "min(x, y, x)", "max(y, max(x, 0), 0)" }) {
+            for (double x : values)
+                for (double y : values)
+                    optimizedCheck(input, x, y);
+        }
+    }
+
+    private void optimizedCheck(String input, double x, double y) {
+        try {
+            Expression in = createParser().parse(input);
+            Expression output = new Optimizer(OptimizerType.Default).optimize(in);
+            for (Expression expression : new Expression[] { in, output }) {
+                expression.setVariable("x", x);
+                expression.setVariable("y", y);
+            }
+            assertEquals("Input = " + input + ", x = " + x + ", y = " + y, in.evaluate(), output.evaluate());
+        }
+        catch (ParseException | EvaluationException ex) {
+            fail();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.random;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class SplittableRandomSourceTest {
+    private static final int SIZE = 100001;
+
+    @Test
+    public void seedTest() {
+        double[] a = new double[SIZE];
+        double[] b = new double[SIZE];
+        new SplittableRandomSource(7).split().fillGaussian(a);
+        new SplittableRandomSource(7).split().fillGaussian(b);
+        assertArrayEquals(a, b, 0);
+    }
+
+    @Test
+    public void uniformTest() {
+        double[] values = new double[SIZE];
+        new SplittableRandomSource(1).fillUniform(values);
+
+        double sum = 0;
+        for (double value : values) {
+            assertTrue(value >= 0 && value < 1);
+            sum += value;
+        }
+        assertEquals(0.5, sum / SIZE, 0.01);
+    }
+
+    @Test
+    public void gaussianTest() {
+        double[] values = new double[SIZE];
+        new SplittableRandomSource(2).fillGaussian(values);
+
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (double value : values) {
+            sum += value;
+            sumOfSquares += value * value;
+        }
+        assertEquals(0, sum / SIZE, 0.02);
+        assertEquals(1, sumOfSquares / SIZE, 0.02);
+
+        RandomSource random = new SplittableRandomSource(3);
+        sum = 0;
+        sumOfSquares = 0;
+        for (int i = 0; i < SIZE; i++) {
+            double value = random.nextGaussian();
+            sum += value;
+            sumOfSquares += value * value;
+        }
+        assertEquals(0, sum / SIZE, 0.02);
+        assertEquals(1, sumOfSquares / SIZE, 0.02);
+    }
+}
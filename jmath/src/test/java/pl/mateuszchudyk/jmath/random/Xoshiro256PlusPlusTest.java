@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2019 Mateusz Chudyk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package pl.mateuszchudyk.jmath.random;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * @author Mateusz Chudyk
+ */
+public class Xoshiro256PlusPlusTest {
+    @Test
+    public void referenceTest() {
+        Xoshiro256PlusPlus random = new Xoshiro256PlusPlus(1, 2, 3, 4);
+        assertEquals(41943041L, random.nextLong());
+        assertEquals(58720359L, random.nextLong());
+        assertEquals(3588806011781223L, random.nextLong());
+        assertEquals(3591011842654386L, random.nextLong());
+        assertEquals(-9218127359498767411L, random.nextLong());
+    }
+
+    @Test
+    public void seedTest() {
+        Xoshiro256PlusPlus a = new Xoshiro256PlusPlus(42);
+        Xoshiro256PlusPlus b = new Xoshiro256PlusPlus(42);
+        Xoshiro256PlusPlus c = new Xoshiro256PlusPlus(43);
+        for (int i = 0; i < 100; i++) {
+            long value = a.nextLong();
+            assertEquals(value, b.nextLong());
+            assertNotEquals(value, c.nextLong());
+        }
+    }
+
+    @Test
+    public void splitTest() {
+        Xoshiro256PlusPlus a = new Xoshiro256PlusPlus(1, 2, 3, 4);
+        Xoshiro256PlusPlus b = new Xoshiro256PlusPlus(1, 2, 3, 4);
+        RandomSource stream = a.split();
+        b.jump();
+        for (int i = 0; i < 100; i++) {
+            long value = a.nextLong();
+            assertEquals(value, b.nextLong());
+            assertNotEquals(value, stream.nextLong());
+        }
+    }
+}